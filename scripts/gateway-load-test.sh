@@ -0,0 +1,24 @@
+#!/usr/bin/env bash
+#
+# Drives GET /v1/user/external/{id} against a partner stub answering after a fixed latency, once in each execution
+# mode, and prints the throughput and latency of each. The node runs on an in-memory H2 database, so no database
+# needs to be set up. Virtual threads need Java 21, on an older JDK the virtual mode falls back to platform threads.
+#
+# Usage: scripts/gateway-load-test.sh [clients] [partner-latency-ms] [warm-up-seconds] [measured-seconds] [connections]
+
+set -euo pipefail
+
+ARGS=("${1:-1000}" "${2:-500}" "${3:-10}" "${4:-30}" "${5:-50}")
+cd "$(dirname "$0")/.."
+CLASSPATH_FILE="$(mktemp)"
+LOG="$(mktemp)"
+trap 'rm -f "$CLASSPATH_FILE" "$LOG"' EXIT
+
+mvn -B -q test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile="$CLASSPATH_FILE"
+CLASSPATH="$PWD/target/test-classes:$PWD/target/classes:$(cat "$CLASSPATH_FILE")"
+
+for mode in platform virtual; do
+  MOJA_NODE_EXECUTION_MODE="$mode" java -cp "$CLASSPATH" com.mojagap.mojanode.benchmark.GatewayLoadTest "${ARGS[@]}" > "$LOG" 2>&1 \
+    || { echo "$mode run failed, see below" >&2; tail -n 30 "$LOG" >&2; exit 1; }
+  grep -E '^(mode|throughput)=' "$LOG"
+done
@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+#
+# Starts the node RUNS times in each startup mode and prints the median wall-clock time to a started context and
+# the median time Spring reports for it. Every start exits as soon as the node is up.
+#
+# Modes:
+#   default       java -jar, Liquibase update and eager beans
+#   fast-startup  java -jar with the fast-startup profile
+#   appcds        the fast-startup profile from target/appcds with its AppCDS archive, built by mvn -Pappcds package
+#
+# The MOJA_NODE_DB_* variables must point at a database already migrated with: java -jar <jar> migrate
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+cd "$(dirname "$0")/.."
+JAR="$(ls target/moja-node-*.jar | grep -v '\.original$' | head -n 1)"
+APPCDS_DIR="target/appcds"
+EXIT_ARGS=(--moja-node.exit-after-startup=true --server.port=0)
+LOG="$(mktemp)"
+trap 'rm -f "$LOG"' EXIT
+
+median() {
+  sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : (values[NR / 2] + values[NR / 2 + 1]) / 2 }'
+}
+
+measure() {
+  local mode="$1" directory="$2"
+  shift 2
+  local wall_times=() spring_times=()
+  for ((run = 1; run <= RUNS; run++)); do
+    local started_at finished_at
+    started_at="$(date +%s%N)"
+    (cd "$directory" && "$@" "${EXIT_ARGS[@]}") > "$LOG" 2>&1 || { echo "$mode start failed, see below" >&2; tail -n 30 "$LOG" >&2; exit 1; }
+    finished_at="$(date +%s%N)"
+    wall_times+=("$(((finished_at - started_at) / 1000000))")
+    spring_times+=("$(sed -n 's/.*Started MojaNodeApplication in \([0-9.]*\) seconds.*/\1/p' "$LOG" | awk '{ print int($1 * 1000) }')")
+  done
+  printf '%-14s wall %6sms   spring %6sms   (median of %d)\n' "$mode" \
+    "$(printf '%s\n' "${wall_times[@]}" | median)" "$(printf '%s\n' "${spring_times[@]}" | median)" "$RUNS"
+}
+
+measure default . java -jar "$JAR"
+measure fast-startup . java -jar "$JAR" --spring.profiles.active=fast-startup
+if [[ -f "$APPCDS_DIR/moja-node.jsa" ]]; then
+  measure appcds "$APPCDS_DIR" java -XX:SharedArchiveFile=moja-node.jsa @classpath.args com.mojagap.mojanode.MojaNodeApplication --spring.profiles.active=fast-startup
+else
+  echo "appcds         skipped, build the archive with: mvn -Pappcds package" >&2
+fi
@@ -1,13 +1,32 @@
 package com.mojagap.mojanode;
 
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling
 @SpringBootApplication
 public class MojaNodeApplication {
 
+    /**
+     * Stops the node as soon as it has started, for the AppCDS training run and the startup benchmark.
+     */
+    public static final String EXIT_AFTER_STARTUP_PROPERTY = "moja-node.exit-after-startup";
+
     public static void main(String[] args) {
-        SpringApplication.run(MojaNodeApplication.class, args);
+        if (args.length > 0 && args[0].equals(MojaNodeMigration.COMMAND)) {
+            MojaNodeMigration.run(args);
+            return;
+        }
+        SpringApplication application = new SpringApplication(MojaNodeApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(ApplicationConstants.STARTUP_STEPS_CAPACITY));
+        ConfigurableApplicationContext context = application.run(args);
+        if (context.getEnvironment().getProperty(EXIT_AFTER_STARTUP_PROPERTY, Boolean.class, Boolean.FALSE)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
 }
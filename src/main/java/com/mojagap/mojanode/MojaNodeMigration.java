@@ -0,0 +1,27 @@
+package com.mojagap.mojanode;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * The one-shot {@code migrate} command, run once per release before nodes in the {@code fast-startup} profile
+ * are rolled. It starts only the DataSource and Liquibase, applies {@code spring.liquibase.change-log} and exits.
+ */
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, LiquibaseAutoConfiguration.class})
+public class MojaNodeMigration {
+
+    public static final String COMMAND = "migrate";
+    private static final String LIQUIBASE_ENABLED_PROPERTY = "spring.liquibase.enabled";
+
+    public static void run(String[] args) {
+        String[] migrationArgs = Stream.concat(Arrays.stream(args).filter(arg -> !arg.equals(COMMAND) && !arg.startsWith("--" + LIQUIBASE_ENABLED_PROPERTY)),
+                Stream.of("--" + LIQUIBASE_ENABLED_PROPERTY + "=true")).toArray(String[]::new);
+        new SpringApplicationBuilder(MojaNodeMigration.class).web(WebApplicationType.NONE).run(migrationArgs).close();
+    }
+}
@@ -4,6 +4,7 @@ package com.mojagap.mojanode.controller.company;
 import com.mojagap.mojanode.controller.ActionResponse;
 import com.mojagap.mojanode.controller.BaseController;
 import com.mojagap.mojanode.dto.company.CompanyDto;
+import com.mojagap.mojanode.dto.company.CompanyOnboardingResultDto;
 import com.mojagap.mojanode.model.common.ActionTypeEnum;
 import com.mojagap.mojanode.model.common.EntityTypeEnum;
 import com.mojagap.mojanode.model.user.UserActivityLog;
@@ -15,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/v1/company")
 public class CompanyController extends BaseController {
@@ -34,4 +37,9 @@ public class CompanyController extends BaseController {
             return response;
         });
     }
+
+    @RequestMapping(path = "/bulk", method = RequestMethod.POST)
+    public List<CompanyOnboardingResultDto> createCompanies(@RequestBody List<CompanyDto> companyDtos) {
+        return executeAndLogUserActivity(EntityTypeEnum.COMPANY, ActionTypeEnum.CREATE, (UserActivityLog log) -> companyCommandService.createCompanies(companyDtos));
+    }
 }
@@ -0,0 +1,35 @@
+package com.mojagap.mojanode.controller.gateway;
+
+import com.mojagap.mojanode.controller.BaseController;
+import com.mojagap.mojanode.dto.gateway.PartnerLatencyDto;
+import com.mojagap.mojanode.dto.gateway.PartnerOutboxDto;
+import com.mojagap.mojanode.service.httpgateway.GatewayLatencyMetrics;
+import com.mojagap.mojanode.service.outbox.PartnerOutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/gateway")
+public class GatewayController extends BaseController {
+
+    @Autowired
+    private GatewayLatencyMetrics gatewayLatencyMetrics;
+
+    @Autowired
+    private PartnerOutboxService partnerOutboxService;
+
+    @GetMapping("/outbox/{id}")
+    public PartnerOutboxDto getPartnerOutbox(@PathVariable Integer id) {
+        return executeHttpGet(() -> partnerOutboxService.getPartnerOutboxById(id));
+    }
+
+    @GetMapping("/latency")
+    public List<PartnerLatencyDto> getPartnerLatencies() {
+        return executeHttpGet(() -> gatewayLatencyMetrics.getPartnerLatencies());
+    }
+}
@@ -1,18 +1,28 @@
 package com.mojagap.mojanode.controller.user;
 
+import com.mojagap.mojanode.controller.ActionResponse;
 import com.mojagap.mojanode.controller.BaseController;
 import com.mojagap.mojanode.dto.user.AppUserDto;
+import com.mojagap.mojanode.dto.user.ExternalUserSyncDto;
+import com.mojagap.mojanode.dto.user.UserImportJobDto;
 import com.mojagap.mojanode.model.common.ActionTypeEnum;
 import com.mojagap.mojanode.model.common.EntityTypeEnum;
 import com.mojagap.mojanode.model.common.RecordHolder;
 import com.mojagap.mojanode.model.http.ExternalUser;
-import com.mojagap.mojanode.model.user.AppUser;
 import com.mojagap.mojanode.model.user.UserActivityLog;
+import com.mojagap.mojanode.service.httpgateway.GatewayResult;
+import com.mojagap.mojanode.service.user.UserExportFormat;
 import com.mojagap.mojanode.service.user.interfaces.UserCommandHandler;
 import com.mojagap.mojanode.service.user.interfaces.UserQueryHandler;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -31,6 +41,17 @@ public class UserController extends BaseController {
         return executeHttpGet(() -> userQueryHandler.getAppUsersByQueryParams(queryParams));
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAppUsers(@RequestParam Map<String, String> queryParams) {
+        return executeHttpGet(() -> {
+            UserExportFormat format = UserExportFormat.fromValue(queryParams.get("format"));
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(format.getMediaType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=users." + format.getValue())
+                    .body(userQueryHandler.exportAppUsers(queryParams, format));
+        });
+    }
+
     @RequestMapping(method = RequestMethod.POST)
     public AppUserDto createAppUser(@RequestBody AppUserDto appUserDto) {
         return executeAndLogUserActivity(EntityTypeEnum.USER, ActionTypeEnum.CREATE, (UserActivityLog log) -> {
@@ -40,23 +61,39 @@ public class UserController extends BaseController {
         });
     }
 
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PostMapping(path = "/import", consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public UserImportJobDto importAppUsers(InputStream csv) {
+        return executeAndLogUserActivity(EntityTypeEnum.USER, ActionTypeEnum.CREATE, (UserActivityLog log) -> userCommandHandler.importUsers(csv));
+    }
+
+    @GetMapping("/import/{jobId}")
+    public UserImportJobDto getUserImportJob(@PathVariable String jobId) {
+        return executeHttpGet(() -> userQueryHandler.getUserImportJob(jobId));
+    }
 
     @RequestMapping(path = "/external/{id}", method = RequestMethod.GET)
     public ExternalUser getExternalUser(@PathVariable Integer id) {
         return executeHttpGet(() -> userQueryHandler.getExternalUserById(id));
     }
 
-    @RequestMapping(path = "/external", method = RequestMethod.GET)
-    public ExternalUser createExternalUser(@RequestBody ExternalUser externalUser) {
+    @GetMapping("/external/batch")
+    public List<GatewayResult<ExternalUser>> getExternalUsersByIds(@RequestParam List<Integer> ids) {
+        return executeHttpGet(() -> userQueryHandler.getExternalUsersByIds(ids));
+    }
+
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PostMapping("/external")
+    public ActionResponse createExternalUser(@RequestBody ExternalUser externalUser) {
         return executeAndLogUserActivity(EntityTypeEnum.USER, ActionTypeEnum.CREATE, (UserActivityLog log) -> {
-            ExternalUser response = userCommandHandler.createExternalUser(externalUser);
-            log.setEntityId(response.getId());
+            ActionResponse response = userCommandHandler.createExternalUser(externalUser);
+            log.setEntityId(response.getResourceId());
             return response;
         });
     }
 
     @GetMapping("/external/all")
-    public List<AppUser> getExternalUsers() {
+    public ExternalUserSyncDto getExternalUsers() {
         return executeHttpGet(() -> userQueryHandler.getExternalUsers());
     }
 
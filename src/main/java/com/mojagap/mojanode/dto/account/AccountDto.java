@@ -6,7 +6,8 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.mojagap.mojanode.dto.company.CompanyDto;
 import com.mojagap.mojanode.dto.user.AppUserDto;
 import com.mojagap.mojanode.infrastructure.ErrorMessages;
-import com.mojagap.mojanode.infrastructure.PowerValidator;
+import com.mojagap.mojanode.infrastructure.validation.DtoValidator;
+import com.mojagap.mojanode.infrastructure.validation.ValidationError;
 import com.mojagap.mojanode.model.account.AccountType;
 import com.mojagap.mojanode.model.account.CountryCode;
 import lombok.Data;
@@ -35,10 +36,18 @@ public class AccountDto {
         this.countryCode = countryCode;
     }
 
+    private static final DtoValidator<AccountDto> VALIDATOR = DtoValidator.forType(AccountDto.class)
+            .notEmpty("users", AccountDto::getUsers, ErrorMessages.USER_REQUIRED_WHEN_CREATING_ACCOUNT)
+            .oneOf("countryCode", AccountDto::getCountryCode, CountryCode.class, ErrorMessages.VALID_COUNTRY_REQUIRED)
+            .oneOf("accountType", AccountDto::getAccountType, AccountType.class, ErrorMessages.VALID_ACCOUNT_TYPE_REQUIRED)
+            .build();
+
     public void isValid() {
-        PowerValidator.notEmpty(users, ErrorMessages.USER_REQUIRED_WHEN_CREATING_ACCOUNT);
-        PowerValidator.ValidEnum(CountryCode.class, countryCode, ErrorMessages.VALID_COUNTRY_REQUIRED);
-        PowerValidator.ValidEnum(AccountType.class, accountType, ErrorMessages.VALID_ACCOUNT_TYPE_REQUIRED);
+        VALIDATOR.validate(this);
+    }
+
+    public List<ValidationError> validationErrors() {
+        return VALIDATOR.collectErrors(this);
     }
 
 }
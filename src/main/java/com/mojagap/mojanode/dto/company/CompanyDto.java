@@ -3,17 +3,16 @@ package com.mojagap.mojanode.dto.company;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.google.i18n.phonenumbers.NumberParseException;
 import com.mojagap.mojanode.dto.account.AccountDto;
 import com.mojagap.mojanode.dto.user.AppUserDto;
 import com.mojagap.mojanode.infrastructure.ApplicationConstants;
 import com.mojagap.mojanode.infrastructure.ErrorMessages;
-import com.mojagap.mojanode.infrastructure.PowerValidator;
 import com.mojagap.mojanode.infrastructure.utility.DateUtil;
+import com.mojagap.mojanode.infrastructure.validation.DtoValidator;
+import com.mojagap.mojanode.infrastructure.validation.ValidationError;
 import com.mojagap.mojanode.model.company.CompanyType;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import lombok.SneakyThrows;
 
 import java.util.Date;
 import java.util.List;
@@ -42,14 +41,21 @@ public class CompanyDto {
         this.companyType = companyType;
     }
 
-    @SneakyThrows(NumberParseException.class)
+    private static final DtoValidator<CompanyDto> VALIDATOR = DtoValidator.forType(CompanyDto.class)
+            .oneOf("companyType", CompanyDto::getCompanyType, CompanyType.class, ErrorMessages.VALID_COMPANY_TYPE)
+            .length("name", CompanyDto::getName, 5, 255, ErrorMessages.INVALID_COMPANY_NAME)
+            .notNull("registrationDate", CompanyDto::getRegistrationDate, ErrorMessages.COMPANY_REGISTRATION_DATE_REQUIRED)
+            .length("address", CompanyDto::getAddress, 10, 255, ErrorMessages.INVALID_LOCATION_ADDRESS)
+            .email("email", CompanyDto::getEmail, ErrorMessages.INVALID_EMAIL_ADDRESS)
+            .phoneNumber("phoneNumber", CompanyDto::getPhoneNumber, ErrorMessages.INVALID_PHONE_NUMBER)
+            .build();
+
     public void isValid() {
-        PowerValidator.ValidEnum(CompanyType.class, companyType, ErrorMessages.VALID_COMPANY_TYPE);
-        PowerValidator.validStringLength(name, 5, 255, ErrorMessages.INVALID_COMPANY_NAME);
-        PowerValidator.notNull(registrationDate, ErrorMessages.COMPANY_REGISTRATION_DATE_REQUIRED);
-        PowerValidator.validStringLength(address, 10, 255, ErrorMessages.INVALID_LOCATION_ADDRESS);
-        PowerValidator.validEmail(email, ErrorMessages.INVALID_EMAIL_ADDRESS);
-        PowerValidator.validPhoneNumber(phoneNumber, ErrorMessages.INVALID_PHONE_NUMBER);
+        VALIDATOR.validate(this);
+    }
+
+    public List<ValidationError> validationErrors() {
+        return VALIDATOR.collectErrors(this);
     }
 
 }
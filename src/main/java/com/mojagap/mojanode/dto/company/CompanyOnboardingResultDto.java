@@ -0,0 +1,18 @@
+package com.mojagap.mojanode.dto.company;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompanyOnboardingResultDto {
+    private Integer index;
+    private String name;
+    private Integer companyId;
+    private String error;
+}
@@ -0,0 +1,21 @@
+package com.mojagap.mojanode.dto.gateway;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@NoArgsConstructor
+public class PartnerLatencyDto {
+    private String host;
+    private String path;
+    private String status;
+    private String phase;
+    private Long count;
+    private Double p50;
+    private Double p90;
+    private Double p99;
+    private Double max;
+}
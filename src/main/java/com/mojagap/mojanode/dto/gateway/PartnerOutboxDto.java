@@ -0,0 +1,38 @@
+package com.mojagap.mojanode.dto.gateway;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mojagap.mojanode.model.common.ActionTypeEnum;
+import com.mojagap.mojanode.model.http.OutboxStatusEnum;
+import com.mojagap.mojanode.model.http.PartnerOutbox;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@NoArgsConstructor
+public class PartnerOutboxDto {
+    private Integer id;
+    private ActionTypeEnum actionType;
+    private OutboxStatusEnum status;
+    private Integer attempts;
+    private String lastError;
+    private String responseBody;
+    private Date nextAttemptAt;
+    private Date createdOn;
+    private Date deliveredOn;
+
+    public PartnerOutboxDto(PartnerOutbox partnerOutbox) {
+        this.id = partnerOutbox.getId();
+        this.actionType = partnerOutbox.getActionType();
+        this.status = partnerOutbox.getStatus();
+        this.attempts = partnerOutbox.getAttempts();
+        this.lastError = partnerOutbox.getLastError();
+        this.responseBody = partnerOutbox.getResponseBody();
+        this.nextAttemptAt = partnerOutbox.getNextAttemptAt();
+        this.createdOn = partnerOutbox.getCreatedOn();
+        this.deliveredOn = partnerOutbox.getDeliveredOn();
+    }
+}
@@ -0,0 +1,50 @@
+package com.mojagap.mojanode.dto.mapper;
+
+import com.mojagap.mojanode.dto.user.AppUserDto;
+import com.mojagap.mojanode.dto.user.UserSqlResultSet;
+import com.mojagap.mojanode.model.user.AppUser;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Generated at build time into plain getter/setter calls. Relations are left to the callers, which decide whether
+ * an account, company or role is loaded and how much of it is returned.
+ */
+@Mapper
+public interface AppUserMapper {
+
+    AppUserMapper INSTANCE = Mappers.getMapper(AppUserMapper.class);
+
+    @Mapping(target = "account", ignore = true)
+    @Mapping(target = "company", ignore = true)
+    @Mapping(target = "role", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "modifiedBy", ignore = true)
+    @Mapping(target = "createdOn", ignore = true)
+    @Mapping(target = "modifiedOn", ignore = true)
+    @Mapping(target = "recordStatus", ignore = true)
+    void copyToEntity(AppUserDto appUserDto, @MappingTarget AppUser appUser);
+
+    @Mapping(target = "authentication", ignore = true)
+    @Mapping(target = "idType", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "account", ignore = true)
+    @Mapping(target = "company", ignore = true)
+    @Mapping(target = "role", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "modifiedBy", ignore = true)
+    void copyToDto(AppUser appUser, @MappingTarget AppUserDto appUserDto);
+
+    @Mapping(target = "company.companyId", source = "companyId")
+    @Mapping(target = "company.name", source = "companyName")
+    @Mapping(target = "account", ignore = true)
+    @Mapping(target = "authentication", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "role", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "modifiedBy", ignore = true)
+    AppUserDto toDto(UserSqlResultSet userSqlResultSet);
+}
@@ -0,0 +1,29 @@
+package com.mojagap.mojanode.dto.mapper;
+
+import com.mojagap.mojanode.dto.company.CompanyDto;
+import com.mojagap.mojanode.model.company.Company;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface CompanyMapper {
+
+    CompanyMapper INSTANCE = Mappers.getMapper(CompanyMapper.class);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "account", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "modifiedBy", ignore = true)
+    @Mapping(target = "createdOn", ignore = true)
+    @Mapping(target = "modifiedOn", ignore = true)
+    @Mapping(target = "recordStatus", ignore = true)
+    void copyToEntity(CompanyDto companyDto, @MappingTarget Company company);
+
+    default Company toEntity(CompanyDto companyDto) {
+        Company company = new Company();
+        copyToEntity(companyDto, company);
+        return company;
+    }
+}
@@ -0,0 +1,18 @@
+package com.mojagap.mojanode.dto.mapper;
+
+import com.mojagap.mojanode.dto.role.PermissionDto;
+import com.mojagap.mojanode.dto.role.RoleDto;
+import com.mojagap.mojanode.model.role.Permission;
+import com.mojagap.mojanode.model.role.Role;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface RoleMapper {
+
+    RoleMapper INSTANCE = Mappers.getMapper(RoleMapper.class);
+
+    RoleDto toDto(Role role);
+
+    PermissionDto toDto(Permission permission);
+}
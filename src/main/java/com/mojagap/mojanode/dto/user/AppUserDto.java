@@ -8,14 +8,15 @@ import com.mojagap.mojanode.dto.company.CompanyDto;
 import com.mojagap.mojanode.dto.role.RoleDto;
 import com.mojagap.mojanode.infrastructure.ApplicationConstants;
 import com.mojagap.mojanode.infrastructure.ErrorMessages;
-import com.mojagap.mojanode.infrastructure.PowerValidator;
 import com.mojagap.mojanode.infrastructure.utility.DateUtil;
+import com.mojagap.mojanode.infrastructure.validation.DtoValidator;
+import com.mojagap.mojanode.infrastructure.validation.ValidationError;
 import com.mojagap.mojanode.model.user.IdentificationEnum;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import lombok.SneakyThrows;
 
 import java.util.Date;
+import java.util.List;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -42,16 +43,23 @@ public class AppUserDto {
     private AppUserDto createdBy;
     private AppUserDto modifiedBy;
 
-    @SneakyThrows
+    private static final DtoValidator<AppUserDto> VALIDATOR = DtoValidator.forType(AppUserDto.class)
+            .length("firstName", AppUserDto::getFirstName, 1, 255, ErrorMessages.INVALID_FIRST_NAME)
+            .length("lastName", AppUserDto::getLastName, 1, 255, ErrorMessages.INVALID_LAST_NAME)
+            .length("idNumber", AppUserDto::getIdNumber, 2, 255, ErrorMessages.INVALID_ID_NUMBER_PROVIDED)
+            .oneOf("idType", AppUserDto::getIdType, IdentificationEnum.class, ErrorMessages.INVALID_ID_TYPE)
+            .notNull("dateOfBirth", AppUserDto::getDateOfBirth, ErrorMessages.DATE_OF_BIRTH_REQUIRED)
+            .length("address", AppUserDto::getAddress, 10, 255, ErrorMessages.INVALID_LOCATION_ADDRESS)
+            .email("email", AppUserDto::getEmail, ErrorMessages.INVALID_EMAIL_ADDRESS)
+            .phoneNumber("phoneNumber", AppUserDto::getPhoneNumber, ErrorMessages.INVALID_PHONE_NUMBER)
+            .password("password", AppUserDto::getPassword, ErrorMessages.INVALID_PASSWORD)
+            .build();
+
     public void isValid() {
-        PowerValidator.validStringLength(firstName, 5, 255, ErrorMessages.INVALID_FIRST_NAME);
-        PowerValidator.validStringLength(lastName, 5, 255, ErrorMessages.INVALID_LAST_NAME);
-        PowerValidator.validStringLength(idNumber, 5, 255, ErrorMessages.INVALID_ID_NUMBER_PROVIDED);
-        PowerValidator.ValidEnum(IdentificationEnum.class, idType, ErrorMessages.INVALID_ID_TYPE);
-        PowerValidator.notNull(dateOfBirth, ErrorMessages.DATE_OF_BIRTH_REQUIRED);
-        PowerValidator.validStringLength(address, 10, 255, ErrorMessages.INVALID_LOCATION_ADDRESS);
-        PowerValidator.validEmail(email, ErrorMessages.INVALID_EMAIL_ADDRESS);
-        PowerValidator.validPhoneNumber(phoneNumber, ErrorMessages.INVALID_PHONE_NUMBER);
-        PowerValidator.validPassword(password, ErrorMessages.INVALID_PASSWORD);
+        VALIDATOR.validate(this);
+    }
+
+    public List<ValidationError> validationErrors() {
+        return VALIDATOR.collectErrors(this);
     }
 }
@@ -0,0 +1,13 @@
+package com.mojagap.mojanode.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExternalUserSyncDto {
+    private Long usersSaved;
+}
@@ -0,0 +1,51 @@
+package com.mojagap.mojanode.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mojagap.mojanode.model.user.UserImport;
+import com.mojagap.mojanode.model.user.UserImportError;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@NoArgsConstructor
+public class UserImportJobDto {
+    private String jobId;
+    private String status;
+    private Long rowsRead;
+    private Long rowsImported;
+    private Long rowsFailed;
+    private List<RowError> errors;
+    private String failureReason;
+    private Date startedOn;
+    private Date finishedOn;
+
+    public UserImportJobDto(UserImport userImport, List<UserImportError> userImportErrors) {
+        this.jobId = userImport.getJobId();
+        this.status = userImport.getStatus().name();
+        this.rowsRead = userImport.getRowsRead();
+        this.rowsImported = userImport.getRowsImported();
+        this.rowsFailed = userImport.getRowsFailed();
+        this.errors = userImportErrors.stream()
+                .map(userImportError -> new RowError(userImportError.getRowNumber(), userImportError.getEmail(), userImportError.getMessage()))
+                .collect(Collectors.toList());
+        this.failureReason = userImport.getFailureReason();
+        this.startedOn = userImport.getStartedOn();
+        this.finishedOn = userImport.getFinishedOn();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private Long row;
+        private String email;
+        private String message;
+    }
+}
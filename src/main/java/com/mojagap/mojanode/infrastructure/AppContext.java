@@ -9,10 +9,15 @@ import lombok.Setter;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 @Component
 public class AppContext implements ApplicationContextAware {
@@ -45,6 +50,31 @@ public class AppContext implements ApplicationContextAware {
         APP_USER.set(loggedInUser);
     }
 
+    /**
+     * Wraps a task so that it sees the logged in user, the security context and the current request attributes
+     * of the submitting thread when it runs on a worker thread, platform or virtual.
+     */
+    public static <R> Callable<R> propagate(Callable<R> callable) {
+        AppUser appUser = getLoggedInUser();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return () -> {
+            AppUser previousUser = getLoggedInUser();
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
+            setLoggedInUser(appUser);
+            SecurityContextHolder.setContext(securityContext);
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                return callable.call();
+            } finally {
+                setLoggedInUser(previousUser);
+                SecurityContextHolder.setContext(previousSecurityContext);
+                RequestContextHolder.setRequestAttributes(previousAttributes);
+            }
+        };
+    }
+
     public static <T extends AuditEntity> void stamp(T entity) {
         AppUser appUser = AppContext.getLoggedInUser();
         Date now = DateUtil.now();
@@ -5,11 +5,51 @@ import com.mojagap.mojanode.infrastructure.utility.EnvironmentVariables;
 
 public class ApplicationConstants {
     public static final String PLATFORM_TYPE_HEADER_KEY = "PLATFORM-TYPE";
-    public static final String BANK_TRANSFER_BASE_URL = "https://jsonplaceholder.typicode.com";
+    public static final String BANK_TRANSFER_BASE_URL = CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_BANK_TRANSFER_BASE_URL, "https://jsonplaceholder.typicode.com");
     public static final String JWT_SECRET_KEY = CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_JWT_SECRET_KEY, "q3t6w9z$C&F)J@NcQfTjWnZr4u7x!A%D*G-KaPdSgUkXp2s5v8y/B?E(H+MbQeTh");
     public static final String AUTHENTICATION_HEADER_NAME = "authentication";
     public static final String JWT_EXPIRATION_TIME_IN_MINUTES = CommonUtil.getEnvProperty(EnvironmentVariables.JWT_EXPIRATION_TIME, "30");
     public static final String DEFAULT_ROLE_NAME = "Super Administrator";
     public static final String DEFAULT_ROLE_DESCRIPTION = "This role provides all application permissions";
     public static final String APP_USER_ID = "userId";
+    public static final Integer DEFAULT_PAGE_SIZE = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_DEFAULT_PAGE_SIZE, "50"));
+    public static final Integer MAX_PAGE_SIZE = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_MAX_PAGE_SIZE, "500"));
+    public static final Long TOTAL_COUNT_CACHE_SECONDS = Long.parseLong(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_TOTAL_COUNT_CACHE_SECONDS, "30"));
+    public static final Integer DB_ID_GENERATOR_POOL_SIZE = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_DB_ID_GENERATOR_POOL_SIZE, "4"));
+    public static final Integer GATEWAY_THREADS = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_GATEWAY_THREADS, "64"));
+    public static final Boolean GATEWAY_HEDGING_ENABLED = Boolean.parseBoolean(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_GATEWAY_HEDGING_ENABLED, "false"));
+    public static final Double GATEWAY_HEDGE_PERCENTILE = Double.parseDouble(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_GATEWAY_HEDGE_PERCENTILE, "95"));
+    public static final Long GATEWAY_HEDGE_MIN_DELAY_MS = Long.parseLong(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_GATEWAY_HEDGE_MIN_DELAY_MS, "20"));
+    public static final Double GATEWAY_HEDGE_BUDGET_RATIO = Double.parseDouble(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_GATEWAY_HEDGE_BUDGET_RATIO, "0.1"));
+    public static final Integer GATEWAY_MAX_CONCURRENCY_PER_PARTNER = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_GATEWAY_MAX_CONCURRENCY_PER_PARTNER, "8"));
+    public static final Long GATEWAY_FAN_OUT_DEADLINE_MS = Long.parseLong(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_GATEWAY_FAN_OUT_DEADLINE_MS, "10000"));
+    public static final Integer GATEWAY_FAN_OUT_MAX_REQUESTS = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_GATEWAY_FAN_OUT_MAX_REQUESTS, "100"));
+    public static final Long GATEWAY_LATENCY_WINDOW_SECONDS = Long.parseLong(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_GATEWAY_LATENCY_WINDOW_SECONDS, "60"));
+    public static final Integer GATEWAY_LIMITER_INITIAL_LIMIT = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_GATEWAY_LIMITER_INITIAL_LIMIT, "20"));
+    public static final Integer GATEWAY_LIMITER_MAX_LIMIT = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_GATEWAY_LIMITER_MAX_LIMIT, "200"));
+    public static final Long GATEWAY_LIMITER_QUEUE_TIMEOUT_MS = Long.parseLong(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_GATEWAY_LIMITER_QUEUE_TIMEOUT_MS, "50"));
+    public static final Integer OUTBOX_WORKER_THREADS = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_OUTBOX_WORKER_THREADS, "4"));
+    public static final Integer OUTBOX_BATCH_SIZE = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_OUTBOX_BATCH_SIZE, "20"));
+    public static final Long OUTBOX_LEASE_SECONDS = Long.parseLong(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_OUTBOX_LEASE_SECONDS, "60"));
+    public static final Integer OUTBOX_MAX_ATTEMPTS = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_OUTBOX_MAX_ATTEMPTS, "10"));
+    public static final Long OUTBOX_BACKOFF_BASE_MS = Long.parseLong(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_OUTBOX_BACKOFF_BASE_MS, "1000"));
+    public static final Long OUTBOX_BACKOFF_MAX_MS = Long.parseLong(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_OUTBOX_BACKOFF_MAX_MS, "300000"));
+    public static final Integer GATEWAY_STREAM_CHUNK_SIZE = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_GATEWAY_STREAM_CHUNK_SIZE, "500"));
+    public static final Integer GATEWAY_MAX_LOGGED_BODY_BYTES = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_GATEWAY_MAX_LOGGED_BODY_BYTES, "8192"));
+    public static final Integer EXPORT_FETCH_SIZE = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_EXPORT_FETCH_SIZE, "1000"));
+    public static final Long REPLICA_MAX_LAG_MS = Long.parseLong(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_REPLICA_MAX_LAG_MS, "5000"));
+    public static final Long USER_LISTING_CACHE_MB = Long.parseLong(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_USER_LISTING_CACHE_MB, "64"));
+    public static final Long USER_LISTING_CACHE_SECONDS = Long.parseLong(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_USER_LISTING_CACHE_SECONDS, "30"));
+    public static final Integer USER_SEARCH_MAX_CANDIDATES = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_USER_SEARCH_MAX_CANDIDATES, "1000"));
+    public static final Integer USER_IMPORT_CHUNK_SIZE = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_USER_IMPORT_CHUNK_SIZE, "500"));
+    public static final Integer USER_IMPORT_JOB_THREADS = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_USER_IMPORT_JOB_THREADS, "2"));
+    public static final Integer USER_IMPORT_WORKER_THREADS = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_USER_IMPORT_WORKER_THREADS, String.valueOf(Runtime.getRuntime().availableProcessors())));
+    public static final Long USER_IMPORT_MAX_MB = Long.parseLong(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_USER_IMPORT_MAX_MB, "50"));
+    public static final Integer USER_IMPORT_MAX_REPORTED_ERRORS = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_USER_IMPORT_MAX_REPORTED_ERRORS, "1000"));
+    public static final Integer COMPANY_ONBOARDING_CHUNK_SIZE = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_COMPANY_ONBOARDING_CHUNK_SIZE, "50"));
+    public static final Integer COMPANY_ONBOARDING_MAX_COMPANIES = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_COMPANY_ONBOARDING_MAX_COMPANIES, "1000"));
+    public static final Integer STARTUP_STEPS_CAPACITY = Integer.parseInt(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_STARTUP_STEPS_CAPACITY, "10000"));
+    public static final String STARTUP_REPORT_PATH = CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_STARTUP_REPORT_PATH, "startup-report.json");
+    public static final Long PHONE_NUMBER_CACHE_SIZE = Long.parseLong(CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_PHONE_NUMBER_CACHE_SIZE, "100000"));
+    public static final String EXECUTION_MODE = CommonUtil.getEnvProperty(EnvironmentVariables.MOJA_NODE_EXECUTION_MODE, "platform");
 }
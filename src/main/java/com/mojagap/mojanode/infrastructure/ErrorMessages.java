@@ -10,9 +10,9 @@ public class ErrorMessages {
     public static final String VALID_COUNTRY_REQUIRED = "Please provide a valid country";
     public static final String COMPANY_DETAILS_REQUIRED = "Please provide your company information";
     public static final String INVALID_COMPANY_NAME = "Please provide a valid company of length 5 to 255";
-    public static final String INVALID_FIRST_NAME = "Please provide a first name of length 5 to 100";
-    public static final String INVALID_LAST_NAME = "Please provide a first name of length 5 to 100";
-    public static final String INVALID_ID_NUMBER_PROVIDED = "Please provide a ID number of length 5 to 100";
+    public static final String INVALID_FIRST_NAME = "Please provide a first name of length 1 to 255";
+    public static final String INVALID_LAST_NAME = "Please provide a last name of length 1 to 255";
+    public static final String INVALID_ID_NUMBER_PROVIDED = "Please provide an ID number of length 2 to 255";
     public static final String INVALID_LOCATION_ADDRESS = "Please provide a valid address of length 5 to 255";
     public static final String INVALID_EMAIL_ADDRESS = "Please provide a valid email address";
     public static final String INVALID_PHONE_NUMBER = "Please a valid number phone number";
@@ -21,4 +21,25 @@ public class ErrorMessages {
     public static final String INVALID_ID_TYPE = "Please a correct ID category";
     public static final String COMPANY_REGISTRATION_DATE_REQUIRED = "Company registration date is needed";
     public static final String DATE_OF_BIRTH_REQUIRED = "Date of birth is mandatory";
+    public static final String INVALID_PAGE_CURSOR = "Invalid or expired page cursor provided";
+    public static final String INVALID_FILTER_VALUE = "Invalid filter value provided";
+    public static final String SEARCH_TOO_BROAD = "The search term matches too many users, please provide a more specific term";
+    public static final String INVALID_SORT_FIELD = "Sorting is not supported on the provided field";
+    public static final String INVALID_EXPORT_FORMAT = "The export format must be either csv or ndjson";
+    public static final String PARTNER_REQUEST_NOT_FOUND = "Partner request not found";
+    public static final String PARTNER_CONCURRENCY_LIMIT_REACHED = "The partner service is busy, please try again shortly";
+    public static final String USER_IMPORT_JOB_NOT_FOUND = "User import job not found";
+    public static final String EMPTY_IMPORT_FILE = "The import file is empty, it must start with a header row";
+    public static final String IMPORT_FILE_TOO_LARGE = "The import file must not be larger than %dMB";
+    public static final String INVALID_IMPORT_COLUMN_COUNT = "Expected %d columns as in the header but found %d";
+    public static final String INVALID_IMPORT_DATE_OF_BIRTH = "Date of birth must be in the format %s";
+    public static final String EMAIL_ALREADY_REGISTERED = "A user with this email is already registered";
+    public static final String USER_IMPORT_ROW_REJECTED = "The user could not be saved, the email may already be registered";
+    public static final String USER_IMPORT_ROW_FAILED = "The user could not be processed";
+    public static final String COMPANIES_REQUIRED = "Please provide at least one company";
+    public static final String TOO_MANY_COMPANIES = "At most %d companies can be onboarded at once";
+    public static final String TOO_MANY_EXTERNAL_USER_IDS = "At most %d external users can be fetched at once";
+    public static final String DUPLICATE_COMPANY_IN_REQUEST = "Another company in the request has the same name or email";
+    public static final String COMPANY_ONBOARDING_FAILED = "The company could not be processed";
+    public static final String COMPANY_REJECTED = "The company could not be saved, its name or email may already be registered";
 }
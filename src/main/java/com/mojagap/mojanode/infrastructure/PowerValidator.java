@@ -17,6 +17,16 @@ public class PowerValidator {
 
     private static final Logger LOG = Logger.getLogger(PowerValidator.class.getName());
 
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[a-zA-Z0-9_+&*-]+(?:\\." +
+            "[a-zA-Z0-9_+&*-]+)*@" +
+            "(?:[a-zA-Z0-9-]+\\.)+[a-z" +
+            "A-Z]{2,7}$");
+    private static final Pattern PASSWORD_PATTERN = Pattern.compile("^(?=.*[0-9])"
+            + "(?=.*[a-z])(?=.*[A-Z])"
+            + "(?=.*[@#$%^&+=])"
+            + "(?=\\S+$).{8,20}$");
+    private static final Pattern VIABLE_PHONE_NUMBER_PATTERN = Pattern.compile("^\\s*\\+?[0-9(][0-9 ().-]{4,23}\\s*$");
+
     public static void notNull(Object object, String message, Object... args) {
         if (object == null) {
             throw new BadRequestException(String.format(message, args));
@@ -36,42 +46,56 @@ public class PowerValidator {
     }
 
     public static void validStringLength(String str, Integer minLength, Integer maxLength, String message) {
-        if (str == null || (str.length() < minLength && str.length() > maxLength)) {
+        if (!isValidStringLength(str, minLength, maxLength)) {
             throw new BadRequestException(message);
         }
     }
 
     public static void validEmail(String email, String message) {
-        String emailRegex = "^[a-zA-Z0-9_+&*-]+(?:\\." +
-                "[a-zA-Z0-9_+&*-]+)*@" +
-                "(?:[a-zA-Z0-9-]+\\.)+[a-z" +
-                "A-Z]{2,7}$";
-        Pattern pattern = Pattern.compile(emailRegex);
-        if (email == null || !pattern.matcher(email).matches()) {
+        if (!isValidEmail(email)) {
             throw new BadRequestException(message);
         }
     }
 
     public static void validPassword(String password, String message) {
-        String regex = "^(?=.*[0-9])"
-                + "(?=.*[a-z])(?=.*[A-Z])"
-                + "(?=.*[@#$%^&+=])"
-                + "(?=\\S+$).{8,20}$";
-        Pattern pattern = Pattern.compile(regex);
-        if (password == null || !pattern.matcher(password).matches()) {
+        if (!isValidPassword(password)) {
             throw new BadRequestException(message);
         }
     }
 
     public static void validPhoneNumber(String phoneNumber, String message) throws NumberParseException {
-        PhoneNumberUtil phoneNumberUtil = CommonUtil.PHONE_NUMBER_UTIL;
+        if (!isValidPhoneNumber(phoneNumber)) {
+            throw new BadRequestException(message);
+        }
+    }
+
+    public static boolean isValidStringLength(String str, Integer minLength, Integer maxLength) {
+        return !(str == null || str.length() < minLength || str.length() > maxLength);
+    }
+
+    public static boolean isValidEmail(String email) {
+        return email != null && EMAIL_PATTERN.matcher(email).matches();
+    }
+
+    public static boolean isValidPassword(String password) {
+        return password != null && PASSWORD_PATTERN.matcher(password).matches();
+    }
+
+    /**
+     * Whether the text could be a phone number at all, without parsing it for a region. Whether it is a valid number
+     * is only known once the region it is dialled from is, see {@code PhoneNumberService}.
+     */
+    public static boolean isViablePhoneNumber(String phoneNumber) {
+        return phoneNumber != null && VIABLE_PHONE_NUMBER_PATTERN.matcher(phoneNumber).matches();
+    }
+
+    public static boolean isValidPhoneNumber(String phoneNumber) {
+        PhoneNumberUtil phoneNumberUtil = CommonUtil.phoneNumberUtil();
         try {
-            if (phoneNumber == null || phoneNumberUtil.isValidNumber(phoneNumberUtil.parse(phoneNumber, Phonenumber.PhoneNumber.CountryCodeSource.UNSPECIFIED.name()))) {
-                throw new BadRequestException(message);
-            }
+            return phoneNumber != null && phoneNumberUtil.isValidNumber(phoneNumberUtil.parse(phoneNumber, Phonenumber.PhoneNumber.CountryCodeSource.UNSPECIFIED.name()));
         } catch (NumberParseException ex) {
             LOG.log(Level.INFO, "Failed to parse the provided phone number = " + phoneNumber, ex);
-            throw new BadRequestException(message);
+            return false;
         }
     }
 }
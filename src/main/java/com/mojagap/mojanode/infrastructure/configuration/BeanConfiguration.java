@@ -1,16 +1,69 @@
 package com.mojagap.mojanode.infrastructure.configuration;
 
 
-import org.modelmapper.ModelMapper;
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class BeanConfiguration {
 
+    /**
+     * In the virtual execution mode every servlet request runs on its own virtual thread rather than on one of
+     * Tomcat's {@code server.tomcat.threads.max} threads. Concurrent requests are then bounded by
+     * {@code server.tomcat.max-connections}, and those needing the database by the connection pool.
+     */
     @Bean
-    public ModelMapper modelMapper() {
-        return new ModelMapper();
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> requestExecutorCustomizer() {
+        return factory -> VirtualThreads.newThreadPerTaskExecutor("request-")
+                .ifPresent(executor -> factory.addProtocolHandlerCustomizers(protocolHandler -> protocolHandler.setExecutor(executor)));
+    }
+
+    /**
+     * Partner calls of hedged and fan-out requests. In the virtual execution mode each call gets its own virtual
+     * thread and only the per partner limits bound how many are in flight.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService gatewayExecutor() {
+        Optional<ExecutorService> virtualExecutor = VirtualThreads.newThreadPerTaskExecutor("gateway-");
+        if (virtualExecutor.isPresent()) {
+            return virtualExecutor.get();
+        }
+        Integer threads = ApplicationConstants.GATEWAY_THREADS;
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("gateway-"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor outboxExecutor() {
+        Integer threads = ApplicationConstants.OUTBOX_WORKER_THREADS;
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("outbox-"));
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService userImportJobExecutor() {
+        Integer threads = ApplicationConstants.USER_IMPORT_JOB_THREADS;
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("user-import-"));
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService userImportWorkerExecutor() {
+        Integer threads = ApplicationConstants.USER_IMPORT_WORKER_THREADS;
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("user-import-worker-"));
     }
 
 }
@@ -0,0 +1,45 @@
+package com.mojagap.mojanode.infrastructure.configuration;
+
+import com.mojagap.mojanode.infrastructure.datasource.ChangelogVersionCheck;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The {@code fast-startup} profile, for nodes started by rolling deploys and autoscaling. Migrations are left to
+ * the one-shot {@code migrate} command, so the node only checks that the schema is current, and beans are created on
+ * first use. Beans with {@link Scheduled} methods are kept eager as nothing else would ever create them.
+ */
+@Configuration
+@Profile(FastStartupConfiguration.PROFILE)
+public class FastStartupConfiguration {
+
+    public static final String PROFILE = "fast-startup";
+
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && (beanType == ChangelogVersionCheck.class || hasScheduledMethods(beanType));
+    }
+
+    @Bean
+    public ChangelogVersionCheck changelogVersionCheck(DataSource dataSource, ResourceLoader resourceLoader,
+                                                       @Value("${spring.liquibase.change-log}") String masterChangeLog) {
+        return new ChangelogVersionCheck(dataSource, resourceLoader, masterChangeLog);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        AtomicBoolean scheduled = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(beanType, method -> scheduled.set(true),
+                method -> !scheduled.get() && AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+        return scheduled.get();
+    }
+}
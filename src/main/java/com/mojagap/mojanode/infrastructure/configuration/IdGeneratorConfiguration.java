@@ -0,0 +1,21 @@
+package com.mojagap.mojanode.infrastructure.configuration;
+
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import com.mojagap.mojanode.infrastructure.datasource.IdGeneratorDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfiguration {
+
+    @Bean
+    public IdGeneratorDataSource idGeneratorDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("id-generator");
+        dataSource.setMaximumPoolSize(ApplicationConstants.DB_ID_GENERATOR_POOL_SIZE);
+        dataSource.setMinimumIdle(0);
+        return new IdGeneratorDataSource(dataSource);
+    }
+}
@@ -0,0 +1,52 @@
+package com.mojagap.mojanode.infrastructure.configuration;
+
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code virtual} execution mode, set with {@code MOJA_NODE_EXECUTION_MODE}, runs servlet requests and partner
+ * calls on virtual threads, so a request blocked on JDBC or a partner no longer holds a platform thread. Virtual
+ * threads are looked up reflectively as the node is built for a JDK without them. On a JDK older than 21 the mode
+ * logs a warning and the platform thread pools are kept.
+ */
+public final class VirtualThreads {
+
+    public static final String VIRTUAL_MODE = "virtual";
+
+    private static final Logger LOG = Logger.getLogger(VirtualThreads.class.getName());
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isVirtualModeEnabled() {
+        return VIRTUAL_MODE.equalsIgnoreCase(ApplicationConstants.EXECUTION_MODE);
+    }
+
+    /**
+     * @return an executor starting a new virtual thread, named {@code namePrefix} and a counter, for every task, or
+     * empty when the node does not run in the virtual execution mode or the JDK has no virtual threads
+     */
+    public static Optional<ExecutorService> newThreadPerTaskExecutor(String namePrefix) {
+        if (!isVirtualModeEnabled()) {
+            return Optional.empty();
+        }
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return Optional.of((ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory));
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            LOG.log(Level.WARNING, "Virtual threads are not available on Java " + Runtime.version() + ", " + namePrefix + " tasks run on platform threads");
+            return Optional.empty();
+        }
+    }
+}
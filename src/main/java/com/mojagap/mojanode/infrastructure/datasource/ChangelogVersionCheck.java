@@ -0,0 +1,80 @@
+package com.mojagap.mojanode.infrastructure.datasource;
+
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.sql.DataSource;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.InputStream;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Stands in for Liquibase on nodes that do not migrate the schema themselves. Rather than taking the changelog lock
+ * and checksumming every change set, it reads the ids and authors of the change sets included by the master
+ * changelog and refuses to start when any of them is missing from {@code DATABASECHANGELOG}.
+ */
+public class ChangelogVersionCheck implements InitializingBean {
+
+    private static final Logger LOG = Logger.getLogger(ChangelogVersionCheck.class.getName());
+
+    private final DataSource dataSource;
+    private final ResourceLoader resourceLoader;
+    private final String masterChangeLog;
+
+    public ChangelogVersionCheck(DataSource dataSource, ResourceLoader resourceLoader, String masterChangeLog) {
+        this.dataSource = dataSource;
+        this.resourceLoader = resourceLoader;
+        this.masterChangeLog = masterChangeLog;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long startedAt = System.currentTimeMillis();
+        Set<String> pending = expectedChangeSets();
+        List<String> applied = new JdbcTemplate(dataSource).query("SELECT ID, AUTHOR FROM DATABASECHANGELOG",
+                (resultSet, rowNum) -> changeSetKey(resultSet.getString("ID"), resultSet.getString("AUTHOR")));
+        applied.forEach(pending::remove);
+        if (!pending.isEmpty()) {
+            throw new IllegalStateException("The database schema is behind " + masterChangeLog + ", run the migrate command first. Pending change sets: " + pending);
+        }
+        LOG.info("Database schema is up to date with " + masterChangeLog + ", checked in " + (System.currentTimeMillis() - startedAt) + "ms");
+    }
+
+    @SneakyThrows
+    private Set<String> expectedChangeSets() {
+        Resource master = resourceLoader.getResource(masterChangeLog);
+        Set<String> changeSets = new LinkedHashSet<>();
+        NodeList includes = parse(master).getElementsByTagName("include");
+        for (int index = 0; index < includes.getLength(); index++) {
+            Element include = (Element) includes.item(index);
+            String file = include.getAttribute("file");
+            Resource changeLog = Boolean.parseBoolean(include.getAttribute("relativeToChangelogFile"))
+                    ? master.createRelative(file) : resourceLoader.getResource("classpath:" + file);
+            NodeList changeSetElements = parse(changeLog).getElementsByTagName("changeSet");
+            for (int changeSetIndex = 0; changeSetIndex < changeSetElements.getLength(); changeSetIndex++) {
+                Element changeSet = (Element) changeSetElements.item(changeSetIndex);
+                changeSets.add(changeSetKey(changeSet.getAttribute("id"), changeSet.getAttribute("author")));
+            }
+        }
+        return changeSets;
+    }
+
+    @SneakyThrows
+    private static Element parse(Resource changeLog) {
+        try (InputStream inputStream = changeLog.getInputStream()) {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(inputStream).getDocumentElement();
+        }
+    }
+
+    private static String changeSetKey(String id, String author) {
+        return id + "::" + author;
+    }
+}
@@ -0,0 +1,30 @@
+package com.mojagap.mojanode.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+
+import java.io.Closeable;
+import java.util.Map;
+
+/**
+ * The small connection pool {@link PooledIdGenerator} allocates its blocks of ids from. It is handed to Hibernate
+ * as a setting rather than registered as a DataSource bean, which would replace the auto-configured one.
+ */
+public class IdGeneratorDataSource implements HibernatePropertiesCustomizer, Closeable {
+
+    private final HikariDataSource dataSource;
+
+    public IdGeneratorDataSource(HikariDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(PooledIdGenerator.DATA_SOURCE, dataSource);
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+}
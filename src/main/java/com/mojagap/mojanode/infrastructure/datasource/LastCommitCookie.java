@@ -0,0 +1,63 @@
+package com.mojagap.mojanode.infrastructure.datasource;
+
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of the client's last commit, sent back to it in a cookie so that whichever node serves its next requests
+ * knows how recent a replica it needs, not only the node that made the commit.
+ */
+final class LastCommitCookie {
+
+    static final String NAME = "MOJA_LAST_COMMIT";
+
+    private LastCommitCookie() {
+    }
+
+    /**
+     * @return the commit time sent with the current request, or null outside a request or when there is none
+     */
+    static Long read() {
+        ServletRequestAttributes requestAttributes = currentRequestAttributes();
+        Cookie[] cookies = requestAttributes != null ? requestAttributes.getRequest().getCookies() : null;
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sets the cookie on the current response, unless it is already committed. It expires once the replica is
+     * guaranteed to have the commit.
+     */
+    static void write(long committedAt, long maxLagMs) {
+        ServletRequestAttributes requestAttributes = currentRequestAttributes();
+        HttpServletResponse response = requestAttributes != null ? requestAttributes.getResponse() : null;
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        Cookie cookie = new Cookie(NAME, Long.toString(committedAt));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(maxLagMs + 999)));
+        response.addCookie(cookie);
+    }
+
+    private static ServletRequestAttributes currentRequestAttributes() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes
+                ? (ServletRequestAttributes) RequestContextHolder.getRequestAttributes() : null;
+    }
+}
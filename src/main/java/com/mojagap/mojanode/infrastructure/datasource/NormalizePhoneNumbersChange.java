@@ -0,0 +1,85 @@
+package com.mojagap.mojanode.infrastructure.datasource;
+
+import com.mojagap.mojanode.model.account.CountryCode;
+import com.mojagap.mojanode.service.phone.PhoneNumberService;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Rewrites the phone numbers stored before they were normalized into E.164, reading numbers without a country
+ * calling code as numbers of the account's country. Numbers that are not valid there are left as they are.
+ */
+public class NormalizePhoneNumbersChange implements CustomTaskChange {
+
+    private static final int BATCH_SIZE = 500;
+
+    private int normalized;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try {
+            normalized = normalize(connection, "SELECT account.id, account.country_code, account.contact_phone_number FROM account",
+                    "UPDATE account SET contact_phone_number = ? WHERE id = ?")
+                    + normalize(connection, "SELECT company.id, account.country_code, company.phone_number FROM company " +
+                            "JOIN account ON account.id = company.account_id",
+                    "UPDATE company SET phone_number = ? WHERE id = ?")
+                    + normalize(connection, "SELECT appUser.id, account.country_code, appUser.phone_number FROM app_user appUser " +
+                            "JOIN account ON account.id = appUser.account_id",
+                    "UPDATE app_user SET phone_number = ? WHERE id = ?");
+        } catch (SQLException ex) {
+            throw new CustomChangeException(ex);
+        }
+    }
+
+    private static int normalize(Connection connection, String select, String update) throws SQLException {
+        int updated = 0;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(select);
+             PreparedStatement updateStatement = connection.prepareStatement(update)) {
+            while (resultSet.next()) {
+                CountryCode region = CountryCode.getByCode(resultSet.getString(2));
+                String phoneNumber = resultSet.getString(3);
+                String e164 = region == null || phoneNumber == null ? null : PhoneNumberService.toE164(phoneNumber, region);
+                if (e164 != null && !e164.equals(phoneNumber)) {
+                    updateStatement.setString(1, e164);
+                    updateStatement.setLong(2, resultSet.getLong(1));
+                    updateStatement.addBatch();
+                    if (++updated % BATCH_SIZE == 0) {
+                        updateStatement.executeBatch();
+                    }
+                }
+            }
+            updateStatement.executeBatch();
+        }
+        return updated;
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Normalized " + normalized + " phone numbers to E.164";
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
@@ -0,0 +1,111 @@
+package com.mojagap.mojanode.infrastructure.datasource;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import javax.sql.DataSource;
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * Table generator that allocates its blocks of ids on a connection of the {@link #DATA_SOURCE} pool. The inserting
+ * transaction keeps its connection while a block is allocated and the other inserting threads wait for that block
+ * holding theirs, so taking the allocation's connection from the same pool can deadlock it once such threads hold
+ * the whole pool. A block is allocated by one thread per entity at a time, so a few connections are enough.
+ * <p>
+ * Without a {@link #DATA_SOURCE} setting the blocks are allocated as {@link TableGenerator} does.
+ */
+public class PooledIdGenerator extends TableGenerator {
+
+    public static final String DATA_SOURCE = "mojanode.id_generator.data_source";
+
+    private DataSource dataSource;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        super.configure(type, params, serviceRegistry);
+        dataSource = (DataSource) serviceRegistry.getService(ConfigurationService.class).getSettings().get(DATA_SOURCE);
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object obj) {
+        if (dataSource == null) {
+            return super.generate(session, obj);
+        }
+        return getOptimizer().generate(new AccessCallback() {
+            @Override
+            public IntegralDataTypeHolder getNextValue() {
+                try {
+                    return IdentifierGeneratorHelper.getIntegralDataTypeHolder(getIdentifierType().getReturnedClass()).initialize(allocateBlock());
+                } catch (SQLException ex) {
+                    throw session.getJdbcServices().getSqlExceptionHelper().convert(ex, "Could not allocate ids of " + getSegmentValue());
+                }
+            }
+
+            @Override
+            public String getTenantIdentifier() {
+                return session.getTenantIdentifier();
+            }
+        });
+    }
+
+    /**
+     * @return the first id of the block, the row then holds the first id of the next block
+     */
+    private long allocateBlock() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long first = reserveBlock(connection);
+                connection.commit();
+                return first;
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private long reserveBlock(Connection connection) throws SQLException {
+        String update = "UPDATE " + getTableName() + " SET " + getValueColumnName() + " = " + getValueColumnName() + " + ? WHERE " + getSegmentColumnName() + " = ?";
+        try (PreparedStatement statement = connection.prepareStatement(update)) {
+            statement.setLong(1, getIncrementSize());
+            statement.setString(2, getSegmentValue());
+            if (statement.executeUpdate() == 0) {
+                return insertSegment(connection);
+            }
+        }
+        String select = "SELECT " + getValueColumnName() + " FROM " + getTableName() + " WHERE " + getSegmentColumnName() + " = ?";
+        try (PreparedStatement statement = connection.prepareStatement(select)) {
+            statement.setString(1, getSegmentValue());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1) - getIncrementSize();
+            }
+        }
+    }
+
+    private long insertSegment(Connection connection) throws SQLException {
+        String insert = "INSERT INTO " + getTableName() + " (" + getSegmentColumnName() + ", " + getValueColumnName() + ") VALUES (?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(insert)) {
+            statement.setString(1, getSegmentValue());
+            statement.setLong(2, (long) getInitialValue() + getIncrementSize());
+            statement.executeUpdate();
+        }
+        return getInitialValue();
+    }
+}
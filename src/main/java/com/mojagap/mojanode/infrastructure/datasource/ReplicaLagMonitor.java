@@ -0,0 +1,73 @@
+package com.mojagap.mojanode.infrastructure.datasource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Measures how far the replica is behind the primary with a heartbeat: every tick the primary's
+ * {@code replica_heartbeat} row is stamped with the current time and the replica's copy is read back. Whatever
+ * time the replica holds, it has applied every transaction committed on the primary before then. The lag is
+ * therefore over-estimated by up to one heartbeat interval, never under-estimated.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger LOG = Logger.getLogger(ReplicaLagMonitor.class.getName());
+    private static final String STAMP_HEARTBEAT = "UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1";
+    private static final String READ_HEARTBEAT = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMs;
+    private volatile long replicatedUpTo;
+    private volatile boolean replicaReachable;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource, long maxLagMs) {
+        this.primaryJdbcTemplate = new JdbcTemplate(primaryDataSource);
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLagMs = maxLagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${MOJA_NODE_REPLICA_HEARTBEAT_MS:1000}")
+    public void beat() {
+        try {
+            primaryJdbcTemplate.update(STAMP_HEARTBEAT, System.currentTimeMillis());
+        } catch (RuntimeException ex) {
+            LOG.log(Level.WARNING, "Could not stamp the replica heartbeat on the primary", ex);
+        }
+        try {
+            Long beatAt = replicaJdbcTemplate.queryForObject(READ_HEARTBEAT, Long.class);
+            replicatedUpTo = beatAt == null ? 0 : beatAt;
+            if (!replicaReachable) {
+                LOG.log(Level.INFO, "Replica reachable, " + getLagMs() + "ms behind the primary");
+            }
+            replicaReachable = true;
+        } catch (RuntimeException ex) {
+            if (replicaReachable) {
+                LOG.log(Level.WARNING, "Replica unreachable, routing all reads to the primary", ex);
+            }
+            replicaReachable = false;
+        }
+    }
+
+    public long getLagMs() {
+        return Math.max(0, System.currentTimeMillis() - replicatedUpTo);
+    }
+
+    /**
+     * @return whether the replica answered the last heartbeat and is no more than the configured lag behind
+     */
+    public boolean isReplicaUsable() {
+        return replicaReachable && getLagMs() <= maxLagMs;
+    }
+
+    /**
+     * @return whether a transaction committed on the primary at {@code committedAt} is visible on the replica
+     */
+    public boolean hasReplicated(long committedAt) {
+        return replicatedUpTo > committedAt;
+    }
+}
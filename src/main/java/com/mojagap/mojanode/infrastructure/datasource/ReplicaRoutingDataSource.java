@@ -0,0 +1,89 @@
+package com.mojagap.mojanode.infrastructure.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mojagap.mojanode.infrastructure.AppContext;
+import com.mojagap.mojanode.model.user.AppUser;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the work of {@code @Transactional(readOnly = true)} transactions to the replica and everything else to the
+ * primary. The replica is skipped while {@link ReplicaLagMonitor} reports it unreachable or too far behind, and for
+ * a user whose own last commit has not reached it yet, so users always read their own writes.
+ * <p>
+ * The time of a commit made during a request travels with the client in {@link LastCommitCookie}, so reads that
+ * land on another node are held back as well. The per-user memory of this node covers work outside a request and
+ * clients that drop the cookie, and only holds for them while they stay on this node.
+ * <p>
+ * The read-only flag is only set once the transaction has begun, so the target must be picked when the first
+ * statement runs rather than when the transaction starts: always use it through {@link #lazy()}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Cache<Integer, Long> lastCommitByUser;
+    private final long maxLagMs;
+
+    /**
+     * @param maxLagMs once the replica is usable, it is at most this far behind, so commits older than this have
+     *                 reached it and no longer need to be remembered
+     */
+    public ReplicaRoutingDataSource(DataSource primaryDataSource, DataSource replicaDataSource, ReplicaLagMonitor replicaLagMonitor, long maxLagMs) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.maxLagMs = maxLagMs;
+        this.lastCommitByUser = Caffeine.newBuilder()
+                .expireAfterWrite(maxLagMs, TimeUnit.MILLISECONDS)
+                .maximumSize(100_000)
+                .build();
+        setTargetDataSources(Map.of(Target.PRIMARY, primaryDataSource, Target.REPLICA, replicaDataSource));
+        setDefaultTargetDataSource(primaryDataSource);
+        afterPropertiesSet();
+    }
+
+    public DataSource lazy() {
+        return new LazyConnectionDataSourceProxy(this);
+    }
+
+    @Override
+    protected Target determineCurrentLookupKey() {
+        AppUser loggedInUser = AppContext.getLoggedInUser();
+        Integer userId = loggedInUser != null ? loggedInUser.getId() : null;
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return canReadFromReplica(userId) ? Target.REPLICA : Target.PRIMARY;
+        }
+        if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    long committedAt = System.currentTimeMillis();
+                    lastCommitByUser.put(userId, committedAt);
+                    LastCommitCookie.write(committedAt, maxLagMs);
+                }
+            });
+        }
+        return Target.PRIMARY;
+    }
+
+    private boolean canReadFromReplica(Integer userId) {
+        if (!replicaLagMonitor.isReplicaUsable()) {
+            return false;
+        }
+        Long lastCommit = userId != null ? lastCommitByUser.getIfPresent(userId) : null;
+        Long clientLastCommit = LastCommitCookie.read();
+        if (clientLastCommit != null && (lastCommit == null || clientLastCommit > lastCommit)) {
+            lastCommit = clientLastCommit;
+        }
+        return lastCommit == null || replicaLagMonitor.hasReplicated(lastCommit);
+    }
+}
@@ -0,0 +1,18 @@
+package com.mojagap.mojanode.infrastructure.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException {
+
+    private static final Logger LOG = Logger.getLogger(ServiceUnavailableException.class.getName());
+
+    public ServiceUnavailableException(String reason) {
+        super(reason);
+        LOG.log(Level.WARNING, reason, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
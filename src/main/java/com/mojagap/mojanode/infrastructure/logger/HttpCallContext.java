@@ -0,0 +1,40 @@
+package com.mojagap.mojanode.infrastructure.logger;
+
+import com.mojagap.mojanode.model.common.ActionTypeEnum;
+import com.mojagap.mojanode.model.http.HttpCallLog;
+import lombok.Getter;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Carries the call logs of one logical outbound call from the {@link HttpRequestInterceptor} back to the caller.
+ * A hedged call records one log per attempt. It does not depend on a servlet request, so it works the same
+ * from controllers, schedulers and worker pools.
+ */
+public class HttpCallContext {
+
+    @Getter
+    private final ActionTypeEnum actionType;
+    private final List<HttpCallLog> httpCallLogs = new CopyOnWriteArrayList<>();
+
+    public HttpCallContext(ActionTypeEnum actionType) {
+        this.actionType = actionType;
+    }
+
+    void addHttpCallLog(HttpCallLog httpCallLog) {
+        httpCallLog.setActionType(actionType);
+        httpCallLogs.add(httpCallLog);
+    }
+
+    public List<HttpCallLog> getHttpCallLogs() {
+        return Collections.unmodifiableList(httpCallLogs);
+    }
+
+    public void recordFailure(Exception ex) {
+        String stackTrace = ExceptionUtils.getStackTrace(ex);
+        httpCallLogs.forEach(httpCallLog -> httpCallLog.setStackTrace(stackTrace));
+    }
+}
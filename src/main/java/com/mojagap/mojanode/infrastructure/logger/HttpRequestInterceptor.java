@@ -1,12 +1,11 @@
 package com.mojagap.mojanode.infrastructure.logger;
 
-import com.mojagap.mojanode.infrastructure.AppContext;
 import com.mojagap.mojanode.infrastructure.utility.CommonUtil;
 import com.mojagap.mojanode.infrastructure.utility.DateUtil;
-import com.mojagap.mojanode.model.common.ActionTypeEnum;
 import com.mojagap.mojanode.model.http.HttpCallLog;
 import com.mojagap.mojanode.model.http.HttpResponseStatusEnum;
 import lombok.SneakyThrows;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.client.ClientHttpRequestExecution;
@@ -14,11 +13,12 @@ import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.util.StreamUtils;
 
-import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,17 +27,39 @@ public class HttpRequestInterceptor implements ClientHttpRequestInterceptor {
 
     private final Logger LOG = Logger.getLogger(HttpRequestInterceptor.class.getName());
 
+    private final HttpCallContext httpCallContext;
+    private final Integer maxLoggedResponseBytes;
+
+    public HttpRequestInterceptor(HttpCallContext httpCallContext) {
+        this.httpCallContext = httpCallContext;
+        this.maxLoggedResponseBytes = null;
+    }
+
+    /**
+     * Streaming mode: the response body is neither buffered nor read here, only the first
+     * {@code maxLoggedResponseBytes} that the caller consumes end up in the call log.
+     */
+    public HttpRequestInterceptor(HttpCallContext httpCallContext, int maxLoggedResponseBytes) {
+        this.httpCallContext = httpCallContext;
+        this.maxLoggedResponseBytes = maxLoggedResponseBytes;
+    }
+
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
-        Long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
         HttpCallLog httpCallLog = logHttpRequest(request, body);
-        HttpServletRequest httpServletRequest = AppContext.getBean(HttpServletRequest.class);
-        httpServletRequest.setAttribute(HttpCallLog.class.getName(), httpCallLog);
+        httpCallContext.addHttpCallLog(httpCallLog);
         ClientHttpResponse response = execution.execute(request, body);
-        logHttpResponse(response, httpCallLog);
-        Long endTime = System.currentTimeMillis();
-        long duration = endTime - startTime;
-        httpCallLog.setDuration((int) duration);
+        if (maxLoggedResponseBytes != null) {
+            response = new PrefixLoggingClientHttpResponse(response, httpCallLog, maxLoggedResponseBytes);
+        }
+        try {
+            logHttpResponse(response, httpCallLog);
+        } catch (Exception ex) {
+            response.close();
+            throw ex;
+        }
+        httpCallLog.setDuration((int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
         return response;
     }
 
@@ -45,7 +67,6 @@ public class HttpRequestInterceptor implements ClientHttpRequestInterceptor {
     private HttpCallLog logHttpRequest(HttpRequest request, byte[] body) {
         LOG.log(Level.INFO, "===========================Request Begin================================================");
         HttpCallLog httpCallLog = new HttpCallLog();
-        httpCallLog.setActionType(ActionTypeEnum.MONEY_TRANSFER);
         httpCallLog.setCreatedOn(DateUtil.now());
         String requestBody = new String(body, StandardCharsets.UTF_8);
         httpCallLog.setRequestBody(requestBody);
@@ -63,7 +84,9 @@ public class HttpRequestInterceptor implements ClientHttpRequestInterceptor {
         LOG.log(Level.INFO, "============================Response Begin==========================================");
         httpCallLog.setResponseHeaders(CommonUtil.OBJECT_MAPPER.writeValueAsString(response.getHeaders()));
         httpCallLog.setResponseStatusCode(response.getRawStatusCode());
-        httpCallLog.setResponseBody(StreamUtils.copyToString(response.getBody(), Charset.defaultCharset()));
+        if (maxLoggedResponseBytes == null) {
+            httpCallLog.setResponseBody(StreamUtils.copyToString(response.getBody(), Charset.defaultCharset()));
+        }
         HttpStatus statusCode = response.getStatusCode();
         if (statusCode.is4xxClientError() || statusCode.is5xxServerError()) {
             httpCallLog.setResponseStatus(HttpResponseStatusEnum.FAILED);
@@ -73,4 +96,53 @@ public class HttpRequestInterceptor implements ClientHttpRequestInterceptor {
         LOG.log(Level.INFO, "HTTP Request Status Text : " + response.getStatusText());
         LOG.log(Level.INFO, "=======================Response End=================================================");
     }
+
+    private static class PrefixLoggingClientHttpResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final HttpCallLog httpCallLog;
+        private final int maxLoggedResponseBytes;
+        private PrefixCapturingInputStream body;
+
+        PrefixLoggingClientHttpResponse(ClientHttpResponse response, HttpCallLog httpCallLog, int maxLoggedResponseBytes) {
+            this.response = response;
+            this.httpCallLog = httpCallLog;
+            this.maxLoggedResponseBytes = maxLoggedResponseBytes;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new PrefixCapturingInputStream(response.getBody(), maxLoggedResponseBytes);
+            }
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public void close() {
+            if (body != null) {
+                httpCallLog.setResponseBody(body.getCapturedPrefix());
+            }
+            response.close();
+        }
+    }
 }
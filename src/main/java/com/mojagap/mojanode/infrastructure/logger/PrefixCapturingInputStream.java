@@ -0,0 +1,56 @@
+package com.mojagap.mojanode.infrastructure.logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Passes a stream through untouched while keeping a copy of at most {@code maxBytes} of what was read,
+ * so that large response bodies can be logged without holding them in memory.
+ */
+public class PrefixCapturingInputStream extends FilterInputStream {
+
+    private final ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+    private final int maxBytes;
+    private boolean truncated;
+
+    public PrefixCapturingInputStream(InputStream inputStream, int maxBytes) {
+        super(inputStream);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value != -1) {
+            capture(new byte[]{(byte) value}, 0, 1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int count = super.read(buffer, offset, length);
+        if (count > 0) {
+            capture(buffer, offset, count);
+        }
+        return count;
+    }
+
+    private void capture(byte[] buffer, int offset, int count) {
+        int remaining = maxBytes - prefix.size();
+        if (count > remaining) {
+            truncated = true;
+        }
+        if (remaining > 0) {
+            prefix.write(buffer, offset, Math.min(remaining, count));
+        }
+    }
+
+    public String getCapturedPrefix() {
+        String captured = prefix.toString(StandardCharsets.UTF_8);
+        return truncated ? captured + "...[truncated]" : captured;
+    }
+}
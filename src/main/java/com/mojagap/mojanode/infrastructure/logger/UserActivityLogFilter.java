@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -40,11 +41,29 @@ public class UserActivityLogFilter implements Filter {
 
     private static final Logger LOG = Logger.getLogger(UserActivityLogFilter.class.getName());
 
+    /**
+     * Responses written asynchronously and of unbounded size. Caching them would hold the whole body in memory
+     * and the body is only written after this filter has returned.
+     */
+    private static final Set<String> STREAMED_RESPONSE_PATHS = Set.of("/v1/user/export");
+
+    /**
+     * Uploads of up to {@code USER_IMPORT_MAX_MB} holding plaintext passwords. Their body is neither cached nor
+     * logged, the activity log keeps the request metadata and the response naming the import job.
+     */
+    private static final Set<String> UNLOGGED_REQUEST_BODY_PATHS = Set.of("/v1/user/import");
+
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) {
         try {
             long startTime = System.currentTimeMillis();
-            ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper((HttpServletRequest) servletRequest);
+            HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
+            HttpServletRequest requestWrapper = UNLOGGED_REQUEST_BODY_PATHS.contains(httpServletRequest.getRequestURI())
+                    ? httpServletRequest : new ContentCachingRequestWrapper(httpServletRequest);
+            if (STREAMED_RESPONSE_PATHS.contains(requestWrapper.getRequestURI())) {
+                filterChain.doFilter(requestWrapper, servletResponse);
+                return;
+            }
             ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper((HttpServletResponse) servletResponse);
 
             Integer platformType = Integer.valueOf(requestWrapper.getHeader(ApplicationConstants.PLATFORM_TYPE_HEADER_KEY));
@@ -61,9 +80,11 @@ public class UserActivityLogFilter implements Filter {
 
             UserActivityLog userActivityLog = (UserActivityLog) requestWrapper.getAttribute(UserActivityLog.class.getName());
             if (userActivityLog != null) {
-                String requestBody = new String(requestWrapper.getContentAsByteArray());
+                if (requestWrapper instanceof ContentCachingRequestWrapper) {
+                    String requestBody = new String(((ContentCachingRequestWrapper) requestWrapper).getContentAsByteArray());
+                    userActivityLog.setRequestBody(requestBody);
+                }
                 String responseBody = new String(responseWrapper.getContentAsByteArray());
-                userActivityLog.setRequestBody(requestBody);
                 userActivityLog.setResponseBody(responseBody);
                 responseWrapper.copyBodyToResponse();
                 setHttpResponseProperties(responseWrapper, userActivityLog);
@@ -79,7 +100,7 @@ public class UserActivityLogFilter implements Filter {
         }
     }
 
-    private UserActivityLog initializeUserActivityLog(ContentCachingRequestWrapper requestWrapper) throws IOException {
+    private UserActivityLog initializeUserActivityLog(HttpServletRequest requestWrapper) throws IOException {
         UserActivityLog userActivityLog = new UserActivityLog();
         setUserActivityLogProps(userActivityLog, requestWrapper.getRequestURI(), requestWrapper.getQueryString(), requestWrapper.getMethod(),
                 BaseController.getRequestHeaders(requestWrapper), requestWrapper.getRemoteAddr());
@@ -15,12 +15,15 @@ import com.mojagap.mojanode.service.account.AccountCommandHandlerService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import lombok.Data;
+import org.hibernate.Hibernate;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
@@ -63,6 +66,8 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
         } catch (Exception ex) {
             HandlerExceptionResolver handlerExceptionResolver = AppContext.getBean("handlerExceptionResolver");
             handlerExceptionResolver.resolveException(servletRequest, servletResponse, null, ex);
+        } finally {
+            AppContext.setLoggedInUser(null);
         }
     }
 
@@ -72,7 +77,13 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
             Claims claims = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(authentication).getBody();
             AppUserRepository appUserRepository = AppContext.getBean(AppUserRepository.class);
             Integer userId = claims.get(ApplicationConstants.APP_USER_ID, Integer.class);
-            AppUser appUser = appUserRepository.getById(userId);
+            TransactionTemplate readOnlyTransaction = new TransactionTemplate(AppContext.getBean(PlatformTransactionManager.class));
+            readOnlyTransaction.setReadOnly(true);
+            AppUser appUser = readOnlyTransaction.execute(status -> {
+                AppUser user = appUserRepository.findWithAuthorizationById(userId).orElseThrow();
+                Hibernate.initialize(user.getRole().getPermissions());
+                return user;
+            });
             List<GrantedAuthority> authorities = new ArrayList<>();
             appUser.getRole().getPermissions().stream().map(permission -> new SimpleGrantedAuthority(permission.getName())).forEach(authorities::add);
             SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(appUser.getEmail(), null, authorities));
@@ -0,0 +1,130 @@
+package com.mojagap.mojanode.infrastructure.startup;
+
+import com.mojagap.mojanode.MojaNodeApplication;
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import com.mojagap.mojanode.infrastructure.utility.CommonUtil;
+import com.mojagap.mojanode.infrastructure.utility.CsvUtil;
+import com.mojagap.mojanode.model.account.CountryCode;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ApplicationStartupAware;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Records the startup phases Spring does not name on its own in the {@link ApplicationStartup}: the Liquibase
+ * update, the build of the {@code EntityManagerFactory}, and the loading of security.csv and {@link CountryCode}.
+ * The last two would otherwise happen on the first request. Once the node is ready, the recorded timeline is
+ * summarized into a {@link StartupReport} written to {@code STARTUP_REPORT_PATH}. The full timeline stays available
+ * from {@code GET /actuator/startup}. Nothing is recorded unless the node was started with a
+ * {@link BufferingApplicationStartup}, as {@link MojaNodeApplication#main} does.
+ */
+@Component
+public class StartupPhaseTracer implements BeanPostProcessor, SmartInitializingSingleton, ApplicationStartupAware, ApplicationListener<ApplicationReadyEvent> {
+
+    public static final String LIQUIBASE_STEP = "moja-node.liquibase";
+    public static final String ENTITY_MANAGER_FACTORY_STEP = "moja-node.entity-manager-factory";
+    public static final String SECURITY_CSV_STEP = "moja-node.security-csv";
+    public static final String COUNTRY_CODES_STEP = "moja-node.country-codes";
+
+    private static final Logger LOG = Logger.getLogger(StartupPhaseTracer.class.getName());
+    private static final String BEAN_INSTANTIATE_STEP = "spring.beans.instantiate";
+    private static final int SLOWEST_BEANS = 20;
+
+    private final Map<String, StartupStep> beanSteps = new ConcurrentHashMap<>();
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        String stepName = bean instanceof SpringLiquibase ? LIQUIBASE_STEP : bean instanceof AbstractEntityManagerFactoryBean ? ENTITY_MANAGER_FACTORY_STEP : null;
+        if (stepName != null) {
+            beanSteps.put(beanName, applicationStartup.start(stepName).tag("beanName", beanName));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        StartupStep step = beanSteps.remove(beanName);
+        if (step != null) {
+            step.end();
+        }
+        return bean;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        StartupStep securityCsv = applicationStartup.start(SECURITY_CSV_STEP);
+        securityCsv.tag("rules", String.valueOf(CsvUtil.parseSecurityCsv().size()));
+        securityCsv.end();
+        StartupStep countryCodes = applicationStartup.start(COUNTRY_CODES_STEP);
+        countryCodes.tag("countries", String.valueOf(CountryCode.values().length));
+        countryCodes.end();
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!(applicationStartup instanceof BufferingApplicationStartup)) {
+            return;
+        }
+        StartupReport report = toReport(((BufferingApplicationStartup) applicationStartup).getBufferedTimeline(), List.of(event.getApplicationContext().getEnvironment().getActiveProfiles()));
+        Path reportPath = Path.of(ApplicationConstants.STARTUP_REPORT_PATH);
+        try {
+            CommonUtil.OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(reportPath.toFile(), report);
+            LOG.info("Started in " + report.getJvmUptimeMs() + "ms since JVM start, startup report written to " + reportPath.toAbsolutePath());
+        } catch (IOException ex) {
+            LOG.log(Level.WARNING, "Could not write the startup report to " + reportPath.toAbsolutePath(), ex);
+        }
+    }
+
+    static StartupReport toReport(StartupTimeline timeline, List<String> profiles) {
+        long timelineStart = timeline.getStartTime().toEpochMilli();
+        StartupReport report = new StartupReport();
+        report.setVersion(MojaNodeApplication.class.getPackage().getImplementationVersion());
+        report.setProfiles(profiles);
+        report.setStartedOn(new Date(timelineStart));
+        report.setJvmUptimeMs(ManagementFactory.getRuntimeMXBean().getUptime());
+        report.setPhases(timeline.getEvents().stream()
+                .filter(event -> !event.getStartupStep().getName().equals(BEAN_INSTANTIATE_STEP))
+                .map(event -> toPhase(event, timelineStart))
+                .collect(Collectors.toList()));
+        report.setSlowestBeans(timeline.getEvents().stream()
+                .filter(event -> event.getStartupStep().getName().equals(BEAN_INSTANTIATE_STEP))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_BEANS)
+                .map(event -> toPhase(event, timelineStart))
+                .collect(Collectors.toList()));
+        return report;
+    }
+
+    private static StartupReport.Phase toPhase(StartupTimeline.TimelineEvent event, long timelineStart) {
+        Map<String, String> tags = new LinkedHashMap<>();
+        event.getStartupStep().getTags().forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+        return new StartupReport.Phase(event.getStartupStep().getName(), event.getStartTime().toEpochMilli() - timelineStart, event.getDuration().toMillis(), tags);
+    }
+}
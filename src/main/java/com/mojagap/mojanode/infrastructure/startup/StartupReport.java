@@ -0,0 +1,33 @@
+package com.mojagap.mojanode.infrastructure.startup;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+@Data
+@NoArgsConstructor
+public class StartupReport {
+    private String version;
+    private List<String> profiles;
+    private Date startedOn;
+    private Long jvmUptimeMs;
+    private List<Phase> phases;
+    private List<Phase> slowestBeans;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Phase {
+        private String name;
+        private Long startMs;
+        private Long durationMs;
+        private Map<String, String> tags;
+    }
+}
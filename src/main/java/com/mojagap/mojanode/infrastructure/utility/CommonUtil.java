@@ -6,7 +6,14 @@ import com.google.i18n.phonenumbers.PhoneNumberUtil;
 public class CommonUtil {
 
     public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-    public static final PhoneNumberUtil PHONE_NUMBER_UTIL = PhoneNumberUtil.getInstance();
+
+    /**
+     * Loaded on first use rather than with this class, which every {@code ApplicationConstants} read initializes at
+     * startup.
+     */
+    public static PhoneNumberUtil phoneNumberUtil() {
+        return PhoneNumberUtilHolder.INSTANCE;
+    }
 
     public static String getEnvProperty(String property, String defaultValue) {
         String sysProperty = System.getProperty(property);
@@ -23,4 +30,7 @@ public class CommonUtil {
         return System.getProperty("user.dir");
     }
 
+    private static class PhoneNumberUtilHolder {
+        private static final PhoneNumberUtil INSTANCE = PhoneNumberUtil.getInstance();
+    }
 }
@@ -9,4 +9,45 @@ public class EnvironmentVariables {
     public static final String MOJA_NODE_DB_USERNAME = "MOJA_NODE_DB_USERNAME";
     public static final String MOJA_NODE_DB_PASSWORD = "MOJA_NODE_DB_PASSWORD";
     public static final String MOJA_NODE_DB_NAME = "MOJA_NODE_DB_NAME";
+    public static final String MOJA_NODE_DEFAULT_PAGE_SIZE = "MOJA_NODE_DEFAULT_PAGE_SIZE";
+    public static final String MOJA_NODE_MAX_PAGE_SIZE = "MOJA_NODE_MAX_PAGE_SIZE";
+    public static final String MOJA_NODE_TOTAL_COUNT_CACHE_SECONDS = "MOJA_NODE_TOTAL_COUNT_CACHE_SECONDS";
+    public static final String MOJA_NODE_DB_ID_GENERATOR_POOL_SIZE = "MOJA_NODE_DB_ID_GENERATOR_POOL_SIZE";
+    public static final String MOJA_NODE_GATEWAY_THREADS = "MOJA_NODE_GATEWAY_THREADS";
+    public static final String MOJA_NODE_GATEWAY_HEDGING_ENABLED = "MOJA_NODE_GATEWAY_HEDGING_ENABLED";
+    public static final String MOJA_NODE_GATEWAY_HEDGE_PERCENTILE = "MOJA_NODE_GATEWAY_HEDGE_PERCENTILE";
+    public static final String MOJA_NODE_GATEWAY_HEDGE_MIN_DELAY_MS = "MOJA_NODE_GATEWAY_HEDGE_MIN_DELAY_MS";
+    public static final String MOJA_NODE_GATEWAY_HEDGE_BUDGET_RATIO = "MOJA_NODE_GATEWAY_HEDGE_BUDGET_RATIO";
+    public static final String MOJA_NODE_GATEWAY_MAX_CONCURRENCY_PER_PARTNER = "MOJA_NODE_GATEWAY_MAX_CONCURRENCY_PER_PARTNER";
+    public static final String MOJA_NODE_GATEWAY_FAN_OUT_DEADLINE_MS = "MOJA_NODE_GATEWAY_FAN_OUT_DEADLINE_MS";
+    public static final String MOJA_NODE_GATEWAY_FAN_OUT_MAX_REQUESTS = "MOJA_NODE_GATEWAY_FAN_OUT_MAX_REQUESTS";
+    public static final String MOJA_NODE_GATEWAY_LATENCY_WINDOW_SECONDS = "MOJA_NODE_GATEWAY_LATENCY_WINDOW_SECONDS";
+    public static final String MOJA_NODE_GATEWAY_LIMITER_INITIAL_LIMIT = "MOJA_NODE_GATEWAY_LIMITER_INITIAL_LIMIT";
+    public static final String MOJA_NODE_GATEWAY_LIMITER_MAX_LIMIT = "MOJA_NODE_GATEWAY_LIMITER_MAX_LIMIT";
+    public static final String MOJA_NODE_GATEWAY_LIMITER_QUEUE_TIMEOUT_MS = "MOJA_NODE_GATEWAY_LIMITER_QUEUE_TIMEOUT_MS";
+    public static final String MOJA_NODE_OUTBOX_WORKER_THREADS = "MOJA_NODE_OUTBOX_WORKER_THREADS";
+    public static final String MOJA_NODE_OUTBOX_BATCH_SIZE = "MOJA_NODE_OUTBOX_BATCH_SIZE";
+    public static final String MOJA_NODE_OUTBOX_LEASE_SECONDS = "MOJA_NODE_OUTBOX_LEASE_SECONDS";
+    public static final String MOJA_NODE_OUTBOX_MAX_ATTEMPTS = "MOJA_NODE_OUTBOX_MAX_ATTEMPTS";
+    public static final String MOJA_NODE_OUTBOX_BACKOFF_BASE_MS = "MOJA_NODE_OUTBOX_BACKOFF_BASE_MS";
+    public static final String MOJA_NODE_OUTBOX_BACKOFF_MAX_MS = "MOJA_NODE_OUTBOX_BACKOFF_MAX_MS";
+    public static final String MOJA_NODE_GATEWAY_STREAM_CHUNK_SIZE = "MOJA_NODE_GATEWAY_STREAM_CHUNK_SIZE";
+    public static final String MOJA_NODE_GATEWAY_MAX_LOGGED_BODY_BYTES = "MOJA_NODE_GATEWAY_MAX_LOGGED_BODY_BYTES";
+    public static final String MOJA_NODE_EXPORT_FETCH_SIZE = "MOJA_NODE_EXPORT_FETCH_SIZE";
+    public static final String MOJA_NODE_REPLICA_MAX_LAG_MS = "MOJA_NODE_REPLICA_MAX_LAG_MS";
+    public static final String MOJA_NODE_USER_LISTING_CACHE_MB = "MOJA_NODE_USER_LISTING_CACHE_MB";
+    public static final String MOJA_NODE_USER_LISTING_CACHE_SECONDS = "MOJA_NODE_USER_LISTING_CACHE_SECONDS";
+    public static final String MOJA_NODE_USER_SEARCH_MAX_CANDIDATES = "MOJA_NODE_USER_SEARCH_MAX_CANDIDATES";
+    public static final String MOJA_NODE_USER_IMPORT_CHUNK_SIZE = "MOJA_NODE_USER_IMPORT_CHUNK_SIZE";
+    public static final String MOJA_NODE_USER_IMPORT_JOB_THREADS = "MOJA_NODE_USER_IMPORT_JOB_THREADS";
+    public static final String MOJA_NODE_USER_IMPORT_WORKER_THREADS = "MOJA_NODE_USER_IMPORT_WORKER_THREADS";
+    public static final String MOJA_NODE_USER_IMPORT_MAX_MB = "MOJA_NODE_USER_IMPORT_MAX_MB";
+    public static final String MOJA_NODE_USER_IMPORT_MAX_REPORTED_ERRORS = "MOJA_NODE_USER_IMPORT_MAX_REPORTED_ERRORS";
+    public static final String MOJA_NODE_COMPANY_ONBOARDING_CHUNK_SIZE = "MOJA_NODE_COMPANY_ONBOARDING_CHUNK_SIZE";
+    public static final String MOJA_NODE_COMPANY_ONBOARDING_MAX_COMPANIES = "MOJA_NODE_COMPANY_ONBOARDING_MAX_COMPANIES";
+    public static final String MOJA_NODE_STARTUP_STEPS_CAPACITY = "MOJA_NODE_STARTUP_STEPS_CAPACITY";
+    public static final String MOJA_NODE_STARTUP_REPORT_PATH = "MOJA_NODE_STARTUP_REPORT_PATH";
+    public static final String MOJA_NODE_PHONE_NUMBER_CACHE_SIZE = "MOJA_NODE_PHONE_NUMBER_CACHE_SIZE";
+    public static final String MOJA_NODE_EXECUTION_MODE = "MOJA_NODE_EXECUTION_MODE";
+    public static final String MOJA_NODE_BANK_TRANSFER_BASE_URL = "MOJA_NODE_BANK_TRANSFER_BASE_URL";
 }
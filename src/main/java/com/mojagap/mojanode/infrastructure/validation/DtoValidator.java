@@ -0,0 +1,133 @@
+package com.mojagap.mojanode.infrastructure.validation;
+
+import com.mojagap.mojanode.infrastructure.PowerValidator;
+import com.mojagap.mojanode.infrastructure.exception.BadRequestException;
+import org.apache.commons.lang3.EnumUtils;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The validation rules of one DTO type, built once and kept in a static field of the DTO. Each rule is a plain
+ * predicate over precompiled patterns and precomputed enum names, applying the same checks as {@link PowerValidator}.
+ * {@link #validate} stops at the first broken rule by throwing, as the DTOs' {@code isValid} always have.
+ * {@link #collectErrors} checks every rule and returns what is broken without throwing, for bulk imports that report
+ * every problem of a row.
+ */
+public final class DtoValidator<T> {
+
+    private final Class<T> dtoType;
+    private final List<Rule<T>> rules;
+
+    private DtoValidator(Class<T> dtoType, List<Rule<T>> rules) {
+        this.dtoType = dtoType;
+        this.rules = List.copyOf(rules);
+    }
+
+    public static <T> Builder<T> forType(Class<T> dtoType) {
+        return new Builder<>(Objects.requireNonNull(dtoType));
+    }
+
+    public void validate(T dto) {
+        Objects.requireNonNull(dto, () -> "No " + dtoType.getSimpleName() + " to validate");
+        for (Rule<T> rule : rules) {
+            if (!rule.valid.test(dto)) {
+                throw new BadRequestException(rule.message);
+            }
+        }
+    }
+
+    public List<ValidationError> collectErrors(T dto) {
+        Objects.requireNonNull(dto, () -> "No " + dtoType.getSimpleName() + " to validate");
+        List<ValidationError> errors = null;
+        for (Rule<T> rule : rules) {
+            if (!rule.valid.test(dto)) {
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
+                errors.add(new ValidationError(rule.field, rule.message));
+            }
+        }
+        return errors == null ? List.of() : errors;
+    }
+
+    public static final class Builder<T> {
+
+        private final Class<T> dtoType;
+        private final List<Rule<T>> rules = new ArrayList<>();
+
+        private Builder(Class<T> dtoType) {
+            this.dtoType = dtoType;
+        }
+
+        public Builder<T> notNull(String field, Function<T, ?> value, String message) {
+            return rule(field, dto -> value.apply(dto) != null, message);
+        }
+
+        public Builder<T> notEmpty(String field, Function<T, ? extends Collection<?>> value, String message) {
+            return rule(field, dto -> !CollectionUtils.isEmpty(value.apply(dto)), message);
+        }
+
+        public Builder<T> length(String field, Function<T, String> value, int minLength, int maxLength, String message) {
+            return rule(field, dto -> PowerValidator.isValidStringLength(value.apply(dto), minLength, maxLength), message);
+        }
+
+        public Builder<T> email(String field, Function<T, String> value, String message) {
+            return rule(field, dto -> PowerValidator.isValidEmail(value.apply(dto)), message);
+        }
+
+        public Builder<T> password(String field, Function<T, String> value, String message) {
+            return rule(field, dto -> PowerValidator.isValidPassword(value.apply(dto)), message);
+        }
+
+        /**
+         * Only checks the value looks like a phone number, services normalize it for the account's region before
+         * storing it, which rejects numbers that are not valid there.
+         */
+        public Builder<T> phoneNumber(String field, Function<T, String> value, String message) {
+            return rule(field, dto -> PowerValidator.isViablePhoneNumber(value.apply(dto)), message);
+        }
+
+        public <E extends Enum<E>> Builder<T> oneOf(String field, Function<T, String> value, Class<E> enumType, String message) {
+            Set<String> names = Set.copyOf(EnumUtils.getEnumMap(enumType).keySet());
+            return rule(field, dto -> {
+                String name = value.apply(dto);
+                return name != null && names.contains(name);
+            }, message);
+        }
+
+        public DtoValidator<T> build() {
+            return new DtoValidator<>(dtoType, rules);
+        }
+
+        private Builder<T> rule(String field, Predicate<T> valid, String message) {
+            Objects.requireNonNull(field, () -> "Rule of " + dtoType.getSimpleName() + " without a field");
+            Objects.requireNonNull(message, () -> "Rule " + dtoType.getSimpleName() + "." + field + " without a message");
+            rules.add(new Rule<>(field, valid, message));
+            return this;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DtoValidator[" + dtoType.getSimpleName() + ", " + rules.size() + " rules]";
+    }
+
+    private static final class Rule<T> {
+        private final String field;
+        private final Predicate<T> valid;
+        private final String message;
+
+        private Rule(String field, Predicate<T> valid, String message) {
+            this.field = field;
+            this.valid = valid;
+            this.message = message;
+        }
+    }
+}
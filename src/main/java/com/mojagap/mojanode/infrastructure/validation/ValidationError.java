@@ -0,0 +1,14 @@
+package com.mojagap.mojanode.infrastructure.validation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidationError {
+    private String field;
+    private String message;
+}
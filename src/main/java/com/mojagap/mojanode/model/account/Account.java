@@ -63,7 +63,7 @@ public class Account extends AuditEntity {
         return email;
     }
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "approved_by")
     public AppUser getApprovedBy() {
         return approvedBy;
@@ -27,13 +27,13 @@ public class AuditEntity extends BaseEntity {
         return modifiedOn;
     }
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     public AppUser getCreatedBy() {
         return createdBy;
     }
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "modified_by")
     public AppUser getModifiedBy() {
         return modifiedBy;
@@ -1,6 +1,9 @@
 package com.mojagap.mojanode.model.common;
 
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.TableGenerator;
 
 import javax.persistence.*;
 import java.io.Serializable;
@@ -10,10 +13,29 @@ import java.util.Date;
 @MappedSuperclass
 @Setter
 public class BaseEntity implements Serializable {
+    public static final String ID_GENERATOR = "pooled_id";
+    public static final String ID_SEQUENCE_TABLE = "id_sequence";
+    public static final String ID_ALLOCATION_SIZE = "50";
+
     private Integer id;
 
+    /**
+     * Ids are allocated in blocks of {@link #ID_ALLOCATION_SIZE} from one {@link #ID_SEQUENCE_TABLE} row per entity
+     * table rather than by the column's AUTO_INCREMENT, so Hibernate knows an id before the INSERT runs and can
+     * batch inserts. Rows written outside Hibernate must take their ids from the same table. The id columns keep their
+     * AUTO_INCREMENT and {@link #ID_SEQUENCE_TABLE} is seeded once when it is created, so nodes of a release without it
+     * must not insert after that, the release that adds the table is deployed with all nodes stopped.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = ID_GENERATOR)
+    @GenericGenerator(name = ID_GENERATOR, strategy = "com.mojagap.mojanode.infrastructure.datasource.PooledIdGenerator", parameters = {
+            @Parameter(name = TableGenerator.TABLE_PARAM, value = ID_SEQUENCE_TABLE),
+            @Parameter(name = TableGenerator.SEGMENT_COLUMN_PARAM, value = "sequence_name"),
+            @Parameter(name = TableGenerator.VALUE_COLUMN_PARAM, value = "next_val"),
+            @Parameter(name = TableGenerator.CONFIG_PREFER_SEGMENT_PER_ENTITY, value = "true"),
+            @Parameter(name = TableGenerator.INCREMENT_PARAM, value = ID_ALLOCATION_SIZE),
+            @Parameter(name = TableGenerator.OPT_PARAM, value = "pooled-lo")
+    })
     @Column(name = "id")
     public Integer getId() {
         return id;
@@ -0,0 +1,48 @@
+package com.mojagap.mojanode.model.common;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.mojagap.mojanode.infrastructure.ErrorMessages;
+import com.mojagap.mojanode.infrastructure.exception.BadRequestException;
+import com.mojagap.mojanode.infrastructure.utility.CommonUtil;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last record of a keyset page: the sort value and id of that record together with the
+ * sort it was taken from. Clients only ever see it as an opaque token.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PageCursor {
+    private String sortBy;
+    private String sortOrder;
+    private String value;
+    private Integer id;
+
+    @SneakyThrows
+    public String encode() {
+        byte[] json = CommonUtil.OBJECT_MAPPER.writeValueAsBytes(this);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            PageCursor pageCursor = CommonUtil.OBJECT_MAPPER.readValue(json, PageCursor.class);
+            if (pageCursor.getId() == null || pageCursor.getSortBy() == null || pageCursor.getSortOrder() == null) {
+                throw new BadRequestException(ErrorMessages.INVALID_PAGE_CURSOR);
+            }
+            return pageCursor;
+        } catch (IllegalArgumentException | IOException ex) {
+            throw new BadRequestException(ErrorMessages.INVALID_PAGE_CURSOR);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.mojagap.mojanode.model.common;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -7,7 +8,13 @@ import java.util.List;
 
 @Data
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class RecordHolder<T> {
     private Integer totalRecords;
     private List<T> records;
+    private String nextCursor;
+
+    public RecordHolder(Integer totalRecords, List<T> records) {
+        this(totalRecords, records, null);
+    }
 }
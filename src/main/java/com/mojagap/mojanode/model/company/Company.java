@@ -2,12 +2,12 @@ package com.mojagap.mojanode.model.company;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.mojagap.mojanode.dto.company.CompanyDto;
+import com.mojagap.mojanode.dto.mapper.CompanyMapper;
 import com.mojagap.mojanode.infrastructure.utility.DateUtil;
 import com.mojagap.mojanode.model.account.Account;
 import com.mojagap.mojanode.model.common.AuditEntity;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.springframework.beans.BeanUtils;
 
 import javax.persistence.*;
 import javax.validation.constraints.Size;
@@ -29,7 +29,7 @@ public class Company extends AuditEntity {
     private Account account;
 
     public Company(CompanyDto companyDto) {
-        BeanUtils.copyProperties(companyDto, this);
+        CompanyMapper.INSTANCE.copyToEntity(companyDto, this);
     }
 
     @Column(name = "name")
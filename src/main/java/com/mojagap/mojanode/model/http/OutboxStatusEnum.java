@@ -0,0 +1,7 @@
+package com.mojagap.mojanode.model.http;
+
+public enum OutboxStatusEnum {
+    PENDING,
+    DELIVERED,
+    DEAD
+}
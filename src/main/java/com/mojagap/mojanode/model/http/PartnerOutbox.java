@@ -0,0 +1,107 @@
+package com.mojagap.mojanode.model.http;
+
+import com.mojagap.mojanode.model.common.ActionTypeEnum;
+import com.mojagap.mojanode.model.common.BaseEntity;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.util.Date;
+
+
+@Setter
+@Entity(name = "partner_outbox")
+@NoArgsConstructor
+public class PartnerOutbox extends BaseEntity {
+    private ActionTypeEnum actionType;
+    private String requestUrl;
+    private String requestMethod;
+    private String requestBody;
+    private String responseBody;
+    private OutboxStatusEnum status;
+    private Integer attempts;
+    private String lastError;
+    private Date nextAttemptAt;
+    private Date lockedUntil;
+    private Integer createdBy;
+    private Date createdOn;
+    private Date deliveredOn;
+    private Integer version;
+
+    @Column(name = "action_type")
+    @Enumerated(EnumType.STRING)
+    public ActionTypeEnum getActionType() {
+        return actionType;
+    }
+
+    @Column(name = "request_url")
+    public String getRequestUrl() {
+        return requestUrl;
+    }
+
+    @Column(name = "request_method")
+    public String getRequestMethod() {
+        return requestMethod;
+    }
+
+    @Column(name = "request_body")
+    public String getRequestBody() {
+        return requestBody;
+    }
+
+    @Column(name = "response_body")
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    public OutboxStatusEnum getStatus() {
+        return status;
+    }
+
+    @Column(name = "attempts")
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    @Column(name = "last_error")
+    public String getLastError() {
+        return lastError;
+    }
+
+    @Column(name = "next_attempt_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    public Date getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    @Column(name = "locked_until")
+    @Temporal(TemporalType.TIMESTAMP)
+    public Date getLockedUntil() {
+        return lockedUntil;
+    }
+
+    @Column(name = "created_by")
+    public Integer getCreatedBy() {
+        return createdBy;
+    }
+
+    @Column(name = "created_on")
+    @Temporal(TemporalType.TIMESTAMP)
+    public Date getCreatedOn() {
+        return createdOn;
+    }
+
+    @Column(name = "delivered_on")
+    @Temporal(TemporalType.TIMESTAMP)
+    public Date getDeliveredOn() {
+        return deliveredOn;
+    }
+
+    @Version
+    @Column(name = "version")
+    public Integer getVersion() {
+        return version;
+    }
+}
@@ -5,7 +5,10 @@ import com.mojagap.mojanode.model.common.BaseEntity;
 import com.mojagap.mojanode.model.common.EntityTypeEnum;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
@@ -14,8 +17,14 @@ import javax.persistence.Enumerated;
 
 @Setter
 @Entity(name = "permission")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = Permission.CACHE_REGION)
 @NoArgsConstructor
 public class Permission extends BaseEntity {
+
+    public static final String CACHE_REGION = "permission";
+    public static final String BY_NAME_CACHE_REGION = "permission-by-name";
+
     private String name;
     private EntityTypeEnum entityType;
     private ActionTypeEnum actionType;
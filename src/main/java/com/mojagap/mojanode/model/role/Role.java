@@ -7,6 +7,8 @@ import com.mojagap.mojanode.model.account.Account;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -14,9 +16,15 @@ import java.util.List;
 
 @Setter
 @Entity(name = "role")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Role.CACHE_REGION)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Role extends BaseEntity {
+
+    public static final String CACHE_REGION = "role";
+    public static final String PERMISSIONS_CACHE_REGION = "role.permissions";
+
     private String name;
     private String description;
     private AuditEntity.RecordStatus status = AuditEntity.RecordStatus.ACTIVE;
@@ -58,7 +66,8 @@ public class Role extends BaseEntity {
     @JoinTable(name = "role_permission", joinColumns = {
             @JoinColumn(name = "role_id", referencedColumnName = "id")}, inverseJoinColumns = {
             @JoinColumn(name = "permission_id", referencedColumnName = "id")})
-    @OneToMany(targetEntity = Permission.class, fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    @ManyToMany(targetEntity = Permission.class, fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Role.PERMISSIONS_CACHE_REGION)
     public List<Permission> getPermissions() {
         return permissions;
     }
@@ -1,5 +1,6 @@
 package com.mojagap.mojanode.model.user;
 
+import com.mojagap.mojanode.dto.mapper.AppUserMapper;
 import com.mojagap.mojanode.dto.user.AppUserDto;
 import com.mojagap.mojanode.model.account.Account;
 import com.mojagap.mojanode.model.common.AuditEntity;
@@ -7,15 +8,26 @@ import com.mojagap.mojanode.model.company.Company;
 import com.mojagap.mojanode.model.role.Role;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.springframework.beans.BeanUtils;
 
 import javax.persistence.*;
 import java.util.Date;
 
 @Setter
 @Entity(name = "app_user")
+@NamedEntityGraph(name = AppUser.AUTHORIZATION_GRAPH, attributeNodes = {
+        @NamedAttributeNode("account"),
+        @NamedAttributeNode("company"),
+        @NamedAttributeNode("role")
+})
 @NoArgsConstructor
 public class AppUser extends AuditEntity {
+
+    /**
+     * Everything the security filter, login and the logged in user's request need, loaded in one statement. The
+     * role's permissions are left out of the join so that they are served from the second-level cache.
+     */
+    public static final String AUTHORIZATION_GRAPH = "AppUser.authorization";
+
     private String firstName;
     private String lastName;
     private Date dateOfBirth;
@@ -30,7 +42,7 @@ public class AppUser extends AuditEntity {
     private Role role;
 
     public AppUser(AppUserDto appUserDto) {
-        BeanUtils.copyProperties(appUserDto, this);
+        AppUserMapper.INSTANCE.copyToEntity(appUserDto, this);
     }
 
     @Column(name = "first_name")
@@ -0,0 +1,79 @@
+package com.mojagap.mojanode.model.user;
+
+import com.mojagap.mojanode.model.common.BaseEntity;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.util.Date;
+
+
+@Setter
+@Entity(name = "user_import")
+@NoArgsConstructor
+public class UserImport extends BaseEntity {
+    private String jobId;
+    private Integer accountId;
+    private UserImportStatusEnum status;
+    private Long rowsRead;
+    private Long rowsImported;
+    private Long rowsFailed;
+    private String failureReason;
+    private Date createdOn;
+    private Date startedOn;
+    private Date finishedOn;
+
+    @Column(name = "job_id")
+    public String getJobId() {
+        return jobId;
+    }
+
+    @Column(name = "account_id")
+    public Integer getAccountId() {
+        return accountId;
+    }
+
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    public UserImportStatusEnum getStatus() {
+        return status;
+    }
+
+    @Column(name = "rows_read")
+    public Long getRowsRead() {
+        return rowsRead;
+    }
+
+    @Column(name = "rows_imported")
+    public Long getRowsImported() {
+        return rowsImported;
+    }
+
+    @Column(name = "rows_failed")
+    public Long getRowsFailed() {
+        return rowsFailed;
+    }
+
+    @Column(name = "failure_reason")
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    @Column(name = "created_on")
+    @Temporal(TemporalType.TIMESTAMP)
+    public Date getCreatedOn() {
+        return createdOn;
+    }
+
+    @Column(name = "started_on")
+    @Temporal(TemporalType.TIMESTAMP)
+    public Date getStartedOn() {
+        return startedOn;
+    }
+
+    @Column(name = "finished_on")
+    @Temporal(TemporalType.TIMESTAMP)
+    public Date getFinishedOn() {
+        return finishedOn;
+    }
+}
@@ -0,0 +1,45 @@
+package com.mojagap.mojanode.model.user;
+
+import com.mojagap.mojanode.model.common.BaseEntity;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+
+
+@Setter
+@Entity(name = "user_import_error")
+@NoArgsConstructor
+public class UserImportError extends BaseEntity {
+    private Integer userImportId;
+    private Long rowNumber;
+    private String email;
+    private String message;
+
+    public UserImportError(Long rowNumber, String email, String message) {
+        this.rowNumber = rowNumber;
+        this.email = email;
+        this.message = message;
+    }
+
+    @Column(name = "user_import_id")
+    public Integer getUserImportId() {
+        return userImportId;
+    }
+
+    @Column(name = "row_no")
+    public Long getRowNumber() {
+        return rowNumber;
+    }
+
+    @Column(name = "email")
+    public String getEmail() {
+        return email;
+    }
+
+    @Column(name = "message")
+    public String getMessage() {
+        return message;
+    }
+}
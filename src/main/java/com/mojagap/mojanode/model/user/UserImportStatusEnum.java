@@ -0,0 +1,8 @@
+package com.mojagap.mojanode.model.user;
+
+public enum UserImportStatusEnum {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,27 @@
+package com.mojagap.mojanode.repository.http;
+
+import com.mojagap.mojanode.model.http.PartnerOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PartnerOutboxRepository extends JpaRepository<PartnerOutbox, Integer> {
+
+    /**
+     * Takes {@code now} from the caller rather than the database, as the leases and the next attempts it is
+     * compared with are written from the application's clock.
+     */
+    @Query(nativeQuery = true, value = "SELECT * FROM partner_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "AND (locked_until IS NULL OR locked_until < :now) ORDER BY next_attempt_at LIMIT :batchSize FOR UPDATE SKIP LOCKED")
+    List<PartnerOutbox> findDueForDeliveryForUpdate(@Param("now") Date now, @Param("batchSize") int batchSize);
+
+    @Query("SELECT partnerOutbox FROM partner_outbox partnerOutbox, app_user appUser " +
+            "WHERE partnerOutbox.id = :id AND appUser.id = partnerOutbox.createdBy AND appUser.account.id = :accountId")
+    Optional<PartnerOutbox> findByIdAndAccountId(@Param("id") Integer id, @Param("accountId") Integer accountId);
+}
@@ -3,10 +3,15 @@ package com.mojagap.mojanode.repository.role;
 
 import com.mojagap.mojanode.model.role.Permission;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+
 @Repository
 public interface PermissionRepository extends JpaRepository<Permission, Integer> {
 
+    @QueryHints({@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHE_REGION, value = Permission.BY_NAME_CACHE_REGION)})
     Permission findOneByName(String name);
 }
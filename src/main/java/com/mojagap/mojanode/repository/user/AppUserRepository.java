@@ -1,11 +1,25 @@
 package com.mojagap.mojanode.repository.user;
 
 import com.mojagap.mojanode.model.user.AppUser;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
 @Repository
 public interface AppUserRepository extends JpaRepository<AppUser, Integer> {
 
+    @EntityGraph(AppUser.AUTHORIZATION_GRAPH)
     AppUser findOneByEmail(String email);
+
+    @EntityGraph(AppUser.AUTHORIZATION_GRAPH)
+    Optional<AppUser> findWithAuthorizationById(Integer id);
+
+    @Query("SELECT appUser.email FROM app_user appUser WHERE appUser.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
@@ -0,0 +1,13 @@
+package com.mojagap.mojanode.repository.user;
+
+import com.mojagap.mojanode.model.user.UserImportError;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserImportErrorRepository extends JpaRepository<UserImportError, Integer> {
+
+    List<UserImportError> findByUserImportIdOrderByRowNumber(Integer userImportId);
+}
@@ -0,0 +1,13 @@
+package com.mojagap.mojanode.repository.user;
+
+import com.mojagap.mojanode.model.user.UserImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserImportRepository extends JpaRepository<UserImport, Integer> {
+
+    Optional<UserImport> findByJobIdAndAccountId(String jobId, Integer accountId);
+}
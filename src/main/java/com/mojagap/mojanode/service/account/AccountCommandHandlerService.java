@@ -3,8 +3,9 @@ package com.mojagap.mojanode.service.account;
 import com.mojagap.mojanode.controller.ActionResponse;
 import com.mojagap.mojanode.dto.account.AccountDto;
 import com.mojagap.mojanode.dto.company.CompanyDto;
-import com.mojagap.mojanode.dto.role.PermissionDto;
-import com.mojagap.mojanode.dto.role.RoleDto;
+import com.mojagap.mojanode.dto.mapper.AppUserMapper;
+import com.mojagap.mojanode.dto.mapper.CompanyMapper;
+import com.mojagap.mojanode.dto.mapper.RoleMapper;
 import com.mojagap.mojanode.dto.user.AppUserDto;
 import com.mojagap.mojanode.infrastructure.AppContext;
 import com.mojagap.mojanode.infrastructure.ApplicationConstants;
@@ -13,6 +14,7 @@ import com.mojagap.mojanode.infrastructure.PowerValidator;
 import com.mojagap.mojanode.infrastructure.security.AppUserDetails;
 import com.mojagap.mojanode.model.account.Account;
 import com.mojagap.mojanode.model.account.AccountType;
+import com.mojagap.mojanode.model.account.CountryCode;
 import com.mojagap.mojanode.model.common.AuditEntity;
 import com.mojagap.mojanode.model.company.Company;
 import com.mojagap.mojanode.model.role.CommonPermissions;
@@ -25,12 +27,13 @@ import com.mojagap.mojanode.repository.role.PermissionRepository;
 import com.mojagap.mojanode.repository.role.RoleRepository;
 import com.mojagap.mojanode.repository.user.AppUserRepository;
 import com.mojagap.mojanode.service.account.interfaces.AccountCommandHandler;
+import com.mojagap.mojanode.service.phone.PhoneNumberService;
+import com.mojagap.mojanode.service.user.search.AppUserSavedEvent;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -41,7 +44,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletResponse;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class AccountCommandHandlerService implements AccountCommandHandler {
@@ -65,7 +67,10 @@ public class AccountCommandHandlerService implements AccountCommandHandler {
     private CompanyRepository companyRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private PhoneNumberService phoneNumberService;
 
     @Autowired
     AuthenticationManager authenticationManager;
@@ -79,6 +84,8 @@ public class AccountCommandHandlerService implements AccountCommandHandler {
         accountDto.isValid();
         AppUserDto appUserDto = accountDto.getUsers().get(0);
         appUserDto.isValid();
+        CountryCode countryCode = CountryCode.getByCode(accountDto.getCountryCode());
+        appUserDto.setPhoneNumber(phoneNumberService.normalize(appUserDto.getPhoneNumber(), countryCode));
         AppUser appUser = new AppUser(appUserDto);
         AppContext.stamp(appUser);
         appUser.setModifiedBy(appUser);
@@ -107,6 +114,7 @@ public class AccountCommandHandlerService implements AccountCommandHandler {
                 PowerValidator.notEmpty(accountDto.getCompanies(), ErrorMessages.COMPANY_DETAILS_REQUIRED);
                 CompanyDto companyDto = accountDto.getCompanies().get(0);
                 companyDto.isValid();
+                companyDto.setPhoneNumber(phoneNumberService.normalize(companyDto.getPhoneNumber(), countryCode));
                 account.setAddress(companyDto.getAddress());
                 account.setEmail(companyDto.getEmail());
                 account.setContactPhoneNumber(companyDto.getPhoneNumber());
@@ -116,7 +124,7 @@ public class AccountCommandHandlerService implements AccountCommandHandler {
                 Role superAdminRole = new Role(ApplicationConstants.DEFAULT_ROLE_NAME, ApplicationConstants.DEFAULT_ROLE_DESCRIPTION, account, AuditEntity.RecordStatus.ACTIVE, Collections.singletonList(superPermission));
                 appUser.setRole(superAdminRole);
 
-                Company company = modelMapper.map(companyDto, Company.class);
+                Company company = CompanyMapper.INSTANCE.toEntity(companyDto);
                 company.setAccount(account);
                 AppContext.stamp(company);
                 appUser.setCompany(company);
@@ -128,6 +136,7 @@ public class AccountCommandHandlerService implements AccountCommandHandler {
             default -> throw new UnsupportedOperationException("The account Type provided is not accepted here");
         }
         accountRepository.save(account);
+        applicationEventPublisher.publishEvent(new AppUserSavedEvent(List.of(appUser)));
         appUserDto.setPassword(rawPassword);
         return authenticateUser(appUserDto);
     }
@@ -139,17 +148,11 @@ public class AccountCommandHandlerService implements AccountCommandHandler {
         AppUser appUser = ((AppUserDetails) authentication.getPrincipal()).getAppUser();
         String authenticationToken = generateAuthenticationToken(appUser);
         appUserDto.setAuthentication(authenticationToken);
-        BeanUtils.copyProperties(appUser, appUserDto);
+        AppUserMapper.INSTANCE.copyToDto(appUser, appUserDto);
         appUserDto.setPassword(null);
 
         if (EnumSet.of(AccountType.BACK_OFFICE, AccountType.COMPANY).contains(appUser.getAccount().getAccountType())) {
-            RoleDto roleDto = modelMapper.map(appUser.getRole(), RoleDto.class);
-            List<PermissionDto> permissionDtoList = appUser.getRole().getPermissions()
-                    .stream()
-                    .map(permission -> modelMapper.map(permission, PermissionDto.class))
-                    .collect(Collectors.toList());
-            roleDto.setPermissions(permissionDtoList);
-            appUserDto.setRole(roleDto);
+            appUserDto.setRole(RoleMapper.INSTANCE.toDto(appUser.getRole()));
         }
         Company company = appUser.getCompany();
         if (company != null) {
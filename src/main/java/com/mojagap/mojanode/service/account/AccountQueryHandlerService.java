@@ -5,11 +5,13 @@ import com.mojagap.mojanode.model.common.RecordHolder;
 import com.mojagap.mojanode.service.account.interfaces.AccountQueryHandler;
 import liquibase.changelog.RanChangeSet;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
 
 @Service
+@Transactional(readOnly = true)
 public class AccountQueryHandlerService implements AccountQueryHandler {
 
     @Override
@@ -3,41 +3,63 @@ package com.mojagap.mojanode.service.company;
 
 import com.mojagap.mojanode.controller.ActionResponse;
 import com.mojagap.mojanode.dto.company.CompanyDto;
+import com.mojagap.mojanode.dto.company.CompanyOnboardingResultDto;
 import com.mojagap.mojanode.dto.user.AppUserDto;
 import com.mojagap.mojanode.infrastructure.AppContext;
 import com.mojagap.mojanode.infrastructure.ApplicationConstants;
 import com.mojagap.mojanode.infrastructure.ErrorMessages;
+import com.mojagap.mojanode.infrastructure.PowerValidator;
 import com.mojagap.mojanode.infrastructure.exception.BadRequestException;
+import com.mojagap.mojanode.infrastructure.validation.ValidationError;
 import com.mojagap.mojanode.model.account.Account;
+import com.mojagap.mojanode.model.account.CountryCode;
 import com.mojagap.mojanode.model.common.AuditEntity;
 import com.mojagap.mojanode.model.company.Company;
 import com.mojagap.mojanode.model.role.CommonPermissions;
 import com.mojagap.mojanode.model.role.Permission;
 import com.mojagap.mojanode.model.role.Role;
 import com.mojagap.mojanode.model.user.AppUser;
+import com.mojagap.mojanode.repository.account.AccountRepository;
 import com.mojagap.mojanode.repository.company.CompanyRepository;
 import com.mojagap.mojanode.repository.role.PermissionRepository;
 import com.mojagap.mojanode.repository.role.RoleRepository;
+import com.mojagap.mojanode.repository.user.AppUserRepository;
 import com.mojagap.mojanode.service.company.interfaces.CompanyCommandHandler;
-import com.mojagap.mojanode.service.user.UserCommandService;
+import com.mojagap.mojanode.service.phone.PhoneNumberService;
+import com.mojagap.mojanode.service.user.search.AppUserSavedEvent;
+import lombok.SneakyThrows;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 @Service
 public class CompanyCommandService implements CompanyCommandHandler {
 
+    private static final Logger LOG = Logger.getLogger(CompanyCommandService.class.getName());
+
     @Autowired
     private CompanyRepository companyRepository;
 
     @Autowired
-    private UserCommandService userCommandService;
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
 
     @Autowired
     private RoleRepository roleRepository;
@@ -48,31 +70,233 @@ public class CompanyCommandService implements CompanyCommandHandler {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    @Qualifier("userImportWorkerExecutor")
+    private ExecutorService passwordHashingExecutor;
+
+    @Autowired
+    private PhoneNumberService phoneNumberService;
+
 
     @Transactional
     @Override
     public ActionResponse createCompany(CompanyDto companyDto) {
         AppUser loggedInUser = AppContext.getLoggedInUser();
-        List<AppUserDto> userSummaries = companyDto.getAppUsers();
-        if (CollectionUtils.isEmpty(userSummaries)) {
+        if (CollectionUtils.isEmpty(companyDto.getAppUsers())) {
             throw new BadRequestException(ErrorMessages.USER_REQUIRED_WHEN_CREATING_ACCOUNT);
         }
-        Company company = new Company(companyDto);
-        Account account = loggedInUser.getAccount();
+        normalizePhoneNumbers(companyDto, loggedInUser.getAccount().getCountryCode());
+        Account account = accountRepository.getById(loggedInUser.getAccount().getId());
         Permission superPermission = permissionRepository.findOneByName(CommonPermissions.SUPER_PERMISSION.name());
+        List<String> passwordHashes = companyDto.getAppUsers().stream().map(user -> passwordEncoder.encode(user.getPassword())).collect(Collectors.toList());
+        List<AppUser> appUsers = newCompanyUsers(companyDto, account, superPermission, passwordHashes);
+        save(appUsers);
+        Company company = appUsers.get(0).getCompany();
+        companyRepository.flush();
+        saved(account.getId(), appUsers);
+        return new ActionResponse(company.getId());
+    }
+
+    /**
+     * Onboards many companies for the logged in user's account, each with its own super administrator role and
+     * users as {@link #createCompany(CompanyDto)} would. The super permission is resolved once, the passwords of a
+     * chunk of {@code COMPANY_ONBOARDING_CHUNK_SIZE} companies are hashed in parallel and the chunk is written in one
+     * batched transaction. When that transaction hits a constraint, the chunk is retried a company at a time so that
+     * only the offending companies fail. There is one result per company, in request order.
+     */
+    @Override
+    public List<CompanyOnboardingResultDto> createCompanies(List<CompanyDto> companyDtos) {
+        PowerValidator.notEmpty(companyDtos, ErrorMessages.COMPANIES_REQUIRED);
+        if (companyDtos.size() > ApplicationConstants.COMPANY_ONBOARDING_MAX_COMPANIES) {
+            throw new BadRequestException(String.format(ErrorMessages.TOO_MANY_COMPANIES, ApplicationConstants.COMPANY_ONBOARDING_MAX_COMPANIES));
+        }
+        Integer accountId = AppContext.getLoggedInUser().getAccount().getId();
+        CountryCode countryCode = AppContext.getLoggedInUser().getAccount().getCountryCode();
+        Integer superPermissionId = permissionRepository.findOneByName(CommonPermissions.SUPER_PERMISSION.name()).getId();
+        List<CompanyOnboardingResultDto> results = new ArrayList<>(companyDtos.size());
+        Set<String> claimedNames = new HashSet<>();
+        Set<String> claimedEmails = new HashSet<>();
+        Set<String> claimedUserEmails = new HashSet<>();
+        for (int index = 0; index < companyDtos.size(); index++) {
+            CompanyDto companyDto = companyDtos.get(index);
+            CompanyOnboardingResultDto result = new CompanyOnboardingResultDto(index, companyDto.getName(), null, null);
+            results.add(result);
+            List<AppUserDto> appUserDtos = companyDto.getAppUsers();
+            if (CollectionUtils.isEmpty(appUserDtos)) {
+                result.setError(ErrorMessages.USER_REQUIRED_WHEN_CREATING_ACCOUNT);
+                continue;
+            }
+            List<ValidationError> errors = validationErrors(companyDto);
+            if (!errors.isEmpty()) {
+                result.setError(errors.stream().map(ValidationError::getMessage).distinct().collect(Collectors.joining("; ")));
+                continue;
+            }
+            // validation has rejected null names and emails, so none reach the claimed sets
+            String name = normalize(companyDto.getName());
+            String email = normalize(companyDto.getEmail());
+            Set<String> userEmails = appUserDtos.stream().map(user -> normalize(user.getEmail())).collect(Collectors.toSet());
+            if (claimedNames.contains(name) || claimedEmails.contains(email)) {
+                result.setError(ErrorMessages.DUPLICATE_COMPANY_IN_REQUEST);
+            } else if (userEmails.size() < appUserDtos.size() || userEmails.stream().anyMatch(claimedUserEmails::contains)) {
+                result.setError(ErrorMessages.EMAIL_ALREADY_REGISTERED);
+            } else {
+                try {
+                    normalizePhoneNumbers(companyDto, countryCode);
+                    claimedNames.add(name);
+                    claimedEmails.add(email);
+                    claimedUserEmails.addAll(userEmails);
+                } catch (BadRequestException ex) {
+                    result.setError(ex.getMessage());
+                }
+            }
+        }
+        for (int from = 0; from < companyDtos.size(); from += ApplicationConstants.COMPANY_ONBOARDING_CHUNK_SIZE) {
+            int to = Math.min(from + ApplicationConstants.COMPANY_ONBOARDING_CHUNK_SIZE, companyDtos.size());
+            onboardChunk(accountId, superPermissionId, companyDtos, results.subList(from, to));
+        }
+        return results;
+    }
+
+    private static List<ValidationError> validationErrors(CompanyDto companyDto) {
+        List<ValidationError> errors = new ArrayList<>(companyDto.validationErrors());
+        companyDto.getAppUsers().forEach(user -> errors.addAll(user.validationErrors()));
+        return errors;
+    }
+
+    private void normalizePhoneNumbers(CompanyDto companyDto, CountryCode region) {
+        companyDto.setPhoneNumber(phoneNumberService.normalize(companyDto.getPhoneNumber(), region));
+        companyDto.getAppUsers().forEach(user -> user.setPhoneNumber(phoneNumberService.normalize(user.getPhoneNumber(), region)));
+    }
+
+    private void onboardChunk(Integer accountId, Integer superPermissionId, List<CompanyDto> companyDtos, List<CompanyOnboardingResultDto> chunk) {
+        List<String> userEmails = chunk.stream().filter(result -> result.getError() == null)
+                .flatMap(result -> companyDtos.get(result.getIndex()).getAppUsers().stream()).map(AppUserDto::getEmail).collect(Collectors.toList());
+        Set<String> takenEmails = userEmails.isEmpty() ? Set.of() : appUserRepository.findExistingEmails(userEmails);
+        List<CompanyOnboardingResultDto> pending = new ArrayList<>();
+        for (CompanyOnboardingResultDto result : chunk) {
+            if (result.getError() == null && companyDtos.get(result.getIndex()).getAppUsers().stream().anyMatch(user -> takenEmails.contains(user.getEmail()))) {
+                result.setError(ErrorMessages.EMAIL_ALREADY_REGISTERED);
+            } else if (result.getError() == null) {
+                pending.add(result);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<String>> passwordHashes = hashPasswords(companyDtos, pending);
+        pending.removeIf(result -> result.getError() != null);
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            insert(accountId, superPermissionId, companyDtos, pending, passwordHashes);
+        } catch (DataIntegrityViolationException ex) {
+            for (CompanyOnboardingResultDto result : pending) {
+                try {
+                    insert(accountId, superPermissionId, companyDtos, List.of(result), passwordHashes);
+                } catch (DataIntegrityViolationException companyException) {
+                    LOG.log(Level.WARNING, "Company " + result.getName() + " rejected: " + companyException.getMostSpecificCause().getMessage());
+                    result.setError(ErrorMessages.COMPANY_REJECTED);
+                }
+            }
+        }
+    }
+
+    private void insert(Integer accountId, Integer superPermissionId, List<CompanyDto> companyDtos, List<CompanyOnboardingResultDto> results, Map<Integer, List<String>> passwordHashes) {
+        List<List<AppUser>> companyUsers = new TransactionTemplate(transactionManager).execute(status -> {
+            Account account = accountRepository.getById(accountId);
+            Permission superPermission = permissionRepository.getById(superPermissionId);
+            List<List<AppUser>> newCompanyUsers = new ArrayList<>();
+            for (CompanyOnboardingResultDto result : results) {
+                List<AppUser> appUsers = newCompanyUsers(companyDtos.get(result.getIndex()), account, superPermission, passwordHashes.get(result.getIndex()));
+                save(appUsers);
+                newCompanyUsers.add(appUsers);
+            }
+            companyRepository.flush();
+            return newCompanyUsers;
+        });
+        for (int index = 0; index < results.size(); index++) {
+            List<AppUser> appUsers = companyUsers.get(index);
+            results.get(index).setCompanyId(appUsers.get(0).getCompany().getId());
+            saved(accountId, appUsers);
+        }
+    }
+
+    /**
+     * Hashes the passwords of every user of the pending companies on the bounded BCrypt pool, keyed by company index.
+     * A company whose hashing fails gets the error on its result and no entry, the other companies carry on.
+     */
+    @SneakyThrows(InterruptedException.class)
+    private Map<Integer, List<String>> hashPasswords(List<CompanyDto> companyDtos, List<CompanyOnboardingResultDto> pending) {
+        Map<CompanyOnboardingResultDto, List<Future<String>>> futures = new LinkedHashMap<>();
+        for (CompanyOnboardingResultDto result : pending) {
+            futures.put(result, companyDtos.get(result.getIndex()).getAppUsers().stream()
+                    .map(user -> passwordHashingExecutor.submit(() -> passwordEncoder.encode(user.getPassword())))
+                    .collect(Collectors.toList()));
+        }
+        Map<Integer, List<String>> passwordHashes = new HashMap<>();
+        for (Map.Entry<CompanyOnboardingResultDto, List<Future<String>>> entry : futures.entrySet()) {
+            CompanyOnboardingResultDto result = entry.getKey();
+            try {
+                List<String> hashes = new ArrayList<>();
+                for (Future<String> future : entry.getValue()) {
+                    hashes.add(future.get());
+                }
+                passwordHashes.put(result.getIndex(), hashes);
+            } catch (ExecutionException ex) {
+                LOG.log(Level.WARNING, "Company " + result.getName() + " failed", ex.getCause());
+                result.setError(ErrorMessages.COMPANY_ONBOARDING_FAILED);
+            }
+        }
+        return passwordHashes;
+    }
+
+    /**
+     * Builds a company of {@code account} with its own super administrator role and users. The first user is
+     * recorded as the creator of the company and of every user.
+     */
+    private List<AppUser> newCompanyUsers(CompanyDto companyDto, Account account, Permission superPermission, List<String> passwordHashes) {
         Role superAdminRole = new Role(ApplicationConstants.DEFAULT_ROLE_NAME, ApplicationConstants.DEFAULT_ROLE_DESCRIPTION, account, AuditEntity.RecordStatus.ACTIVE, Collections.singletonList(superPermission));
-        roleRepository.save(superAdminRole);
-        List<AppUser> appUsers = userSummaries.stream().map(AppUser::new).collect(Collectors.toList());
-        appUsers.forEach(user -> {
-            user.setCreatedBy(appUsers.get(0));
-            user.setModifiedBy(appUsers.get(0));
+        Company company = new Company(companyDto);
+        company.setAccount(account);
+        List<AppUser> appUsers = companyDto.getAppUsers().stream().map(AppUser::new).collect(Collectors.toList());
+        AppUser creator = appUsers.get(0);
+        for (int index = 0; index < appUsers.size(); index++) {
+            AppUser user = appUsers.get(index);
+            AppContext.stamp(user);
+            user.setCreatedBy(creator);
+            user.setModifiedBy(creator);
+            user.setAccount(account);
+            user.setCompany(company);
             user.setRole(superAdminRole);
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
-        });
-        company.setCreatedBy(appUsers.get(0));
-        company.setModifiedBy(appUsers.get(0));
-        companyRepository.saveAndFlush(company);
-        return new ActionResponse(company.getId());
+            user.setVerified(Boolean.FALSE);
+            user.setPassword(passwordHashes.get(index));
+        }
+        AppContext.stamp(company);
+        company.setCreatedBy(creator);
+        company.setModifiedBy(creator);
+        return appUsers;
+    }
+
+    private void save(List<AppUser> appUsers) {
+        AppUser creator = appUsers.get(0);
+        roleRepository.save(creator.getRole());
+        companyRepository.save(creator.getCompany());
+        appUserRepository.saveAll(appUsers);
     }
 
+    private void saved(Integer accountId, List<AppUser> appUsers) {
+        applicationEventPublisher.publishEvent(new CompanySavedEvent(accountId, appUsers.get(0).getCompany()));
+        applicationEventPublisher.publishEvent(new AppUserSavedEvent(appUsers));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -4,12 +4,14 @@ package com.mojagap.mojanode.service.company;
 import com.mojagap.mojanode.dto.company.CompanyDto;
 import com.mojagap.mojanode.service.company.interfaces.CompanyQueryHandler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 @Service
+@Transactional(readOnly = true)
 public class CompanyQueryService implements CompanyQueryHandler {
 
     @Override
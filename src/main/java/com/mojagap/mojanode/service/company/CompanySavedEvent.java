@@ -0,0 +1,12 @@
+package com.mojagap.mojanode.service.company;
+
+import com.mojagap.mojanode.model.company.Company;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CompanySavedEvent {
+    private final Integer accountId;
+    private final Company company;
+}
@@ -2,8 +2,13 @@ package com.mojagap.mojanode.service.company.interfaces;
 
 import com.mojagap.mojanode.controller.ActionResponse;
 import com.mojagap.mojanode.dto.company.CompanyDto;
+import com.mojagap.mojanode.dto.company.CompanyOnboardingResultDto;
+
+import java.util.List;
 
 public interface CompanyCommandHandler {
 
     ActionResponse createCompany(CompanyDto companyDto);
+
+    List<CompanyOnboardingResultDto> createCompanies(List<CompanyDto> companyDtos);
 }
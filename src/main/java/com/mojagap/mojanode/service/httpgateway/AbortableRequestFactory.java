@@ -0,0 +1,98 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Request factory of a single attempt that another thread can abort. Interrupting the attempt's thread does not
+ * stop a blocking {@link HttpURLConnection} read, disconnecting does: the read fails at once with an
+ * {@link AbortedException}, so the attempt releases its partner limit slot and finishes its call log.
+ */
+class AbortableRequestFactory extends SimpleClientHttpRequestFactory {
+
+    private final List<HttpURLConnection> connections = new CopyOnWriteArrayList<>();
+    private volatile boolean aborted;
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new AbortableRequest(super.createRequest(uri, httpMethod));
+    }
+
+    @Override
+    protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+        super.prepareConnection(connection, httpMethod);
+        connections.add(connection);
+        if (aborted) {
+            throw new AbortedException("Attempt aborted before connecting to " + connection.getURL());
+        }
+    }
+
+    void abort() {
+        aborted = true;
+        connections.forEach(HttpURLConnection::disconnect);
+    }
+
+    /**
+     * Thrown by a request whose attempt was aborted, it says nothing about the partner's health.
+     */
+    public static class AbortedException extends IOException {
+
+        AbortedException(String message) {
+            super(message);
+        }
+
+        AbortedException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private class AbortableRequest implements ClientHttpRequest {
+        private final ClientHttpRequest request;
+
+        private AbortableRequest(ClientHttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            try {
+                return request.execute();
+            } catch (IOException ex) {
+                if (aborted) {
+                    throw new AbortedException("Attempt to " + request.getURI() + " aborted", ex);
+                }
+                throw ex;
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public String getMethodValue() {
+            return request.getMethodValue();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Vegas style concurrency limit for one partner. The lowest RTT seen is taken as the no-queueing RTT and the
+ * number of requests queued at the partner is estimated as {@code limit * (1 - minRtt / rtt)}. The limit grows
+ * by one while that estimate is small and shrinks by one when it is large, and is cut multiplicatively when a
+ * request is dropped (IO error, 429 or 5xx). The min RTT is re-sampled periodically so that a partner that has
+ * permanently slowed down is not throttled forever.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int MIN_LIMIT = 1;
+    private static final int ALPHA = 3;
+    private static final int BETA = 6;
+    private static final double DROP_BACKOFF_RATIO = 0.9;
+    private static final int MIN_RTT_RESET_SAMPLES = 1000;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotReleased = lock.newCondition();
+    private final int maxLimit;
+
+    private double limit;
+    private int inFlight;
+    private long minRttNanos = Long.MAX_VALUE;
+    private int samplesSinceMinRttReset;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int maxLimit) {
+        this.limit = initialLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long remainingNanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                remainingNanos = slotReleased.awaitNanos(remainingNanos);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess(long rttNanos) {
+        lock.lock();
+        try {
+            boolean saturated = inFlight * 2 >= (int) limit;
+            inFlight--;
+            if (++samplesSinceMinRttReset >= MIN_RTT_RESET_SAMPLES) {
+                samplesSinceMinRttReset = 0;
+                minRttNanos = rttNanos;
+            } else {
+                minRttNanos = Math.min(minRttNanos, rttNanos);
+            }
+            double queued = limit * (1 - (double) minRttNanos / Math.max(rttNanos, 1));
+            if (queued < ALPHA && saturated) {
+                limit = Math.min(maxLimit, limit + 1);
+            } else if (queued > BETA) {
+                limit = Math.max(MIN_LIMIT, limit - 1);
+            }
+            slotReleased.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onDropped() {
+        lock.lock();
+        try {
+            inFlight--;
+            limit = Math.max(MIN_LIMIT, limit * DROP_BACKOFF_RATIO);
+            slotReleased.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onIgnored() {
+        lock.lock();
+        try {
+            inFlight--;
+            slotReleased.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,82 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import com.mojagap.mojanode.infrastructure.ErrorMessages;
+import com.mojagap.mojanode.infrastructure.exception.ServiceUnavailableException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds a slot of the partner's adaptive limit from sending the request until the response is closed. A request
+ * that cannot get a slot within {@code GATEWAY_LIMITER_QUEUE_TIMEOUT_MS} is rejected without reaching the partner.
+ * <p>
+ * It must be the outermost interceptor: whatever the inner ones throw releases the slot here, while a response it
+ * has returned is only released once the caller closes it.
+ */
+public class ConcurrencyLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final PartnerConcurrencyLimiters partnerConcurrencyLimiters;
+
+    public ConcurrencyLimitInterceptor(PartnerConcurrencyLimiters partnerConcurrencyLimiters) {
+        this.partnerConcurrencyLimiters = partnerConcurrencyLimiters;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String host = request.getURI().getHost();
+        AdaptiveConcurrencyLimiter limiter = partnerConcurrencyLimiters.getLimiter(host);
+        acquire(limiter, host);
+        long startTime = System.nanoTime();
+        ClientHttpResponse response = null;
+        Runnable release = limiter::onIgnored;
+        try {
+            response = execution.execute(request, body);
+            int statusCode = response.getRawStatusCode();
+            long rttNanos = System.nanoTime() - startTime;
+            boolean dropped = statusCode == HttpStatus.TOO_MANY_REQUESTS.value() || statusCode >= 500;
+            ClientHttpResponse limitedResponse = new OnCloseClientHttpResponse(response, () -> {
+                if (dropped) {
+                    limiter.onDropped();
+                } else {
+                    limiter.onSuccess(rttNanos);
+                }
+            });
+            release = null;
+            return limitedResponse;
+        } catch (AbortableRequestFactory.AbortedException ex) {
+            throw ex;
+        } catch (IOException ex) {
+            release = limiter::onDropped;
+            throw ex;
+        } finally {
+            if (release != null) {
+                try {
+                    if (response != null) {
+                        response.close();
+                    }
+                } finally {
+                    release.run();
+                }
+            }
+        }
+    }
+
+    private void acquire(AdaptiveConcurrencyLimiter limiter, String host) throws InterruptedIOException {
+        try {
+            if (!limiter.tryAcquire(ApplicationConstants.GATEWAY_LIMITER_QUEUE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                partnerConcurrencyLimiters.recordRejection(host);
+                throw new ServiceUnavailableException(ErrorMessages.PARTNER_CONCURRENCY_LIMIT_REACHED);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a slot to " + host);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import com.mojagap.mojanode.infrastructure.AppContext;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Issues many partner calls in parallel. At most {@code maxConcurrencyPerPartner} calls of one {@code execute} are
+ * in flight per partner host, the next queued call for a partner is only submitted once one of its calls completes
+ * so no thread sits waiting for a permit. The cap does not span concurrent executions and the gateway pool is shared
+ * with hedged attempts, the partner-wide bound is the adaptive limit of {@link ConcurrencyLimitInterceptor}.
+ * <p>
+ * Each call sends its requests through its own request factory. Calls that have not completed by the deadline are
+ * aborted by disconnecting their requests, since cancelling does not stop a blocking read, and reported as timed out.
+ */
+@Component
+public class FanOutExecutor {
+
+    private static final Logger LOG = Logger.getLogger(FanOutExecutor.class.getName());
+
+    @Autowired
+    @Qualifier("gatewayExecutor")
+    private ExecutorService gatewayExecutor;
+
+    @SneakyThrows(InterruptedException.class)
+    public <R> List<GatewayResult<R>> execute(List<GatewayRequest<R>> requests, int maxConcurrencyPerPartner, Duration deadline, BiFunction<GatewayRequest<R>, ClientHttpRequestFactory, R> call) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        List<GatewayResult<R>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        String[] partners = new String[requests.size()];
+        Map<String, Deque<Integer>> queuedByPartner = new HashMap<>();
+        for (int index = 0; index < requests.size(); index++) {
+            partners[index] = PartnerEndpoint.from(requests.get(index).getPath()).getHost();
+            queuedByPartner.computeIfAbsent(partners[index], partner -> new ArrayDeque<>()).add(index);
+        }
+
+        CompletionService<GatewayResult<R>> completionService = new ExecutorCompletionService<>(gatewayExecutor);
+        Map<Future<GatewayResult<R>>, Integer> running = new HashMap<>();
+        AbortableRequestFactory[] requestFactories = new AbortableRequestFactory[requests.size()];
+        queuedByPartner.values().forEach(queue -> {
+            for (int slot = 0; slot < maxConcurrencyPerPartner && !queue.isEmpty(); slot++) {
+                submit(completionService, running, requestFactories, requests, queue.poll(), call);
+            }
+        });
+        try {
+            while (!running.isEmpty()) {
+                long remaining = deadlineNanos - System.nanoTime();
+                Future<GatewayResult<R>> completed = remaining > 0 ? completionService.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if (completed == null) {
+                    break;
+                }
+                Integer index = running.remove(completed);
+                results.set(index, getResult(completed, requests.get(index)));
+                Integer next = queuedByPartner.get(partners[index]).poll();
+                if (next != null) {
+                    submit(completionService, running, requestFactories, requests, next, call);
+                }
+            }
+        } finally {
+            running.forEach((future, index) -> {
+                requestFactories[index].abort();
+                future.cancel(true);
+            });
+        }
+
+        int failures = 0;
+        for (int index = 0; index < results.size(); index++) {
+            if (results.get(index) == null) {
+                results.set(index, GatewayResult.timedOut(requests.get(index)));
+            }
+            if (!results.get(index).isSuccess()) {
+                failures++;
+            }
+        }
+        if (failures > 0) {
+            LOG.log(Level.WARNING, failures + " of " + requests.size() + " fan-out partner calls did not succeed");
+        }
+        return results;
+    }
+
+    private <R> void submit(CompletionService<GatewayResult<R>> completionService, Map<Future<GatewayResult<R>>, Integer> running,
+                            AbortableRequestFactory[] requestFactories, List<GatewayRequest<R>> requests, Integer index,
+                            BiFunction<GatewayRequest<R>, ClientHttpRequestFactory, R> call) {
+        GatewayRequest<R> request = requests.get(index);
+        AbortableRequestFactory requestFactory = new AbortableRequestFactory();
+        requestFactories[index] = requestFactory;
+        Future<GatewayResult<R>> future = completionService.submit(AppContext.propagate(() -> {
+            try {
+                return GatewayResult.success(request, call.apply(request, requestFactory));
+            } catch (Exception ex) {
+                return GatewayResult.failed(request, ex);
+            }
+        }));
+        running.put(future, index);
+    }
+
+    private <R> GatewayResult<R> getResult(Future<GatewayResult<R>> future, GatewayRequest<R> request) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            return GatewayResult.failed(request, ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import com.mojagap.mojanode.dto.gateway.PartnerLatencyDto;
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Latency distributions of partner calls per host, path template, status class and phase. Percentiles are
+ * computed by Micrometer over a sliding window of {@code GATEWAY_LATENCY_WINDOW_SECONDS} split in a ring of
+ * HdrHistogram buckets, so they reflect recent traffic rather than everything since startup.
+ */
+@Component
+public class GatewayLatencyMetrics {
+
+    public static final String METER_NAME = "gateway.partner.latency";
+    public static final String PHASE_TTFB = "ttfb";
+    public static final String PHASE_TOTAL = "total";
+    public static final String STATUS_IO_ERROR = "IO_ERROR";
+
+    private static final int WINDOW_BUFFER_LENGTH = 3;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public void record(PartnerEndpoint endpoint, String statusClass, String phase, long nanos) {
+        Timer.builder(METER_NAME)
+                .tag("host", endpoint.getHost())
+                .tag("path", endpoint.getPathTemplate())
+                .tag("status", statusClass)
+                .tag("phase", phase)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .distributionStatisticExpiry(Duration.ofSeconds(ApplicationConstants.GATEWAY_LATENCY_WINDOW_SECONDS))
+                .distributionStatisticBufferLength(WINDOW_BUFFER_LENGTH)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public List<PartnerLatencyDto> getPartnerLatencies() {
+        return meterRegistry.find(METER_NAME).timers().stream().map(this::toPartnerLatencyDto).collect(Collectors.toList());
+    }
+
+    private PartnerLatencyDto toPartnerLatencyDto(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        PartnerLatencyDto partnerLatencyDto = new PartnerLatencyDto();
+        partnerLatencyDto.setHost(timer.getId().getTag("host"));
+        partnerLatencyDto.setPath(timer.getId().getTag("path"));
+        partnerLatencyDto.setStatus(timer.getId().getTag("status"));
+        partnerLatencyDto.setPhase(timer.getId().getTag("phase"));
+        partnerLatencyDto.setCount(snapshot.count());
+        partnerLatencyDto.setMax(snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile valueAtPercentile : snapshot.percentileValues()) {
+            double millis = valueAtPercentile.value(TimeUnit.MILLISECONDS);
+            if (valueAtPercentile.percentile() == 0.5) {
+                partnerLatencyDto.setP50(millis);
+            } else if (valueAtPercentile.percentile() == 0.9) {
+                partnerLatencyDto.setP90(millis);
+            } else if (valueAtPercentile.percentile() == 0.99) {
+                partnerLatencyDto.setP99(millis);
+            }
+        }
+        return partnerLatencyDto;
+    }
+
+    public static String statusClass(int statusCode) {
+        return (statusCode / 100) + "xx";
+    }
+}
@@ -0,0 +1,17 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.MultiValueMap;
+
+@Getter
+@AllArgsConstructor
+public class GatewayRequest<R> {
+    private final String path;
+    private final MultiValueMap<String, String> queryParams;
+    private final Class<R> responseType;
+
+    public static <R> GatewayRequest<R> get(String path, Class<R> responseType) {
+        return new GatewayRequest<>(path, null, responseType);
+    }
+}
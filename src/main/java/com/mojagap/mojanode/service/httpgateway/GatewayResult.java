@@ -0,0 +1,41 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class GatewayResult<R> {
+    @JsonIgnore
+    private final GatewayRequest<R> request;
+    private final Status status;
+    private final R response;
+    private final String errorMessage;
+
+    public static <R> GatewayResult<R> success(GatewayRequest<R> request, R response) {
+        return new GatewayResult<>(request, Status.SUCCESS, response, null);
+    }
+
+    public static <R> GatewayResult<R> failed(GatewayRequest<R> request, Throwable ex) {
+        return new GatewayResult<>(request, Status.FAILED, null, ex.getMessage());
+    }
+
+    public static <R> GatewayResult<R> timedOut(GatewayRequest<R> request) {
+        return new GatewayResult<>(request, Status.TIMED_OUT, null, "Deadline exceeded before the partner answered");
+    }
+
+    @JsonIgnore
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+
+    public enum Status {
+        SUCCESS,
+        FAILED,
+        TIMED_OUT
+    }
+}
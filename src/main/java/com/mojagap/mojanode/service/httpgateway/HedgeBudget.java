@@ -0,0 +1,30 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+/**
+ * Token bucket that caps hedged requests to a fraction of the primary requests. Every primary request
+ * deposits {@code ratio} tokens and every hedge withdraws a whole token, so a partner outage cannot be
+ * amplified by more than {@code 1 + ratio} times the normal traffic.
+ */
+public class HedgeBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    public HedgeBudget(double ratio, double maxTokens) {
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+    }
+
+    public synchronized void deposit() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
@@ -0,0 +1,134 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import com.mojagap.mojanode.infrastructure.AppContext;
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs idempotent partner calls with hedging: when the first attempt has not answered within the configured
+ * percentile of recent latency, a second attempt is fired and whichever answers first wins.
+ * <p>
+ * Each attempt sends its requests through the request factory it is given. The loser is aborted by disconnecting
+ * its connections, as an interrupt does not stop a blocking read, and waited for up to
+ * {@code LOSER_ABORT_TIMEOUT_MS} so that it has released its partner limit slot and added its call log before the
+ * caller saves the logs.
+ */
+@Component
+public class HedgedRequestExecutor {
+
+    private static final Logger LOG = Logger.getLogger(HedgedRequestExecutor.class.getName());
+    private static final double MAX_BUDGET_TOKENS = 10;
+    private static final long LOSER_ABORT_TIMEOUT_MS = 1000;
+
+    private final LatencyTracker latencyTracker = new LatencyTracker();
+    private final HedgeBudget hedgeBudget = new HedgeBudget(ApplicationConstants.GATEWAY_HEDGE_BUDGET_RATIO, MAX_BUDGET_TOKENS);
+    private boolean hedgingEnabled = ApplicationConstants.GATEWAY_HEDGING_ENABLED;
+
+    @Autowired
+    @Qualifier("gatewayExecutor")
+    private ExecutorService gatewayExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SneakyThrows
+    public <R> R execute(PartnerEndpoint endpoint, Function<ClientHttpRequestFactory, R> attempt) {
+        if (!hedgingEnabled) {
+            return timed(endpoint, attempt, new SimpleClientHttpRequestFactory()).call();
+        }
+        hedgeBudget.deposit();
+        increment("gateway.hedge.requests", endpoint);
+        CompletionService<R> completionService = new ExecutorCompletionService<>(gatewayExecutor);
+        AbortableRequestFactory primaryRequestFactory = new AbortableRequestFactory();
+        Future<R> primary = completionService.submit(AppContext.propagate(timed(endpoint, attempt, primaryRequestFactory)));
+        AbortableRequestFactory hedgeRequestFactory = new AbortableRequestFactory();
+        Future<R> hedge = null;
+        try {
+            OptionalLong recentLatency = latencyTracker.percentile(endpoint, ApplicationConstants.GATEWAY_HEDGE_PERCENTILE);
+            if (recentLatency.isEmpty()) {
+                return primary.get();
+            }
+            long hedgeDelay = Math.max(recentLatency.getAsLong(), ApplicationConstants.GATEWAY_HEDGE_MIN_DELAY_MS);
+            Future<R> completed = completionService.poll(hedgeDelay, TimeUnit.MILLISECONDS);
+            if (completed != null) {
+                return completed.get();
+            }
+            if (!hedgeBudget.tryWithdraw()) {
+                increment("gateway.hedge.budget.exhausted", endpoint);
+                return primary.get();
+            }
+            increment("gateway.hedge.fired", endpoint);
+            hedge = completionService.submit(AppContext.propagate(timed(endpoint, attempt, hedgeRequestFactory)));
+            return firstSuccessful(completionService, hedge, endpoint);
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        } finally {
+            abort(primary, primaryRequestFactory, endpoint);
+            if (hedge != null) {
+                abort(hedge, hedgeRequestFactory, endpoint);
+            }
+        }
+    }
+
+    private void abort(Future<?> attempt, AbortableRequestFactory requestFactory, PartnerEndpoint endpoint) throws InterruptedException {
+        if (attempt.isDone()) {
+            return;
+        }
+        requestFactory.abort();
+        try {
+            attempt.get(LOSER_ABORT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | CancellationException ignored) {
+            // the aborted attempt is expected to fail
+        } catch (TimeoutException ex) {
+            LOG.log(Level.WARNING, "Aborted attempt to " + endpoint + " did not finish within " + LOSER_ABORT_TIMEOUT_MS + "ms");
+            attempt.cancel(true);
+        } catch (InterruptedException ex) {
+            attempt.cancel(true);
+            throw ex;
+        }
+    }
+
+    private <R> R firstSuccessful(CompletionService<R> completionService, Future<R> hedge, PartnerEndpoint endpoint) throws InterruptedException, ExecutionException {
+        Future<R> winner = completionService.take();
+        try {
+            R response = winner.get();
+            if (winner == hedge) {
+                increment("gateway.hedge.won", endpoint);
+            }
+            return response;
+        } catch (ExecutionException ex) {
+            LOG.log(Level.WARNING, "Hedged attempt to " + endpoint + " failed, waiting for the other attempt : " + ex.getCause().getMessage());
+            Future<R> other = completionService.take();
+            R response = other.get();
+            if (other == hedge) {
+                increment("gateway.hedge.won", endpoint);
+            }
+            return response;
+        }
+    }
+
+    private <R> Callable<R> timed(PartnerEndpoint endpoint, Function<ClientHttpRequestFactory, R> attempt, ClientHttpRequestFactory requestFactory) {
+        return () -> {
+            long startTime = System.nanoTime();
+            R response = attempt.apply(requestFactory);
+            latencyTracker.record(endpoint, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            return response;
+        };
+    }
+
+    private void increment(String name, PartnerEndpoint endpoint) {
+        meterRegistry.counter(name, "host", endpoint.getHost(), "path", endpoint.getPathTemplate()).increment();
+    }
+}
@@ -0,0 +1,49 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mojagap.mojanode.infrastructure.utility.CommonUtil;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads a JSON array one element at a time and hands the elements over in chunks, so that only a single
+ * chunk is ever held in memory no matter how long the array is. A truncated or malformed array fails the read, the chunks
+ * before the truncation have already been handed over by then.
+ */
+public class JsonArrayChunkReader {
+
+    public static <T> long read(InputStream inputStream, Class<T> elementType, int chunkSize, Consumer<List<T>> consumer) throws IOException {
+        ObjectReader objectReader = CommonUtil.OBJECT_MAPPER.readerFor(elementType);
+        try (JsonParser parser = CommonUtil.OBJECT_MAPPER.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RestClientException("Expected a JSON array of " + elementType.getSimpleName() + " from the partner");
+            }
+            long count = 0;
+            List<T> chunk = new ArrayList<>(chunkSize);
+            try {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    chunk.add(objectReader.readValue(parser));
+                    count++;
+                    if (chunk.size() == chunkSize) {
+                        consumer.accept(chunk);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+            } catch (JsonProcessingException ex) {
+                throw new RestClientException("Truncated or malformed partner JSON array after " + count + " elements", ex);
+            }
+            if (!chunk.isEmpty()) {
+                consumer.accept(chunk);
+            }
+            return count;
+        }
+    }
+}
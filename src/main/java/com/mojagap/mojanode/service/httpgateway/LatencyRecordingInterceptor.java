@@ -0,0 +1,39 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Records time to first byte when the response headers are in, and total time when the response is closed
+ * which is after the body has been read. DNS and connect phases are not observable through the JDK
+ * HttpURLConnection behind the request factories, they are part of time to first byte.
+ */
+public class LatencyRecordingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final GatewayLatencyMetrics gatewayLatencyMetrics;
+
+    public LatencyRecordingInterceptor(GatewayLatencyMetrics gatewayLatencyMetrics) {
+        this.gatewayLatencyMetrics = gatewayLatencyMetrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        PartnerEndpoint endpoint = PartnerEndpoint.from(request.getURI().toString());
+        long startTime = System.nanoTime();
+        ClientHttpResponse response;
+        String statusClass;
+        try {
+            response = execution.execute(request, body);
+            statusClass = GatewayLatencyMetrics.statusClass(response.getRawStatusCode());
+        } catch (IOException ex) {
+            gatewayLatencyMetrics.record(endpoint, GatewayLatencyMetrics.STATUS_IO_ERROR, GatewayLatencyMetrics.PHASE_TOTAL, System.nanoTime() - startTime);
+            throw ex;
+        }
+        gatewayLatencyMetrics.record(endpoint, statusClass, GatewayLatencyMetrics.PHASE_TTFB, System.nanoTime() - startTime);
+        return new OnCloseClientHttpResponse(response, () -> gatewayLatencyMetrics.record(endpoint, statusClass, GatewayLatencyMetrics.PHASE_TOTAL, System.nanoTime() - startTime));
+    }
+}
@@ -0,0 +1,52 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the most recent response times of every partner endpoint so that percentiles of recent latency
+ * can be looked up cheaply on the request path.
+ */
+public class LatencyTracker {
+
+    private static final int WINDOW_SIZE = 256;
+    private static final int MIN_SAMPLES = 20;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public void record(PartnerEndpoint endpoint, long latencyMillis) {
+        windows.computeIfAbsent(endpoint.getKey(), key -> new Window()).add(latencyMillis);
+    }
+
+    /**
+     * @return the given percentile (0 - 100) of the recent latencies, or empty while there are too few samples
+     */
+    public OptionalLong percentile(PartnerEndpoint endpoint, double percentile) {
+        Window window = windows.get(endpoint.getKey());
+        return window == null ? OptionalLong.empty() : window.percentile(percentile);
+    }
+
+    private static final class Window {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int count;
+        private int next;
+
+        synchronized void add(long latencyMillis) {
+            samples[next] = latencyMillis;
+            next = (next + 1) % WINDOW_SIZE;
+            count = Math.min(count + 1, WINDOW_SIZE);
+        }
+
+        synchronized OptionalLong percentile(double percentile) {
+            if (count < MIN_SAMPLES) {
+                return OptionalLong.empty();
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            return OptionalLong.of(sorted[Math.max(0, Math.min(index, count - 1))]);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Runs a callback once when the response is closed, i.e. after the caller is done with the body.
+ */
+class OnCloseClientHttpResponse implements ClientHttpResponse {
+    private final ClientHttpResponse response;
+    private final Runnable onClose;
+    private boolean closed;
+
+    OnCloseClientHttpResponse(ClientHttpResponse response, Runnable onClose) {
+        this.response = response;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        return response.getBody();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return response.getHeaders();
+    }
+
+    @Override
+    public HttpStatus getStatusCode() throws IOException {
+        return response.getStatusCode();
+    }
+
+    @Override
+    public int getRawStatusCode() throws IOException {
+        return response.getRawStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return response.getStatusText();
+    }
+
+    @Override
+    public void close() {
+        try {
+            response.close();
+        } finally {
+            if (!closed) {
+                closed = true;
+                onClose.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class PartnerConcurrencyLimiters {
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public AdaptiveConcurrencyLimiter getLimiter(String host) {
+        return limiters.computeIfAbsent(host, this::newLimiter);
+    }
+
+    public void recordRejection(String host) {
+        meterRegistry.counter("gateway.limiter.rejected", "host", host).increment();
+    }
+
+    private AdaptiveConcurrencyLimiter newLimiter(String host) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(ApplicationConstants.GATEWAY_LIMITER_INITIAL_LIMIT, ApplicationConstants.GATEWAY_LIMITER_MAX_LIMIT);
+        Gauge.builder("gateway.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit).tag("host", host).register(meterRegistry);
+        Gauge.builder("gateway.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight).tag("host", host).register(meterRegistry);
+        return limiter;
+    }
+}
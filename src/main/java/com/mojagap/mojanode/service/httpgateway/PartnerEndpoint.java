@@ -0,0 +1,40 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.regex.Pattern;
+
+/**
+ * Identifies a partner endpoint by host and path template, e.g. {@code /users/{id}} for {@code /users/42},
+ * so that per-endpoint statistics do not fan out into one entry per resource id.
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PartnerEndpoint {
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/(\\d+|[0-9a-fA-F-]{32,36})(?=/|$)");
+
+    private final String host;
+    private final String pathTemplate;
+
+    public static PartnerEndpoint from(String url) {
+        UriComponents uriComponents = UriComponentsBuilder.fromHttpUrl(url).build();
+        String path = uriComponents.getPath() == null || uriComponents.getPath().isEmpty() ? "/" : uriComponents.getPath();
+        return new PartnerEndpoint(uriComponents.getHost(), ID_SEGMENT.matcher(path).replaceAll("/{id}"));
+    }
+
+    public String getKey() {
+        return host + pathTemplate;
+    }
+
+    @Override
+    public String toString() {
+        return getKey();
+    }
+}
@@ -1,26 +1,31 @@
 package com.mojagap.mojanode.service.httpgateway;
 
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import com.mojagap.mojanode.infrastructure.logger.HttpCallContext;
 import com.mojagap.mojanode.infrastructure.logger.HttpRequestInterceptor;
 import com.mojagap.mojanode.model.common.ActionTypeEnum;
 import com.mojagap.mojanode.model.http.HttpCallLog;
 import com.mojagap.mojanode.repository.http.HttpCallLogRepository;
 import lombok.SneakyThrows;
-import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Primary;
 import org.springframework.http.*;
 import org.springframework.http.client.BufferingClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -32,12 +37,23 @@ public class RestTemplateService {
     @Autowired
     private RestTemplate restTemplate;
 
-    @Autowired
-    protected HttpServletRequest httpServletRequest;
+    private final RestTemplate streamingRestTemplate = new RestTemplate(new SimpleClientHttpRequestFactory());
 
     @Autowired
     public HttpCallLogRepository httpCallLogRepository;
 
+    @Autowired
+    private HedgedRequestExecutor hedgedRequestExecutor;
+
+    @Autowired
+    private FanOutExecutor fanOutExecutor;
+
+    @Autowired
+    private GatewayLatencyMetrics gatewayLatencyMetrics;
+
+    @Autowired
+    private PartnerConcurrencyLimiters partnerConcurrencyLimiters;
+
     @Bean
     public RestTemplate getRestTemplate() {
         RestTemplate restTemplate = new RestTemplate();
@@ -46,23 +62,77 @@ public class RestTemplateService {
         return restTemplate;
     }
 
-    @Bean
-    @Primary
-    public HttpServletRequest getHttpServletRequest() {
-        return httpServletRequest;
+    public <R> R doHttpGet(String path, MultiValueMap<String, String> queryParams, Class<R> responseType) {
+        HttpHeaders httpHeaders = getRequestHeaders();
+        return executeAndLogHttpRequest(ActionTypeEnum.API_POLL_REQUEST, callRestTemplate -> makeApiCall(callRestTemplate, HttpMethod.GET, path, queryParams, httpHeaders, null, responseType));
     }
 
-    public <R> R doHttpGet(String path, MultiValueMap<String, String> queryParams, Class<R> responseType) {
+    /**
+     * Same as {@link #doHttpGet} but hedged when hedging is enabled, so only use it for idempotent requests.
+     */
+    public <R> R doHedgedHttpGet(String path, MultiValueMap<String, String> queryParams, Class<R> responseType) {
         HttpHeaders httpHeaders = getRequestHeaders();
-        return executeAndLogHttpRequest(ActionTypeEnum.API_POLL_REQUEST, () -> makeApiCall(HttpMethod.GET, path, queryParams, httpHeaders, null, responseType));
+        PartnerEndpoint endpoint = PartnerEndpoint.from(path);
+        HttpCallContext httpCallContext = new HttpCallContext(ActionTypeEnum.API_POLL_REQUEST);
+        return executeAndLogHttpRequest(httpCallContext, () -> hedgedRequestExecutor.execute(endpoint, requestFactory -> {
+            RestTemplate callRestTemplate = withInterceptor(restTemplate, new BufferingClientHttpRequestFactory(requestFactory), new HttpRequestInterceptor(httpCallContext));
+            return makeApiCall(callRestTemplate, HttpMethod.GET, path, queryParams, httpHeaders, null, responseType);
+        }));
+    }
+
+    public <R> List<GatewayResult<R>> doHttpGetAll(List<GatewayRequest<R>> requests) {
+        return doHttpGetAll(requests, ApplicationConstants.GATEWAY_MAX_CONCURRENCY_PER_PARTNER, Duration.ofMillis(ApplicationConstants.GATEWAY_FAN_OUT_DEADLINE_MS));
+    }
+
+    /**
+     * Runs the GET requests in parallel with at most {@code maxConcurrencyPerPartner} of them in flight per partner
+     * host, requests still running at the deadline are aborted.
+     *
+     * @return one result per request in the order of the requests, failed and timed out requests are reported
+     * in their result rather than thrown
+     */
+    public <R> List<GatewayResult<R>> doHttpGetAll(List<GatewayRequest<R>> requests, int maxConcurrencyPerPartner, Duration deadline) {
+        return fanOutExecutor.execute(requests, maxConcurrencyPerPartner, deadline, (request, requestFactory) -> {
+            HttpHeaders httpHeaders = getRequestHeaders();
+            HttpCallContext httpCallContext = new HttpCallContext(ActionTypeEnum.API_POLL_REQUEST);
+            RestTemplate callRestTemplate = withInterceptor(restTemplate, new BufferingClientHttpRequestFactory(requestFactory), new HttpRequestInterceptor(httpCallContext));
+            return executeAndLogHttpRequest(httpCallContext, () -> makeApiCall(callRestTemplate, HttpMethod.GET, request.getPath(), request.getQueryParams(),
+                    httpHeaders, null, request.getResponseType()));
+        });
+    }
+
+    /**
+     * Streams a partner JSON array to the consumer in chunks of {@code chunkSize} elements without buffering
+     * the response, only a bounded prefix of the body is logged.
+     *
+     * @return the number of elements read
+     */
+    public <T> Long doHttpGetStream(String path, MultiValueMap<String, String> queryParams, Class<T> elementType, int chunkSize, Consumer<List<T>> consumer) {
+        HttpHeaders httpHeaders = getRequestHeaders();
+        String uriString = UriComponentsBuilder.fromHttpUrl(path).queryParams(queryParams).toUriString();
+        HttpCallContext httpCallContext = new HttpCallContext(ActionTypeEnum.API_POLL_REQUEST);
+        HttpRequestInterceptor interceptor = new HttpRequestInterceptor(httpCallContext, ApplicationConstants.GATEWAY_MAX_LOGGED_BODY_BYTES);
+        RestTemplate callRestTemplate = withInterceptor(streamingRestTemplate, interceptor);
+        return executeAndLogHttpRequest(httpCallContext, () -> callRestTemplate.execute(uriString, HttpMethod.GET, request -> request.getHeaders().addAll(httpHeaders),
+                response -> JsonArrayChunkReader.read(response.getBody(), elementType, chunkSize, consumer)));
     }
 
     public <R> R doHttpPost(String path, Object body, Class<R> responseType) {
         HttpHeaders httpHeaders = getRequestHeaders();
-        return executeAndLogHttpRequest(ActionTypeEnum.API_POST_REQUEST, () -> makeApiCall(HttpMethod.POST, path, null, httpHeaders, body, responseType));
+        return executeAndLogHttpRequest(ActionTypeEnum.API_POST_REQUEST, callRestTemplate -> makeApiCall(callRestTemplate, HttpMethod.POST, path, null, httpHeaders, body, responseType));
+    }
+
+    public <R> R doHttpRequest(HttpMethod httpMethod, String path, Object body, Class<R> responseType) {
+        HttpHeaders httpHeaders = getRequestHeaders();
+        ActionTypeEnum actionTypeEnum = httpMethod == HttpMethod.GET ? ActionTypeEnum.API_POLL_REQUEST : ActionTypeEnum.API_POST_REQUEST;
+        return executeAndLogHttpRequest(actionTypeEnum, callRestTemplate -> makeApiCall(callRestTemplate, httpMethod, path, null, httpHeaders, body, responseType));
     }
 
     public <R> R makeApiCall(HttpMethod httpMethod, String path, MultiValueMap<String, String> queryParams, HttpHeaders headers, Object body, Class<R> responseType) {
+        return makeApiCall(restTemplate, httpMethod, path, queryParams, headers, body, responseType);
+    }
+
+    private <R> R makeApiCall(RestTemplate restTemplate, HttpMethod httpMethod, String path, MultiValueMap<String, String> queryParams, HttpHeaders headers, Object body, Class<R> responseType) {
         HttpEntity<?> requestEntity = new HttpEntity<>(body, headers);
         String uriString = UriComponentsBuilder.fromHttpUrl(path).queryParams(queryParams).toUriString();
         ResponseEntity<R> response = restTemplate.exchange(uriString, httpMethod, requestEntity, responseType);
@@ -78,25 +148,44 @@ public class RestTemplateService {
     }
 
 
+    protected <R> R executeAndLogHttpRequest(ActionTypeEnum actionTypeEnum, Function<RestTemplate, R> call) {
+        HttpCallContext httpCallContext = new HttpCallContext(actionTypeEnum);
+        RestTemplate callRestTemplate = withInterceptor(restTemplate, new HttpRequestInterceptor(httpCallContext));
+        return executeAndLogHttpRequest(httpCallContext, () -> call.apply(callRestTemplate));
+    }
+
     @SneakyThrows
-    protected <R> R executeAndLogHttpRequest(ActionTypeEnum actionTypeEnum, Callable<R> callable) {
-        restTemplate.setInterceptors(Collections.singletonList(new HttpRequestInterceptor()));
+    protected <R> R executeAndLogHttpRequest(HttpCallContext httpCallContext, Callable<R> callable) {
         try {
             return callable.call();
         } catch (Exception ex) {
             LOG.log(Level.SEVERE, ex.getMessage(), ex);
-            HttpCallLog httpCallLog = (HttpCallLog) httpServletRequest.getAttribute(HttpCallLog.class.getName());
-            if (httpCallLog != null) {
-                httpCallLog.setStackTrace(ExceptionUtils.getStackTrace(ex));
-            }
+            httpCallContext.recordFailure(ex);
             throw ex;
         } finally {
-            restTemplate.setInterceptors(Collections.emptyList());
-            HttpCallLog httpCallLog = (HttpCallLog) httpServletRequest.getAttribute(HttpCallLog.class.getName());
-            if (httpCallLog != null) {
-                httpCallLog.setActionType(actionTypeEnum);
-                httpCallLogRepository.saveAndFlush(httpCallLog);
+            List<HttpCallLog> httpCallLogs = httpCallContext.getHttpCallLogs();
+            if (!httpCallLogs.isEmpty()) {
+                httpCallLogRepository.saveAllAndFlush(httpCallLogs);
             }
         }
     }
+
+    /**
+     * The shared templates are never mutated, each call gets a lightweight template that reuses their
+     * request factory and message converters and adds the partner concurrency limit, its own logging interceptor
+     * and the latency recording. The concurrency limit comes first so that it sees every failure of the others.
+     */
+    private RestTemplate withInterceptor(RestTemplate template, ClientHttpRequestInterceptor interceptor) {
+        return withInterceptor(template, template.getRequestFactory(), interceptor);
+    }
+
+    private RestTemplate withInterceptor(RestTemplate template, ClientHttpRequestFactory requestFactory, ClientHttpRequestInterceptor interceptor) {
+        RestTemplate callRestTemplate = new RestTemplate(template.getMessageConverters());
+        List<ClientHttpRequestInterceptor> interceptors = List.of(new ConcurrencyLimitInterceptor(partnerConcurrencyLimiters),
+                interceptor, new LatencyRecordingInterceptor(gatewayLatencyMetrics));
+        callRestTemplate.setRequestFactory(new InterceptingClientHttpRequestFactory(requestFactory, interceptors));
+        callRestTemplate.setErrorHandler(template.getErrorHandler());
+        callRestTemplate.setUriTemplateHandler(template.getUriTemplateHandler());
+        return callRestTemplate;
+    }
 }
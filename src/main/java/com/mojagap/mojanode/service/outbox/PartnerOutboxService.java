@@ -0,0 +1,131 @@
+package com.mojagap.mojanode.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.mojagap.mojanode.dto.gateway.PartnerOutboxDto;
+import com.mojagap.mojanode.infrastructure.AppContext;
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import com.mojagap.mojanode.infrastructure.ErrorMessages;
+import com.mojagap.mojanode.infrastructure.exception.RecordNotFoundException;
+import com.mojagap.mojanode.infrastructure.utility.CommonUtil;
+import com.mojagap.mojanode.model.common.ActionTypeEnum;
+import com.mojagap.mojanode.model.http.OutboxStatusEnum;
+import com.mojagap.mojanode.model.http.PartnerOutbox;
+import com.mojagap.mojanode.model.user.AppUser;
+import com.mojagap.mojanode.repository.http.PartnerOutboxRepository;
+import lombok.SneakyThrows;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Clock;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+@Service
+public class PartnerOutboxService {
+
+    private static final Logger LOG = Logger.getLogger(PartnerOutboxService.class.getName());
+
+    @Autowired
+    private PartnerOutboxRepository partnerOutboxRepository;
+
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * Records a partner call to be delivered by the outbox workers. Joins the caller's transaction so the call
+     * is only recorded if the local state changes that go with it are committed.
+     */
+    @Transactional
+    @SneakyThrows(JsonProcessingException.class)
+    public PartnerOutbox enqueue(ActionTypeEnum actionTypeEnum, HttpMethod httpMethod, String requestUrl, Object body) {
+        PartnerOutbox partnerOutbox = new PartnerOutbox();
+        partnerOutbox.setActionType(actionTypeEnum);
+        partnerOutbox.setRequestMethod(httpMethod.name());
+        partnerOutbox.setRequestUrl(requestUrl);
+        partnerOutbox.setRequestBody(body != null ? CommonUtil.OBJECT_MAPPER.writeValueAsString(body) : null);
+        partnerOutbox.setStatus(OutboxStatusEnum.PENDING);
+        partnerOutbox.setAttempts(0);
+        Date now = Date.from(clock.instant());
+        partnerOutbox.setNextAttemptAt(now);
+        partnerOutbox.setCreatedOn(now);
+        AppUser appUser = AppContext.getLoggedInUser();
+        partnerOutbox.setCreatedBy(appUser != null ? appUser.getId() : null);
+        return partnerOutboxRepository.save(partnerOutbox);
+    }
+
+    /**
+     * Claims up to {@code batchSize} due messages by leasing them for {@code OUTBOX_LEASE_SECONDS}. Rows locked
+     * by another node are skipped rather than waited for. A message whose worker dies is picked up again once
+     * its lease expires, so delivery is at least once.
+     */
+    @Transactional
+    public List<PartnerOutbox> claimDueMessages(int batchSize) {
+        Date now = Date.from(clock.instant());
+        List<PartnerOutbox> partnerOutboxes = partnerOutboxRepository.findDueForDeliveryForUpdate(now, batchSize);
+        Date lockedUntil = new Date(now.getTime() + TimeUnit.SECONDS.toMillis(ApplicationConstants.OUTBOX_LEASE_SECONDS));
+        partnerOutboxes.forEach(partnerOutbox -> partnerOutbox.setLockedUntil(lockedUntil));
+        return partnerOutboxRepository.saveAllAndFlush(partnerOutboxes);
+    }
+
+    /**
+     * Records the outcome of a claimed message. Throws {@link org.springframework.dao.OptimisticLockingFailureException}
+     * when the lease expired and the message was claimed again since, the new owner records the outcome then.
+     */
+    @Transactional
+    public void markDelivered(PartnerOutbox partnerOutbox, String responseBody) {
+        partnerOutbox.setStatus(OutboxStatusEnum.DELIVERED);
+        partnerOutbox.setAttempts(partnerOutbox.getAttempts() + 1);
+        partnerOutbox.setResponseBody(responseBody);
+        partnerOutbox.setDeliveredOn(Date.from(clock.instant()));
+        partnerOutbox.setLockedUntil(null);
+        partnerOutboxRepository.save(partnerOutbox);
+    }
+
+    /**
+     * See {@link #markDelivered}.
+     */
+    @Transactional
+    public void markFailed(PartnerOutbox partnerOutbox, Exception ex) {
+        int attempts = partnerOutbox.getAttempts() + 1;
+        partnerOutbox.setAttempts(attempts);
+        partnerOutbox.setLastError(ExceptionUtils.getStackTrace(ex));
+        partnerOutbox.setLockedUntil(null);
+        if (!isRetriable(ex) || attempts >= ApplicationConstants.OUTBOX_MAX_ATTEMPTS) {
+            partnerOutbox.setStatus(OutboxStatusEnum.DEAD);
+            LOG.log(Level.SEVERE, "Partner outbox message " + partnerOutbox.getId() + " is dead after " + attempts + " attempts : " + ex.getMessage());
+        } else {
+            partnerOutbox.setNextAttemptAt(new Date(clock.millis() + backoffMillis(attempts)));
+        }
+        partnerOutboxRepository.save(partnerOutbox);
+    }
+
+    /**
+     * Only messages enqueued by a user of the logged-in user's account are found.
+     */
+    public PartnerOutboxDto getPartnerOutboxById(Integer id) {
+        Integer accountId = AppContext.getLoggedInUser().getAccount().getId();
+        PartnerOutbox partnerOutbox = partnerOutboxRepository.findByIdAndAccountId(id, accountId)
+                .orElseThrow(() -> new RecordNotFoundException(ErrorMessages.PARTNER_REQUEST_NOT_FOUND));
+        return new PartnerOutboxDto(partnerOutbox);
+    }
+
+    private static boolean isRetriable(Exception ex) {
+        if (ex instanceof HttpClientErrorException) {
+            return ((HttpClientErrorException) ex).getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
+        }
+        return true;
+    }
+
+    private static long backoffMillis(int attempts) {
+        long delay = Math.min(ApplicationConstants.OUTBOX_BACKOFF_MAX_MS, ApplicationConstants.OUTBOX_BACKOFF_BASE_MS << Math.min(attempts - 1, 30));
+        return ThreadLocalRandom.current().nextLong(delay / 2, delay + 1);
+    }
+}
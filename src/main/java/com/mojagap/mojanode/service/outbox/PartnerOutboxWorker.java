@@ -0,0 +1,67 @@
+package com.mojagap.mojanode.service.outbox;
+
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import com.mojagap.mojanode.model.http.PartnerOutbox;
+import com.mojagap.mojanode.service.httpgateway.RestTemplateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Polls the outbox and hands claimed messages to the outbox worker pool. Only as many messages as there are
+ * idle workers are claimed so that leases are not burnt by messages waiting in the pool's queue.
+ */
+@Component
+public class PartnerOutboxWorker {
+
+    private static final Logger LOG = Logger.getLogger(PartnerOutboxWorker.class.getName());
+
+    @Autowired
+    private PartnerOutboxService partnerOutboxService;
+
+    @Autowired
+    private RestTemplateService restTemplateService;
+
+    @Autowired
+    @Qualifier("outboxExecutor")
+    private ThreadPoolExecutor outboxExecutor;
+
+    @Scheduled(fixedDelayString = "${MOJA_NODE_OUTBOX_POLL_INTERVAL_MS:1000}")
+    public void deliverDueMessages() {
+        int idleWorkers = outboxExecutor.getMaximumPoolSize() - outboxExecutor.getActiveCount() - outboxExecutor.getQueue().size();
+        if (idleWorkers <= 0) {
+            return;
+        }
+        List<PartnerOutbox> partnerOutboxes = partnerOutboxService.claimDueMessages(Math.min(idleWorkers, ApplicationConstants.OUTBOX_BATCH_SIZE));
+        partnerOutboxes.forEach(partnerOutbox -> outboxExecutor.execute(() -> deliver(partnerOutbox)));
+    }
+
+    private void deliver(PartnerOutbox partnerOutbox) {
+        String response;
+        try {
+            HttpMethod httpMethod = HttpMethod.valueOf(partnerOutbox.getRequestMethod());
+            response = restTemplateService.doHttpRequest(httpMethod, partnerOutbox.getRequestUrl(), partnerOutbox.getRequestBody(), String.class);
+        } catch (Exception ex) {
+            LOG.log(Level.WARNING, "Delivery of partner outbox message " + partnerOutbox.getId() + " failed : " + ex.getMessage());
+            recordOutcome(partnerOutbox, () -> partnerOutboxService.markFailed(partnerOutbox, ex));
+            return;
+        }
+        recordOutcome(partnerOutbox, () -> partnerOutboxService.markDelivered(partnerOutbox, response));
+    }
+
+    private void recordOutcome(PartnerOutbox partnerOutbox, Runnable outcome) {
+        try {
+            outcome.run();
+        } catch (OptimisticLockingFailureException ex) {
+            LOG.log(Level.WARNING, "Lease on partner outbox message " + partnerOutbox.getId() + " expired before its outcome was recorded, its new owner records it");
+        }
+    }
+}
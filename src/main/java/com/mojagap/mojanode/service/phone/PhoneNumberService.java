@@ -0,0 +1,80 @@
+package com.mojagap.mojanode.service.phone;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonenumber;
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import com.mojagap.mojanode.infrastructure.ErrorMessages;
+import com.mojagap.mojanode.infrastructure.exception.BadRequestException;
+import com.mojagap.mojanode.infrastructure.utility.CommonUtil;
+import com.mojagap.mojanode.model.account.CountryCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.Optional;
+
+/**
+ * Turns the phone numbers users type into the E.164 form they are stored and looked up in. Numbers without a
+ * country calling code are read as numbers of the account's {@link CountryCode}, so {@code 0772 123456} given for a
+ * Ugandan account is stored as {@code +256772123456}. Parsing with libphonenumber costs tens of microseconds, and the
+ * same few numbers come back on every sign up, import and search of an account, so results, invalid numbers
+ * included, are kept for up to {@code PHONE_NUMBER_CACHE_SIZE} distinct numbers.
+ */
+@Service
+public class PhoneNumberService {
+
+    public static final String CACHE_NAME = "phone.number";
+
+    private final Cache<String, Optional<String>> normalized = Caffeine.newBuilder()
+            .maximumSize(ApplicationConstants.PHONE_NUMBER_CACHE_SIZE)
+            .recordStats()
+            .build();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void registerMetrics() {
+        CaffeineCacheMetrics.monitor(meterRegistry, normalized, CACHE_NAME);
+    }
+
+    /**
+     * @return the number in E.164 form, or null when no number was given
+     * @throws BadRequestException when the number is not a valid number of {@code region} or, with its country
+     *                             calling code, of any other country
+     */
+    public String normalize(String phoneNumber, CountryCode region) {
+        if (phoneNumber == null || phoneNumber.isBlank()) {
+            return null;
+        }
+        return find(phoneNumber, region).orElseThrow(() -> new BadRequestException(ErrorMessages.INVALID_PHONE_NUMBER));
+    }
+
+    public Optional<String> find(String phoneNumber, CountryCode region) {
+        if (phoneNumber == null || phoneNumber.isBlank()) {
+            return Optional.empty();
+        }
+        String trimmed = phoneNumber.trim();
+        return normalized.get(region.name() + ":" + trimmed, key -> Optional.ofNullable(toE164(trimmed, region)));
+    }
+
+    /**
+     * Uncached, for callers outside the application context.
+     *
+     * @return the number in E.164 form, or null when it is not a valid number
+     */
+    public static String toE164(String phoneNumber, CountryCode region) {
+        PhoneNumberUtil phoneNumberUtil = CommonUtil.phoneNumberUtil();
+        try {
+            Phonenumber.PhoneNumber parsed = phoneNumberUtil.parse(phoneNumber, region.name());
+            return phoneNumberUtil.isValidNumber(parsed) ? phoneNumberUtil.format(parsed, PhoneNumberUtil.PhoneNumberFormat.E164) : null;
+        } catch (NumberParseException ex) {
+            return null;
+        }
+    }
+}
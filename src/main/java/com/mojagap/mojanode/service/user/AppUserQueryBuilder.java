@@ -0,0 +1,317 @@
+package com.mojagap.mojanode.service.user;
+
+import com.mojagap.mojanode.dto.user.UserSqlResultSet;
+import com.mojagap.mojanode.infrastructure.ErrorMessages;
+import com.mojagap.mojanode.infrastructure.exception.BadRequestException;
+import com.mojagap.mojanode.model.common.PageCursor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds the user search SQL with only the predicates of the filters that were given, so that MySQL can pick an
+ * index for them. Text filters match by prefix ({@code col LIKE 'x%'}) which an index range scan can serve, ids,
+ * status, date, flags and phone numbers, which are stored in E.164, match by equality. Sorting is restricted to {@link AppUserSortKey} and paging is either
+ * keyset, after a {@link PageCursor}, or offset.
+ */
+public class AppUserQueryBuilder {
+
+    static final String CURSOR_ID = "cursorId";
+    static final String CURSOR_VALUE = "cursorValue";
+
+    private final StringBuilder where = new StringBuilder();
+    private final MapSqlParameterSource parameters = new MapSqlParameterSource();
+    private final Set<Join> joins = EnumSet.noneOf(Join.class);
+    private AppUserSortKey sortKey = AppUserSortKey.ID;
+    private SortOrder sortOrder = SortOrder.ASC;
+    private String keysetPredicate;
+    private Integer limit;
+    private int offset;
+
+    private AppUserQueryBuilder(Integer accountId) {
+        where.append("WHERE appUser.account_id = :accountId\n");
+        parameters.addValue("accountId", accountId, Types.INTEGER);
+    }
+
+    public static AppUserQueryBuilder forAccount(Integer accountId) {
+        return new AppUserQueryBuilder(accountId);
+    }
+
+    public AppUserQueryBuilder filters(Map<String, String> queryParams) {
+        for (AppUserFilter filter : AppUserFilter.values()) {
+            String value = queryParams.get(filter.getParam());
+            if (value != null && !value.isBlank()) {
+                filter(filter, value.trim());
+            }
+        }
+        return this;
+    }
+
+    public AppUserQueryBuilder filter(AppUserFilter filter, String value) {
+        where.append("  AND ").append(filter.getPredicate()).append("\n");
+        parameters.addValue(filter.getParam(), filter.getMatchType().toSqlValue(value), filter.getMatchType().getSqlType());
+        if (filter.getJoin() != null) {
+            joins.add(filter.getJoin());
+        }
+        return this;
+    }
+
+    public AppUserQueryBuilder idIn(Collection<Integer> ids) {
+        where.append("  AND appUser.id IN (:searchIds)\n");
+        parameters.addValue("searchIds", ids);
+        return this;
+    }
+
+    /**
+     * Substring match over the searchable fields. No index can serve it, so it is only used while the
+     * {@link com.mojagap.mojanode.service.user.search.UserSearchIndex} is not ready.
+     */
+    public AppUserQueryBuilder containing(String fragment) {
+        where.append("  AND (appUser.first_name LIKE :search OR appUser.last_name LIKE :search OR appUser.email LIKE :search OR\n")
+                .append("       appUser.phone_number LIKE :search OR appUser.id_number LIKE :search)\n");
+        parameters.addValue("search", "%" + MatchType.PREFIX.toSqlValue(fragment), Types.VARCHAR);
+        return this;
+    }
+
+    public AppUserQueryBuilder sort(AppUserSortKey sortKey, SortOrder sortOrder) {
+        this.sortKey = sortKey;
+        this.sortOrder = sortOrder;
+        return this;
+    }
+
+    public AppUserQueryBuilder after(PageCursor pageCursor) {
+        if (!sortKey.getValue().equals(pageCursor.getSortBy()) || !sortOrder.name().equals(pageCursor.getSortOrder())) {
+            throw new BadRequestException(ErrorMessages.INVALID_PAGE_CURSOR);
+        }
+        String comparison = sortOrder == SortOrder.ASC ? ">" : "<";
+        parameters.addValue(CURSOR_ID, pageCursor.getId(), Types.INTEGER);
+        if (sortKey == AppUserSortKey.ID) {
+            keysetPredicate = "  AND appUser.id " + comparison + " :" + CURSOR_ID + "\n";
+        } else {
+            parameters.addValue(CURSOR_VALUE, sortKey.toSqlValue(pageCursor.getValue()), sortKey.getSqlType());
+            keysetPredicate = "  AND (" + sortKey.getColumn() + " " + comparison + " :" + CURSOR_VALUE + " OR\n" +
+                    "       (" + sortKey.getColumn() + " = :" + CURSOR_VALUE + " AND appUser.id " + comparison + " :" + CURSOR_ID + "))\n";
+        }
+        return this;
+    }
+
+    public AppUserQueryBuilder page(int limit, int offset) {
+        this.limit = limit;
+        this.offset = offset;
+        return this;
+    }
+
+    public String buildSelect() {
+        StringBuilder query = new StringBuilder(SELECT)
+                .append("FROM app_user appUser\n");
+        Arrays.stream(Join.values()).forEach(join -> query.append(join.getClause()));
+        query.append(where);
+        if (keysetPredicate != null) {
+            query.append(keysetPredicate);
+        }
+        query.append("ORDER BY ");
+        if (sortKey != AppUserSortKey.ID) {
+            query.append(sortKey.getColumn()).append(" ").append(sortOrder.name()).append(", ");
+        }
+        query.append("appUser.id ").append(sortOrder.name()).append("\n");
+        if (limit != null) {
+            query.append("LIMIT :limit OFFSET :offset\n");
+        }
+        return query.toString();
+    }
+
+    /**
+     * Counts the filtered users without paging. Only joins that a filter needs are emitted.
+     */
+    public String buildCount() {
+        StringBuilder query = new StringBuilder("SELECT COUNT(*)\n")
+                .append("FROM app_user appUser\n");
+        joins.forEach(join -> query.append(join.getClause()));
+        return query.append(where).toString();
+    }
+
+    /**
+     * Selects every filtered user in id order, without paging and without the password hash, for streaming out.
+     */
+    public String buildExport() {
+        StringBuilder query = new StringBuilder(EXPORT_SELECT)
+                .append("FROM app_user appUser\n");
+        Arrays.stream(Join.values()).forEach(join -> query.append(join.getClause()));
+        return query.append(where).append("ORDER BY appUser.id ASC\n").toString();
+    }
+
+    public MapSqlParameterSource getParameters() {
+        if (limit != null) {
+            parameters.addValue("limit", limit, Types.INTEGER);
+            parameters.addValue("offset", offset, Types.INTEGER);
+        }
+        return parameters;
+    }
+
+    private static final String SELECT = "SELECT appUser.id                                                AS id,\n" +
+            "       appUser.first_name                                       AS firstName,\n" +
+            "       appUser.last_name                                        AS lastName,\n" +
+            "       appUser.address                                          AS address,\n" +
+            "       appUser.email                                            AS email,\n" +
+            "       appUser.record_status                                    AS status,\n" +
+            "       appUser.date_of_birth                                    AS dateOfBirth,\n" +
+            "       appUser.id_number                                        AS idNumber,\n" +
+            "       appUser.phone_number                                     AS phoneNumber,\n" +
+            "       appUser.is_verified                                      AS verified,\n" +
+            "       appUser.password                                         AS password,\n" +
+            "       org.id                                                   AS organizationId,\n" +
+            "       org.name                                                 AS organizationName,\n" +
+            "       CONCAT(createdBy.first_name, ' ', createdBy.last_name)   AS createdByFullName,\n" +
+            "       CONCAT(modifiedBy.first_name, ' ', modifiedBy.last_name) AS modifiedByFullName\n";
+
+    private static final String EXPORT_SELECT = "SELECT appUser.id                                                AS id,\n" +
+            "       appUser.first_name                                       AS firstName,\n" +
+            "       appUser.last_name                                        AS lastName,\n" +
+            "       appUser.email                                            AS email,\n" +
+            "       appUser.phone_number                                     AS phoneNumber,\n" +
+            "       appUser.id_number                                        AS idNumber,\n" +
+            "       appUser.address                                          AS address,\n" +
+            "       appUser.date_of_birth                                    AS dateOfBirth,\n" +
+            "       appUser.record_status                                    AS status,\n" +
+            "       appUser.is_verified                                      AS verified,\n" +
+            "       org.id                                                   AS organizationId,\n" +
+            "       org.name                                                 AS organizationName,\n" +
+            "       CONCAT(createdBy.first_name, ' ', createdBy.last_name)   AS createdByFullName,\n" +
+            "       CONCAT(modifiedBy.first_name, ' ', modifiedBy.last_name) AS modifiedByFullName\n";
+
+    @AllArgsConstructor
+    @Getter
+    enum Join {
+        COMPANY("         LEFT OUTER JOIN company org\n" +
+                "                         ON org.id = appUser.company_id\n"),
+        CREATED_BY("         LEFT OUTER JOIN app_user createdBy\n" +
+                "                         ON createdBy.id = appUser.created_by\n"),
+        MODIFIED_BY("         LEFT OUTER JOIN app_user modifiedBy\n" +
+                "                         ON modifiedBy.id = appUser.modified_by\n");
+        private final String clause;
+    }
+
+    @AllArgsConstructor
+    @Getter
+    public enum MatchType {
+        EQUALS(Types.VARCHAR),
+        INTEGER(Types.INTEGER),
+        BOOLEAN(Types.BOOLEAN),
+        DATE(Types.DATE),
+        PREFIX(Types.VARCHAR);
+        private final int sqlType;
+
+        Object toSqlValue(String value) {
+            try {
+                switch (this) {
+                    case INTEGER:
+                        return Integer.valueOf(value);
+                    case BOOLEAN:
+                        return Boolean.valueOf(value);
+                    case DATE:
+                        return java.sql.Date.valueOf(value);
+                    case PREFIX:
+                        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+                    default:
+                        return value;
+                }
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException(ErrorMessages.INVALID_FILTER_VALUE);
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    @Getter
+    public enum AppUserFilter {
+        ID("id", "appUser.id = :id", MatchType.INTEGER, null),
+        FIRST_NAME("firstName", "appUser.first_name LIKE :firstName", MatchType.PREFIX, null),
+        LAST_NAME("lastName", "appUser.last_name LIKE :lastName", MatchType.PREFIX, null),
+        ADDRESS("address", "appUser.address LIKE :address", MatchType.PREFIX, null),
+        EMAIL("email", "appUser.email LIKE :email", MatchType.PREFIX, null),
+        STATUS("status", "appUser.record_status = :status", MatchType.EQUALS, null),
+        DATE_OF_BIRTH("dateOfBirth", "appUser.date_of_birth = :dateOfBirth", MatchType.DATE, null),
+        ID_NUMBER("idNumber", "appUser.id_number LIKE :idNumber", MatchType.PREFIX, null),
+        PHONE_NUMBER("phoneNumber", "appUser.phone_number = :phoneNumber", MatchType.EQUALS, null),
+        VERIFIED("verified", "appUser.is_verified = :verified", MatchType.BOOLEAN, null),
+        ORGANIZATION_ID("organizationId", "appUser.company_id = :organizationId", MatchType.INTEGER, null),
+        ORGANIZATION_NAME("organizationName", "org.name LIKE :organizationName", MatchType.PREFIX, Join.COMPANY),
+        CREATED_BY_FULL_NAME("createdByFullName", "CONCAT(createdBy.first_name, ' ', createdBy.last_name) LIKE :createdByFullName", MatchType.PREFIX, Join.CREATED_BY),
+        MODIFIED_BY_FULL_NAME("modifiedByFullName", "CONCAT(modifiedBy.first_name, ' ', modifiedBy.last_name) LIKE :modifiedByFullName", MatchType.PREFIX, Join.MODIFIED_BY);
+        private final String param;
+        private final String predicate;
+        private final MatchType matchType;
+        private final Join join;
+    }
+
+    public enum SortOrder {
+        ASC,
+        DESC;
+
+        public static SortOrder fromValue(String value) {
+            return "desc".equalsIgnoreCase(value) ? DESC : ASC;
+        }
+    }
+
+    /**
+     * Columns users can be sorted on. Only these ever end up in the ORDER BY and keyset predicate, all of them
+     * are NOT NULL so that the keyset comparison is well defined.
+     */
+    @AllArgsConstructor
+    @Getter
+    public enum AppUserSortKey {
+        ID("id", "appUser.id", Types.INTEGER),
+        FIRST_NAME("firstName", "appUser.first_name", Types.VARCHAR),
+        LAST_NAME("lastName", "appUser.last_name", Types.VARCHAR),
+        EMAIL("email", "appUser.email", Types.VARCHAR),
+        DATE_OF_BIRTH("dateOfBirth", "appUser.date_of_birth", Types.DATE);
+        private final String value;
+        private final String column;
+        private final int sqlType;
+
+        public static AppUserSortKey fromValue(String value) {
+            if (value == null) {
+                return ID;
+            }
+            return Arrays.stream(values()).filter(sortKey -> sortKey.getValue().equals(value)).findFirst()
+                    .orElseThrow(() -> new BadRequestException(ErrorMessages.INVALID_SORT_FIELD));
+        }
+
+        public String valueOf(UserSqlResultSet userSqlResultSet) {
+            switch (this) {
+                case FIRST_NAME:
+                    return userSqlResultSet.getFirstName();
+                case LAST_NAME:
+                    return userSqlResultSet.getLastName();
+                case EMAIL:
+                    return userSqlResultSet.getEmail();
+                case DATE_OF_BIRTH:
+                    return new java.sql.Date(userSqlResultSet.getDateOfBirth().getTime()).toString();
+                default:
+                    return String.valueOf(userSqlResultSet.getId());
+            }
+        }
+
+        public Object toSqlValue(String value) {
+            try {
+                switch (sqlType) {
+                    case Types.DATE:
+                        return java.sql.Date.valueOf(value);
+                    case Types.INTEGER:
+                        return Integer.valueOf(value);
+                    default:
+                        return value;
+                }
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException(ErrorMessages.INVALID_PAGE_CURSOR);
+            }
+        }
+    }
+}
@@ -1,20 +1,32 @@
 package com.mojagap.mojanode.service.user;
 
+import com.mojagap.mojanode.controller.ActionResponse;
 import com.mojagap.mojanode.dto.user.AppUserDto;
+import com.mojagap.mojanode.dto.user.UserImportJobDto;
 import com.mojagap.mojanode.infrastructure.AppContext;
 import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import com.mojagap.mojanode.model.common.ActionTypeEnum;
 import com.mojagap.mojanode.model.http.ExternalUser;
+import com.mojagap.mojanode.model.http.PartnerOutbox;
 import com.mojagap.mojanode.model.user.AppUser;
 import com.mojagap.mojanode.repository.company.CompanyRepository;
 import com.mojagap.mojanode.repository.user.AppUserRepository;
-import com.mojagap.mojanode.service.httpgateway.RestTemplateService;
+import com.mojagap.mojanode.service.outbox.PartnerOutboxService;
+import com.mojagap.mojanode.service.phone.PhoneNumberService;
+import com.mojagap.mojanode.service.user.importer.UserImportService;
 import com.mojagap.mojanode.service.user.interfaces.UserCommandHandler;
+import com.mojagap.mojanode.service.user.search.AppUserSavedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletResponse;
+import java.io.InputStream;
+import java.util.List;
 
 @Service
 public class UserCommandService implements UserCommandHandler {
@@ -26,11 +38,20 @@ public class UserCommandService implements UserCommandHandler {
     private AppUserRepository appUserRepository;
 
     @Autowired
-    private RestTemplateService restTemplateService;
+    private PartnerOutboxService partnerOutboxService;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private PhoneNumberService phoneNumberService;
+
     @Autowired
     AuthenticationManager authenticationManager;
 
@@ -40,10 +61,12 @@ public class UserCommandService implements UserCommandHandler {
 
     @Override
     public AppUserDto createUser(AppUserDto appUserDto) {
+        appUserDto.setPhoneNumber(phoneNumberService.normalize(appUserDto.getPhoneNumber(), AppContext.getLoggedInUser().getAccount().getCountryCode()));
         AppUser appUser = new AppUser(appUserDto);
         AppContext.stamp(appUser);
         appUser.setPassword(passwordEncoder.encode(appUserDto.getPassword()));
         appUser = appUserRepository.saveAndFlush(appUser);
+        applicationEventPublisher.publishEvent(new AppUserSavedEvent(List.of(appUser)));
         appUserDto.setId(appUser.getId());
         return appUserDto;
     }
@@ -59,8 +82,14 @@ public class UserCommandService implements UserCommandHandler {
     }
 
     @Override
-    public ExternalUser createExternalUser(ExternalUser externalUser) {
-        return restTemplateService.doHttpPost(ApplicationConstants.BANK_TRANSFER_BASE_URL + "/users", externalUser, ExternalUser.class);
+    @Transactional
+    public ActionResponse createExternalUser(ExternalUser externalUser) {
+        PartnerOutbox partnerOutbox = partnerOutboxService.enqueue(ActionTypeEnum.CREATE, HttpMethod.POST, ApplicationConstants.BANK_TRANSFER_BASE_URL + "/users", externalUser);
+        return new ActionResponse(partnerOutbox.getId());
+    }
 
+    @Override
+    public UserImportJobDto importUsers(InputStream csv) {
+        return userImportService.submit(csv);
     }
 }
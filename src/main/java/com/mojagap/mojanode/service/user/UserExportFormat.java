@@ -0,0 +1,95 @@
+package com.mojagap.mojanode.service.user;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.mojagap.mojanode.infrastructure.ErrorMessages;
+import com.mojagap.mojanode.infrastructure.exception.BadRequestException;
+import com.mojagap.mojanode.infrastructure.utility.CommonUtil;
+import com.opencsv.CSVWriter;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Output formats of the user export. Each one writes a row at a time to the response, so nothing but the current
+ * row is held in memory.
+ */
+@AllArgsConstructor
+@Getter
+public enum UserExportFormat {
+    CSV("csv", "text/csv") {
+        @Override
+        public RowWriter open(OutputStream outputStream, String[] columns) {
+            CSVWriter csvWriter = new CSVWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+            csvWriter.writeNext(columns, false);
+            return new RowWriter() {
+                @Override
+                public void write(Object[] values) {
+                    String[] row = new String[values.length];
+                    for (int index = 0; index < values.length; index++) {
+                        row[index] = values[index] == null ? null : values[index].toString();
+                    }
+                    csvWriter.writeNext(row, false);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    csvWriter.flush();
+                }
+            };
+        }
+    },
+    NDJSON("ndjson", "application/x-ndjson") {
+        @Override
+        public RowWriter open(OutputStream outputStream, String[] columns) throws IOException {
+            JsonGenerator jsonGenerator = CommonUtil.OBJECT_MAPPER.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            jsonGenerator.setRootValueSeparator(null);
+            return new RowWriter() {
+                @Override
+                public void write(Object[] values) throws IOException {
+                    jsonGenerator.writeStartObject();
+                    for (int index = 0; index < values.length; index++) {
+                        Object value = values[index];
+                        if (value == null) {
+                            jsonGenerator.writeNullField(columns[index]);
+                        } else if (value instanceof Number || value instanceof Boolean) {
+                            jsonGenerator.writeObjectField(columns[index], value);
+                        } else {
+                            jsonGenerator.writeStringField(columns[index], value.toString());
+                        }
+                    }
+                    jsonGenerator.writeEndObject();
+                    jsonGenerator.writeRaw('\n');
+                }
+
+                @Override
+                public void close() throws IOException {
+                    jsonGenerator.close();
+                }
+            };
+        }
+    };
+
+    private final String value;
+    private final String mediaType;
+
+    public abstract RowWriter open(OutputStream outputStream, String[] columns) throws IOException;
+
+    public static UserExportFormat fromValue(String value) {
+        if (value == null) {
+            return CSV;
+        }
+        for (UserExportFormat format : values()) {
+            if (format.getValue().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException(ErrorMessages.INVALID_EXPORT_FORMAT);
+    }
+
+    public interface RowWriter extends Closeable {
+        void write(Object[] values) throws IOException;
+    }
+}
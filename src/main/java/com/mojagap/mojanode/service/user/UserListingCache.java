@@ -0,0 +1,118 @@
+package com.mojagap.mojanode.service.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mojagap.mojanode.dto.user.AppUserDto;
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import com.mojagap.mojanode.model.common.RecordHolder;
+import com.mojagap.mojanode.service.company.CompanySavedEvent;
+import com.mojagap.mojanode.service.user.UserQueryService.AppUserQueryParams;
+import com.mojagap.mojanode.service.user.search.AppUserSavedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Pages of the user listing per account, keyed by the account, its current generation and the listing's query
+ * parameters with blanks and unknown parameters dropped, so pollers asking the same question share one result and
+ * concurrent misses for it run the query once. Saving a user or company of an account moves the account to a new
+ * generation once the transaction commits; entries of older generations are never read again but are not removed
+ * early either, they only leave like any other entry, when the {@code USER_LISTING_CACHE_MB} budget is exceeded or
+ * after {@code USER_LISTING_CACHE_SECONDS}. Writes made by other nodes, or not yet on the replica the page was read
+ * from, show after at most {@code USER_LISTING_CACHE_SECONDS}.
+ * <p>
+ * Cached pages are shared between callers and must not be modified.
+ */
+@Component
+public class UserListingCache {
+
+    public static final String CACHE_NAME = "user.listing";
+
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+    private static final int RECORD_OVERHEAD_BYTES = 640;
+    private static final Set<String> KEY_PARAMS = Arrays.stream(AppUserQueryParams.values()).map(AppUserQueryParams::getValue).collect(Collectors.toSet());
+
+    private final Map<Integer, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Cache<String, RecordHolder<AppUserDto>> pages = Caffeine.newBuilder()
+            .maximumWeight(ApplicationConstants.USER_LISTING_CACHE_MB * 1024 * 1024)
+            .weigher(UserListingCache::estimateBytes)
+            .expireAfterWrite(ApplicationConstants.USER_LISTING_CACHE_SECONDS, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void registerMetrics() {
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, CACHE_NAME);
+    }
+
+    public RecordHolder<AppUserDto> get(Integer accountId, Map<String, String> queryParams, Supplier<RecordHolder<AppUserDto>> loader) {
+        return pages.get(key(accountId, queryParams), key -> loader.get());
+    }
+
+    /**
+     * @return a number that changes whenever the account's users or companies do, for other caches of the
+     * account's users to key on
+     */
+    public long generation(Integer accountId) {
+        AtomicLong generation = generations.get(accountId);
+        return generation == null ? 0 : generation.get();
+    }
+
+    public void invalidate(Integer accountId) {
+        generations.computeIfAbsent(accountId, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppUserSaved(AppUserSavedEvent event) {
+        event.getAppUsers().stream()
+                .filter(appUser -> appUser.getAccount() != null)
+                .map(appUser -> appUser.getAccount().getId())
+                .distinct()
+                .forEach(this::invalidate);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompanySaved(CompanySavedEvent event) {
+        invalidate(event.getAccountId());
+    }
+
+    private String key(Integer accountId, Map<String, String> queryParams) {
+        Map<String, String> normalized = new TreeMap<>();
+        queryParams.forEach((param, value) -> {
+            if (value != null && !value.isBlank() && KEY_PARAMS.contains(param)) {
+                normalized.put(param, value.trim());
+            }
+        });
+        return accountId + ":" + generation(accountId) + ":" + normalized;
+    }
+
+    private static int estimateBytes(String key, RecordHolder<AppUserDto> page) {
+        long bytes = ENTRY_OVERHEAD_BYTES + 2L * key.length();
+        for (AppUserDto appUserDto : page.getRecords()) {
+            bytes += RECORD_OVERHEAD_BYTES + 2L * (length(appUserDto.getFirstName()) + length(appUserDto.getLastName())
+                    + length(appUserDto.getEmail()) + length(appUserDto.getPhoneNumber()) + length(appUserDto.getAddress())
+                    + length(appUserDto.getIdNumber()));
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
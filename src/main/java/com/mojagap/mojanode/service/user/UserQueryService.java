@@ -1,25 +1,43 @@
 package com.mojagap.mojanode.service.user;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mojagap.mojanode.dto.mapper.AppUserMapper;
 import com.mojagap.mojanode.dto.user.AppUserDto;
+import com.mojagap.mojanode.dto.user.ExternalUserSyncDto;
+import com.mojagap.mojanode.dto.user.UserImportJobDto;
 import com.mojagap.mojanode.dto.user.UserSqlResultSet;
 import com.mojagap.mojanode.infrastructure.AppContext;
 import com.mojagap.mojanode.infrastructure.ApplicationConstants;
 import com.mojagap.mojanode.infrastructure.ErrorMessages;
 import com.mojagap.mojanode.infrastructure.PowerValidator;
+import com.mojagap.mojanode.infrastructure.exception.BadRequestException;
 import com.mojagap.mojanode.infrastructure.security.AppUserDetails;
 import com.mojagap.mojanode.infrastructure.utility.DateUtil;
+import com.mojagap.mojanode.model.common.PageCursor;
 import com.mojagap.mojanode.model.common.RecordHolder;
 import com.mojagap.mojanode.model.http.ExternalUser;
 import com.mojagap.mojanode.model.user.AppUser;
 import com.mojagap.mojanode.model.user.IdentificationEnum;
 import com.mojagap.mojanode.repository.user.AppUserRepository;
+import com.mojagap.mojanode.service.httpgateway.GatewayRequest;
+import com.mojagap.mojanode.service.httpgateway.GatewayResult;
 import com.mojagap.mojanode.service.httpgateway.RestTemplateService;
+import com.mojagap.mojanode.service.phone.PhoneNumberService;
+import com.mojagap.mojanode.service.user.AppUserQueryBuilder.AppUserFilter;
+import com.mojagap.mojanode.service.user.AppUserQueryBuilder.AppUserSortKey;
+import com.mojagap.mojanode.service.user.AppUserQueryBuilder.SortOrder;
+import com.mojagap.mojanode.service.user.importer.UserImportService;
 import com.mojagap.mojanode.service.user.interfaces.UserQueryHandler;
+import com.mojagap.mojanode.service.user.search.AppUserSavedEvent;
+import com.mojagap.mojanode.service.user.search.UserSearchIndex;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -29,16 +47,24 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Types;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -54,25 +80,181 @@ public class UserQueryService implements UserDetailsService, UserQueryHandler {
     private NamedParameterJdbcTemplate jdbcTemplate;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private UserSearchIndex userSearchIndex;
 
+    @Autowired
+    private PhoneNumberService phoneNumberService;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserListingCache userListingCache;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final String[] EXPORT_COLUMNS = {"id", "firstName", "lastName", "email", "phoneNumber", "idNumber", "address",
+            "dateOfBirth", "status", "verified", "organizationId", "organizationName", "createdByFullName", "modifiedByFullName"};
+
+    private final Cache<String, Integer> totalCountCache = Caffeine.newBuilder()
+            .expireAfterWrite(ApplicationConstants.TOTAL_COUNT_CACHE_SECONDS, TimeUnit.SECONDS)
+            .maximumSize(10_000)
+            .build();
+
+    /**
+     * Pages by keyset on {@code (sortBy, id)}: the {@code nextCursor} of a page is passed back as {@code cursor}
+     * to get the next one, so every page costs the same however deep it is. {@code offset} is still honoured
+     * when no cursor is given. The total is only counted when {@code includeTotal=true} and is cached briefly
+     * per account and filter set. Whole pages are served from the {@link UserListingCache}.
+     */
     @Override
+    @Transactional(readOnly = true)
     public RecordHolder<AppUserDto> getAppUsersByQueryParams(Map<String, String> queryParams) {
         AppUser loggedInUser = AppContext.getLoggedInUser();
-        Arrays.asList(AppUserQueryParams.values()).forEach(param -> queryParams.putIfAbsent(param.getValue(), null));
-        MapSqlParameterSource mapSqlParameterSource = new MapSqlParameterSource(queryParams);
-        mapSqlParameterSource.addValue(AppUserQueryParams.ACCOUNT_ID.getValue(), loggedInUser.getAccount().getId());
-        if (queryParams.get(AppUserQueryParams.VERIFIED.getValue()) != null) {
-            mapSqlParameterSource.addValue(AppUserQueryParams.VERIFIED.getValue(), Boolean.parseBoolean(queryParams.get(AppUserQueryParams.VERIFIED.getValue())), Types.BOOLEAN);
+        return userListingCache.get(loggedInUser.getAccount().getId(), queryParams, () -> loadAppUsers(loggedInUser, queryParams));
+    }
+
+    private RecordHolder<AppUserDto> loadAppUsers(AppUser loggedInUser, Map<String, String> queryParams) {
+        AppUserSortKey sortKey = AppUserSortKey.fromValue(queryParams.get(AppUserQueryParams.SORT_BY.getValue()));
+        SortOrder sortOrder = SortOrder.fromValue(queryParams.get(AppUserQueryParams.SORT_ORDER.getValue()));
+        int limit = queryParams.get(AppUserQueryParams.LIMIT.getValue()) != null ? Integer.parseInt(queryParams.get(AppUserQueryParams.LIMIT.getValue())) : ApplicationConstants.DEFAULT_PAGE_SIZE;
+        limit = Math.max(1, Math.min(limit, ApplicationConstants.MAX_PAGE_SIZE));
+        Optional<AppUserQueryBuilder> searchQueryBuilder = searchQueryBuilder(loggedInUser, queryParams);
+        if (searchQueryBuilder.isEmpty()) {
+            Integer totalRecords = Boolean.parseBoolean(queryParams.get(AppUserQueryParams.INCLUDE_TOTAL.getValue())) ? 0 : null;
+            return new RecordHolder<>(totalRecords, List.of(), null);
+        }
+        AppUserQueryBuilder queryBuilder = searchQueryBuilder.get().sort(sortKey, sortOrder);
+        String cursorToken = queryParams.get(AppUserQueryParams.CURSOR.getValue());
+        int offset = 0;
+        if (cursorToken != null) {
+            queryBuilder.after(PageCursor.decode(cursorToken));
+        } else if (queryParams.get(AppUserQueryParams.OFFSET.getValue()) != null) {
+            offset = Integer.parseInt(queryParams.get(AppUserQueryParams.OFFSET.getValue()));
         }
-        Integer limit = queryParams.get(AppUserQueryParams.LIMIT.getValue()) != null ? Integer.parseInt(queryParams.get(AppUserQueryParams.LIMIT.getValue())) : Integer.MAX_VALUE;
-        mapSqlParameterSource.addValue(AppUserQueryParams.LIMIT.getValue(), limit, Types.INTEGER);
-        Integer offset = queryParams.get(AppUserQueryParams.OFFSET.getValue()) != null ? Integer.parseInt(queryParams.get(AppUserQueryParams.OFFSET.getValue())) : 0;
-        mapSqlParameterSource.addValue(AppUserQueryParams.OFFSET.getValue(), offset, Types.INTEGER);
-        List<UserSqlResultSet> sqlResultSets = jdbcTemplate.query(appUserQuery(), mapSqlParameterSource, new AppUserMapper());
-        List<AppUserDto> appUserDtos = sqlResultSets.stream().map(resultSet -> modelMapper.map(resultSet, AppUserDto.class))
+        queryBuilder.page(limit + 1, offset);
+
+        List<UserSqlResultSet> sqlResultSets = jdbcTemplate.query(queryBuilder.buildSelect(), queryBuilder.getParameters(), new AppUserRowMapper());
+        String nextCursor = null;
+        if (sqlResultSets.size() > limit) {
+            sqlResultSets = sqlResultSets.subList(0, limit);
+            UserSqlResultSet lastRecord = sqlResultSets.get(limit - 1);
+            nextCursor = new PageCursor(sortKey.getValue(), sortOrder.name(), sortKey.valueOf(lastRecord), lastRecord.getId()).encode();
+        }
+        List<AppUserDto> appUserDtos = sqlResultSets.stream().map(AppUserMapper.INSTANCE::toDto)
                 .collect(Collectors.toList());
-        return new RecordHolder<>(appUserDtos.size(), appUserDtos);
+        Integer totalRecords = Boolean.parseBoolean(queryParams.get(AppUserQueryParams.INCLUDE_TOTAL.getValue()))
+                ? countAppUsers(loggedInUser, queryParams) : null;
+        return new RecordHolder<>(totalRecords, appUserDtos, nextCursor);
+    }
+
+    private Integer countAppUsers(AppUser loggedInUser, Map<String, String> queryParams) {
+        Map<String, String> filters = new TreeMap<>();
+        queryParams.forEach((key, value) -> {
+            if (value != null && !PAGING_PARAMS.contains(key)) {
+                filters.put(key, value);
+            }
+        });
+        Integer accountId = loggedInUser.getAccount().getId();
+        String cacheKey = accountId + ":" + userListingCache.generation(accountId) + ":" + filters;
+        return totalCountCache.get(cacheKey, key -> searchQueryBuilder(loggedInUser, queryParams)
+                .map(queryBuilder -> jdbcTemplate.queryForObject(queryBuilder.buildCount(), queryBuilder.getParameters(), Integer.class))
+                .orElse(0));
+    }
+
+    /**
+     * Streams every user matching the listing filters. The query is resolved here, on the request thread that
+     * holds the logged in user, and rows are then read through a forward-only result set, streamed row by row on
+     * MySQL and fetched {@code EXPORT_FETCH_SIZE} at a time elsewhere, and written out one at a time, in a read-only
+     * transaction so that the replica serves it when one is configured.
+     */
+    @Override
+    public StreamingResponseBody exportAppUsers(Map<String, String> queryParams, UserExportFormat format) {
+        Optional<AppUserQueryBuilder> searchQueryBuilder = searchQueryBuilder(AppContext.getLoggedInUser(), queryParams);
+        String sql = searchQueryBuilder.map(AppUserQueryBuilder::buildExport).orElse(null);
+        MapSqlParameterSource parameters = searchQueryBuilder.map(AppUserQueryBuilder::getParameters).orElse(null);
+        AppUser loggedInUser = AppContext.getLoggedInUser();
+        return outputStream -> {
+            if (sql == null) {
+                format.open(outputStream, EXPORT_COLUMNS).close();
+                return;
+            }
+            TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+            readOnlyTransaction.setReadOnly(true);
+            AppContext.setLoggedInUser(loggedInUser);
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> writeExport(sql, parameters, format, outputStream));
+            } finally {
+                AppContext.setLoggedInUser(null);
+            }
+        };
+    }
+
+    private void writeExport(String sql, MapSqlParameterSource parameters, UserExportFormat format, OutputStream outputStream) {
+        JdbcTemplate exportJdbcTemplate = new StreamingJdbcTemplate(dataSource);
+        exportJdbcTemplate.setFetchSize(ApplicationConstants.EXPORT_FETCH_SIZE);
+        new NamedParameterJdbcTemplate(exportJdbcTemplate).query(sql, parameters, (ResultSetExtractor<Void>) resultSet -> {
+            try (UserExportFormat.RowWriter rowWriter = format.open(outputStream, EXPORT_COLUMNS)) {
+                Object[] values = new Object[EXPORT_COLUMNS.length];
+                while (resultSet.next()) {
+                    for (int index = 0; index < values.length; index++) {
+                        values[index] = resultSet.getObject(index + 1);
+                    }
+                    rowWriter.write(values);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Applies the filters and resolves a {@code search} fragment to the matching user ids through the search
+     * index before the table is touched. A fragment matching more than {@code USER_SEARCH_MAX_CANDIDATES} users
+     * is rejected, the caller has to search for a more specific term.
+     *
+     * @return empty when the search matches no user at all
+     */
+    private Optional<AppUserQueryBuilder> searchQueryBuilder(AppUser loggedInUser, Map<String, String> queryParams) {
+        Integer accountId = loggedInUser.getAccount().getId();
+        AppUserQueryBuilder queryBuilder = AppUserQueryBuilder.forAccount(accountId).filters(withNormalizedPhoneNumber(loggedInUser, queryParams));
+        String search = queryParams.get(AppUserQueryParams.SEARCH.getValue());
+        if (search == null || search.isBlank()) {
+            return Optional.of(queryBuilder);
+        }
+        Optional<Set<Integer>> searchIds = userSearchIndex.search(accountId, search);
+        if (searchIds.isEmpty()) {
+            return Optional.of(queryBuilder.containing(search.trim()));
+        }
+        if (searchIds.get().size() > ApplicationConstants.USER_SEARCH_MAX_CANDIDATES) {
+            throw new BadRequestException(ErrorMessages.SEARCH_TOO_BROAD);
+        }
+        return searchIds.get().isEmpty() ? Optional.empty() : Optional.of(queryBuilder.idIn(searchIds.get()));
+    }
+
+    /**
+     * Phone numbers are stored in E.164, so the filter is normalized for the account's region and matched exactly.
+     */
+    private Map<String, String> withNormalizedPhoneNumber(AppUser loggedInUser, Map<String, String> queryParams) {
+        String phoneNumber = queryParams.get(AppUserFilter.PHONE_NUMBER.getParam());
+        if (phoneNumber == null || phoneNumber.isBlank()) {
+            return queryParams;
+        }
+        Map<String, String> normalizedParams = new HashMap<>(queryParams);
+        normalizedParams.put(AppUserFilter.PHONE_NUMBER.getParam(), phoneNumberService.find(phoneNumber, loggedInUser.getAccount().getCountryCode())
+                .orElseThrow(() -> new BadRequestException(ErrorMessages.INVALID_FILTER_VALUE)));
+        return normalizedParams;
     }
 
     @Override
@@ -92,33 +274,78 @@ public class UserQueryService implements UserDetailsService, UserQueryHandler {
         queryParams.set("name", "Peter");
         queryParams.set("age", "56");
         queryParams.set("sex", "MALE");
-        return restTemplateService.doHttpGet(ApplicationConstants.BANK_TRANSFER_BASE_URL + "/users/" + id, queryParams, ExternalUser.class);
+        return restTemplateService.doHedgedHttpGet(ApplicationConstants.BANK_TRANSFER_BASE_URL + "/users/" + id, queryParams, ExternalUser.class);
+    }
+
+    @Override
+    public List<GatewayResult<ExternalUser>> getExternalUsersByIds(List<Integer> ids) {
+        if (ids.size() > ApplicationConstants.GATEWAY_FAN_OUT_MAX_REQUESTS) {
+            throw new BadRequestException(String.format(ErrorMessages.TOO_MANY_EXTERNAL_USER_IDS, ApplicationConstants.GATEWAY_FAN_OUT_MAX_REQUESTS));
+        }
+        List<GatewayRequest<ExternalUser>> requests = ids.stream()
+                .map(id -> GatewayRequest.get(ApplicationConstants.BANK_TRANSFER_BASE_URL + "/users/" + id, ExternalUser.class))
+                .collect(Collectors.toList());
+        return restTemplateService.doHttpGetAll(requests);
+    }
+
+    /**
+     * Saves the partner's users chunk by chunk, each chunk is detached once saved so that memory stays bounded by
+     * the chunk size however many users the partner returns.
+     */
+    @Override
+    public ExternalUserSyncDto getExternalUsers() {
+        Long usersSaved = restTemplateService.doHttpGetStream(ApplicationConstants.BANK_TRANSFER_BASE_URL + "/users", null, ExternalUser.class,
+                ApplicationConstants.GATEWAY_STREAM_CHUNK_SIZE, externalUsers -> {
+                    List<AppUser> chunk = externalUsers.stream().map(x -> {
+                        AppUser appUser = new AppUser();
+                        appUser.setId(x.getId());
+                        appUser.setLastName(x.getName());
+                        appUser.setFirstName(x.getUsername());
+                        appUser.setPhoneNumber(x.getPhone());
+                        appUser.setEmail(x.getEmail());
+                        appUser.setAddress("XXXXXXXXX");
+                        appUser.setPassword("PASSWORD");
+                        appUser.setVerified(Boolean.FALSE);
+                        appUser.setDateOfBirth(DateUtil.now());
+                        appUser.setIdNumber(IdentificationEnum.NATIONAL_ID.name());
+                        AppContext.stamp(appUser);
+                        return appUser;
+                    }).collect(Collectors.toList());
+                    appUserRepository.saveAllAndFlush(chunk);
+                    applicationEventPublisher.publishEvent(new AppUserSavedEvent(chunk));
+                    chunk.forEach(entityManager::detach);
+                });
+        return new ExternalUserSyncDto(usersSaved);
     }
 
     @Override
-    public List<AppUser> getExternalUsers() {
-        ExternalUser[] externalUsers = restTemplateService.doHttpGet(ApplicationConstants.BANK_TRANSFER_BASE_URL + "/users", null, ExternalUser[].class);
-        List<AppUser> appUsers = List.of(externalUsers).stream().map(x -> {
-            AppUser appUser = new AppUser();
-            appUser.setId(x.getId());
-            appUser.setLastName(x.getName());
-            appUser.setFirstName(x.getUsername());
-            appUser.setPhoneNumber(x.getPhone());
-            appUser.setEmail(x.getEmail());
-            appUser.setAddress("XXXXXXXXX");
-            appUser.setPassword("PASSWORD");
-            appUser.setVerified(Boolean.FALSE);
-            appUser.setDateOfBirth(DateUtil.now());
-            appUser.setIdNumber(IdentificationEnum.NATIONAL_ID.name());
-            AppContext.stamp(appUser);
-            return appUser;
-        }).collect(Collectors.toList());
-        appUserRepository.saveAllAndFlush(appUsers);
-        return appUsers;
+    public UserImportJobDto getUserImportJob(String jobId) {
+        return userImportService.getJob(jobId);
     }
 
 
-    private static final class AppUserMapper implements RowMapper<UserSqlResultSet> {
+    /**
+     * MySQL Connector/J only streams a result set, rather than reading it whole, for a fetch size of
+     * {@link Integer#MIN_VALUE}, which other drivers reject. Streaming is enabled here, per statement, so that the
+     * rest of the application keeps its regular statements.
+     */
+    private static final class StreamingJdbcTemplate extends JdbcTemplate {
+        private static final String MYSQL = "MySQL";
+
+        private StreamingJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        protected void applyStatementSettings(Statement statement) throws SQLException {
+            super.applyStatementSettings(statement);
+            if (MYSQL.equals(statement.getConnection().getMetaData().getDatabaseProductName())) {
+                statement.setFetchSize(Integer.MIN_VALUE);
+            }
+        }
+    }
+
+    private static final class AppUserRowMapper implements RowMapper<UserSqlResultSet> {
 
         @Override
         public UserSqlResultSet mapRow(ResultSet resultSet, int i) throws SQLException {
@@ -146,7 +373,6 @@ public class UserQueryService implements UserDetailsService, UserQueryHandler {
     public enum AppUserQueryParams {
         LIMIT("limit"),
         OFFSET("offset"),
-        ACCOUNT_ID("accountid"),
         ID("id"),
         LAST_NAME("lastName"),
         FIRST_NAME("firstName"),
@@ -162,50 +388,16 @@ public class UserQueryService implements UserDetailsService, UserQueryHandler {
         COMPANY_ID("organizationId"),
         VERIFIED("verified"),
         CREATED_BY_FULL_NAME("createdByFullName"),
-        MODIFIED_BY_FULL_NAME("modifiedByFullName");
+        MODIFIED_BY_FULL_NAME("modifiedByFullName"),
+        CURSOR("cursor"),
+        SORT_ORDER("sortOrder"),
+        INCLUDE_TOTAL("includeTotal"),
+        SEARCH("search");
         private final String value;
     }
 
-    private String appUserQuery() {
-        return "SELECT appUser.id                                                AS id,\n" +
-                "       appUser.first_name                                       AS firstName,\n" +
-                "       appUser.last_name                                        AS lastName,\n" +
-                "       appUser.address                                          AS address,\n" +
-                "       appUser.email                                            AS email,\n" +
-                "       appUser.record_status                                    AS status,\n" +
-                "       appUser.date_of_birth                                    AS dateOfBirth,\n" +
-                "       appUser.id_number                                        AS idNumber,\n" +
-                "       appUser.phone_number                                     AS phoneNumber,\n" +
-                "       appUser.is_verified                                      AS verified,\n" +
-                "       appUser.password                                         AS password,\n" +
-                "       org.id                                                   AS organizationId,\n" +
-                "       org.name                                                 AS organizationName,\n" +
-                "       CONCAT(createdBy.first_name, ' ', createdBy.last_name)   AS createdByFullName,\n" +
-                "       CONCAT(modifiedBy.first_name, ' ', modifiedBy.last_name) AS modifiedByFullName\n" +
-                "FROM app_user appUser\n" +
-                "         LEFT OUTER JOIN organization org\n" +
-                "                         ON org.id = appUser.org_id\n" +
-                "         INNER JOIN app_user createdBy\n" +
-                "                    ON createdBy.id = appUser.id\n" +
-                "         INNER JOIN app_user modifiedBy\n" +
-                "                    ON modifiedBy.id = appUser.id\n" +
-                "WHERE (appUser.id = :id OR :id IS NULL)\n" +
-                "  AND (LOWER(appUser.first_name) LIKE CONCAT('%', :firstName, '%') OR :firstName IS NULL)\n" +
-                "  AND (LOWER(appUser.last_name) LIKE CONCAT('%', :lastName, '%') OR :lastName IS NULL)\n" +
-                "  AND (LOWER(appUser.address) LIKE CONCAT('%', :address, '%') OR :address IS NULL)\n" +
-                "  AND (LOWER(appUser.email) LIKE CONCAT('%', :email, '%') OR :email IS NULL)\n" +
-                "  AND (appUser.record_status = :status OR :status IS NULL)\n" +
-                "  AND (appUser.date_of_birth = DATE(:dateOfBirth) OR :dateOfBirth IS NULL)\n" +
-                "  AND (LOWER(appUser.id_number) LIKE CONCAT('%', :idNumber, '%') OR :idNumber IS NULL)\n" +
-                "  AND (LOWER(appUser.phone_number) LIKE CONCAT('%', :phoneNumber, '%') OR :phoneNumber IS NULL)\n" +
-                "  AND (appUser.is_verified = :verified OR :verified IS NULL)\n" +
-                "  AND (org.id = :organizationId OR :organizationId IS NULL)\n" +
-                "  AND (LOWER(org.name) LIKE CONCAT('%', :organizationName, '%') OR :organizationName IS NULL)\n" +
-                "  AND (LOWER(CONCAT(createdBy.first_name, ' ', createdBy.last_name)) LIKE CONCAT('%', :createdByFullName, '%') OR\n" +
-                "       :createdByFullName IS NULL)\n" +
-                "  AND (LOWER(CONCAT(modifiedBy.first_name, ' ', modifiedBy.last_name)) LIKE CONCAT('%', :modifiedByFullName, '%') OR\n" +
-                "       :modifiedByFullName IS NULL)\n" +
-                "ORDER BY :sortBy\n" +
-                "LIMIT :limit OFFSET :offset\n";
-    }
+    private static final Set<String> PAGING_PARAMS = Set.of(AppUserQueryParams.LIMIT.getValue(), AppUserQueryParams.OFFSET.getValue(),
+            AppUserQueryParams.CURSOR.getValue(), AppUserQueryParams.SORT_BY.getValue(), AppUserQueryParams.SORT_ORDER.getValue(),
+            AppUserQueryParams.INCLUDE_TOTAL.getValue());
+
 }
@@ -0,0 +1,100 @@
+package com.mojagap.mojanode.service.user.importer;
+
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import com.mojagap.mojanode.infrastructure.utility.DateUtil;
+import com.mojagap.mojanode.model.account.CountryCode;
+import com.mojagap.mojanode.model.user.UserImport;
+import com.mojagap.mojanode.model.user.UserImportError;
+import com.mojagap.mojanode.model.user.UserImportStatusEnum;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One import as run by the thread that reads its file. Progress is recorded on the {@link UserImport} and the row
+ * errors since the last save are held until {@link #drainErrors()}; status requests read what was last saved. Only
+ * the first {@code USER_IMPORT_MAX_REPORTED_ERRORS} row errors are kept; all of them are counted.
+ */
+public class UserImportJob {
+
+    @Getter
+    private final UserImport userImport = new UserImport();
+    @Getter
+    private final CountryCode countryCode;
+    private final List<UserImportError> unsavedErrors = new ArrayList<>();
+    private final Set<String> emails = new HashSet<>();
+    private long reportedErrors;
+
+    public UserImportJob(Integer accountId, CountryCode countryCode) {
+        this.countryCode = countryCode;
+        userImport.setJobId(UUID.randomUUID().toString());
+        userImport.setAccountId(accountId);
+        userImport.setStatus(UserImportStatusEnum.QUEUED);
+        userImport.setRowsRead(0L);
+        userImport.setRowsImported(0L);
+        userImport.setRowsFailed(0L);
+        userImport.setCreatedOn(DateUtil.now());
+    }
+
+    public String getId() {
+        return userImport.getJobId();
+    }
+
+    public Integer getAccountId() {
+        return userImport.getAccountId();
+    }
+
+    public void start() {
+        userImport.setStartedOn(DateUtil.now());
+        userImport.setStatus(UserImportStatusEnum.RUNNING);
+    }
+
+    public void complete() {
+        userImport.setFinishedOn(DateUtil.now());
+        userImport.setStatus(UserImportStatusEnum.COMPLETED);
+    }
+
+    public void fail(String reason) {
+        userImport.setFailureReason(reason);
+        userImport.setFinishedOn(DateUtil.now());
+        userImport.setStatus(UserImportStatusEnum.FAILED);
+    }
+
+    public void rowRead() {
+        userImport.setRowsRead(userImport.getRowsRead() + 1);
+    }
+
+    public void rowsImported(int count) {
+        userImport.setRowsImported(userImport.getRowsImported() + count);
+    }
+
+    public void rowFailed(long row, String email, String message) {
+        userImport.setRowsFailed(userImport.getRowsFailed() + 1);
+        if (reportedErrors < ApplicationConstants.USER_IMPORT_MAX_REPORTED_ERRORS) {
+            reportedErrors++;
+            unsavedErrors.add(new UserImportError(row, email, message));
+        }
+    }
+
+    /**
+     * @return false when an earlier row of the same file already has this email
+     */
+    public boolean claimEmail(String email) {
+        return emails.add(email.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return the row errors recorded since the last call, attached to this import
+     */
+    public List<UserImportError> drainErrors() {
+        List<UserImportError> userImportErrors = new ArrayList<>(unsavedErrors);
+        unsavedErrors.clear();
+        userImportErrors.forEach(userImportError -> userImportError.setUserImportId(userImport.getId()));
+        return userImportErrors;
+    }
+}
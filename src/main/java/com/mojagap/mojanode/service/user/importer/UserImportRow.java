@@ -0,0 +1,70 @@
+package com.mojagap.mojanode.service.user.importer;
+
+import com.mojagap.mojanode.dto.user.AppUserDto;
+import com.mojagap.mojanode.infrastructure.ErrorMessages;
+import com.mojagap.mojanode.infrastructure.utility.DateUtil;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One data row of an import file, numbered from 1 after the header, with the user it describes or the reason it
+ * cannot be imported.
+ */
+@Getter
+@Setter
+public class UserImportRow {
+
+    private final long row;
+    private final AppUserDto appUserDto = new AppUserDto();
+    private String error;
+    private String passwordHash;
+
+    private UserImportRow(long row) {
+        this.row = row;
+    }
+
+    /**
+     * @param header column names, matching the {@link AppUserDto} fields, in any order
+     */
+    public static UserImportRow parse(long row, String[] header, String[] values) {
+        UserImportRow importRow = new UserImportRow(row);
+        if (values.length != header.length) {
+            importRow.setError(String.format(ErrorMessages.INVALID_IMPORT_COLUMN_COUNT, header.length, values.length));
+            return importRow;
+        }
+        Map<String, String> columns = new HashMap<>();
+        for (int index = 0; index < header.length; index++) {
+            String value = values[index].trim();
+            columns.put(header[index].trim(), value.isEmpty() ? null : value);
+        }
+        AppUserDto appUserDto = importRow.getAppUserDto();
+        appUserDto.setFirstName(columns.get("firstName"));
+        appUserDto.setLastName(columns.get("lastName"));
+        appUserDto.setIdNumber(columns.get("idNumber"));
+        appUserDto.setIdType(columns.get("idType"));
+        appUserDto.setAddress(columns.get("address"));
+        appUserDto.setEmail(columns.get("email"));
+        appUserDto.setPhoneNumber(columns.get("phoneNumber"));
+        appUserDto.setPassword(columns.get("password"));
+        String dateOfBirth = columns.get("dateOfBirth");
+        if (dateOfBirth != null) {
+            SimpleDateFormat dateFormat = new SimpleDateFormat(DateUtil.DD_MMM_YYY);
+            dateFormat.setLenient(false);
+            try {
+                appUserDto.setDateOfBirth(dateFormat.parse(dateOfBirth));
+            } catch (ParseException ex) {
+                importRow.setError(String.format(ErrorMessages.INVALID_IMPORT_DATE_OF_BIRTH, DateUtil.DD_MMM_YYY));
+            }
+        }
+        return importRow;
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
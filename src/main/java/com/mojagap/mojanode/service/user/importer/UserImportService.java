@@ -0,0 +1,304 @@
+package com.mojagap.mojanode.service.user.importer;
+
+import com.mojagap.mojanode.dto.user.AppUserDto;
+import com.mojagap.mojanode.dto.user.UserImportJobDto;
+import com.mojagap.mojanode.infrastructure.AppContext;
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import com.mojagap.mojanode.infrastructure.ErrorMessages;
+import com.mojagap.mojanode.infrastructure.exception.BadRequestException;
+import com.mojagap.mojanode.infrastructure.exception.RecordNotFoundException;
+import com.mojagap.mojanode.infrastructure.validation.ValidationError;
+import com.mojagap.mojanode.model.account.Account;
+import com.mojagap.mojanode.model.account.CountryCode;
+import com.mojagap.mojanode.model.user.AppUser;
+import com.mojagap.mojanode.model.user.UserImport;
+import com.mojagap.mojanode.repository.account.AccountRepository;
+import com.mojagap.mojanode.repository.user.AppUserRepository;
+import com.mojagap.mojanode.repository.user.UserImportErrorRepository;
+import com.mojagap.mojanode.repository.user.UserImportRepository;
+import com.mojagap.mojanode.service.phone.PhoneNumberService;
+import com.mojagap.mojanode.service.user.search.AppUserSavedEvent;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the users listed in a CSV file for the logged in user's account. The upload is spooled to a temporary
+ * file so the request returns at once with a job id, and the file is then read a chunk of
+ * {@code USER_IMPORT_CHUNK_SIZE} rows at a time. Rows of a chunk are validated in parallel, emails already taken
+ * are rejected before any password is hashed, BCrypt runs on the bounded {@code userImportWorkerExecutor} and the
+ * chunk is inserted in one batched transaction. When that transaction hits a constraint, the chunk is retried a
+ * row at a time so that only the offending rows fail. Every failed row is reported on the job with its reason.
+ * The job's progress and failed rows are saved after every chunk, so any node can report on it.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger LOG = Logger.getLogger(UserImportService.class.getName());
+    private static final String UTF8_BOM = "\uFEFF";
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private UserImportRepository userImportRepository;
+
+    @Autowired
+    private UserImportErrorRepository userImportErrorRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private PhoneNumberService phoneNumberService;
+
+    @Autowired
+    @Qualifier("userImportJobExecutor")
+    private ExecutorService userImportJobExecutor;
+
+    @Autowired
+    @Qualifier("userImportWorkerExecutor")
+    private ExecutorService userImportWorkerExecutor;
+
+    public UserImportJobDto submit(InputStream csv) {
+        AppUser loggedInUser = AppContext.getLoggedInUser();
+        Path upload = spool(csv);
+        UserImportJob job = new UserImportJob(loggedInUser.getAccount().getId(), loggedInUser.getAccount().getCountryCode());
+        save(job);
+        userImportJobExecutor.execute(() -> {
+            AppContext.setLoggedInUser(loggedInUser);
+            try {
+                run(job, upload);
+            } finally {
+                AppContext.setLoggedInUser(null);
+                deleteQuietly(upload);
+            }
+        });
+        return new UserImportJobDto(job.getUserImport(), List.of());
+    }
+
+    public UserImportJobDto getJob(String jobId) {
+        UserImport userImport = userImportRepository.findByJobIdAndAccountId(jobId, AppContext.getLoggedInUser().getAccount().getId())
+                .orElseThrow(() -> new RecordNotFoundException(ErrorMessages.USER_IMPORT_JOB_NOT_FOUND));
+        return new UserImportJobDto(userImport, userImportErrorRepository.findByUserImportIdOrderByRowNumber(userImport.getId()));
+    }
+
+    void run(UserImportJob job, Path upload) {
+        job.start();
+        save(job);
+        try (Reader reader = Files.newBufferedReader(upload, StandardCharsets.UTF_8); CSVReader csvReader = new CSVReader(reader)) {
+            String[] header = csvReader.readNext();
+            if (header == null) {
+                throw new BadRequestException(ErrorMessages.EMPTY_IMPORT_FILE);
+            }
+            header[0] = header[0].replace(UTF8_BOM, "");
+            List<UserImportRow> chunk = new ArrayList<>(ApplicationConstants.USER_IMPORT_CHUNK_SIZE);
+            long row = 0;
+            while (true) {
+                String[] values;
+                try {
+                    values = csvReader.readNext();
+                } catch (CsvValidationException ex) {
+                    job.rowRead();
+                    job.rowFailed(++row, null, ex.getMessage());
+                    continue;
+                }
+                if (values == null) {
+                    break;
+                }
+                if (values.length == 1 && values[0].isBlank()) {
+                    continue;
+                }
+                job.rowRead();
+                chunk.add(UserImportRow.parse(++row, header, values));
+                if (chunk.size() == ApplicationConstants.USER_IMPORT_CHUNK_SIZE) {
+                    importChunk(job, chunk);
+                    save(job);
+                    chunk = new ArrayList<>(ApplicationConstants.USER_IMPORT_CHUNK_SIZE);
+                }
+            }
+            importChunk(job, chunk);
+            job.complete();
+        } catch (Exception ex) {
+            LOG.log(Level.SEVERE, "User import " + job.getId() + " failed", ex);
+            job.fail(ex.getMessage());
+        }
+        save(job);
+    }
+
+    private void importChunk(UserImportJob job, List<UserImportRow> chunk) {
+        inParallel(chunk, importRow -> validate(importRow, job.getCountryCode()));
+        Set<String> takenEmails = takenEmails(chunk);
+        for (UserImportRow importRow : chunk) {
+            String email = importRow.getAppUserDto().getEmail();
+            if (importRow.isValid() && (takenEmails.contains(email) || !job.claimEmail(email))) {
+                importRow.setError(ErrorMessages.EMAIL_ALREADY_REGISTERED);
+            }
+        }
+        inParallel(chunk, importRow -> importRow.setPasswordHash(passwordEncoder.encode(importRow.getAppUserDto().getPassword())));
+        List<UserImportRow> validRows = new ArrayList<>();
+        for (UserImportRow importRow : chunk) {
+            if (importRow.isValid()) {
+                validRows.add(importRow);
+            } else {
+                job.rowFailed(importRow.getRow(), importRow.getAppUserDto().getEmail(), importRow.getError());
+            }
+        }
+        if (validRows.isEmpty()) {
+            return;
+        }
+        try {
+            saved(job, insert(job.getAccountId(), validRows));
+        } catch (DataIntegrityViolationException ex) {
+            for (UserImportRow importRow : validRows) {
+                try {
+                    saved(job, insert(job.getAccountId(), List.of(importRow)));
+                } catch (DataIntegrityViolationException rowException) {
+                    LOG.log(Level.WARNING, "User import " + job.getId() + " row " + importRow.getRow() + " rejected: " + rowException.getMostSpecificCause().getMessage());
+                    job.rowFailed(importRow.getRow(), importRow.getAppUserDto().getEmail(), ErrorMessages.USER_IMPORT_ROW_REJECTED);
+                }
+            }
+        }
+    }
+
+    private void validate(UserImportRow importRow, CountryCode countryCode) {
+        AppUserDto appUserDto = importRow.getAppUserDto();
+        List<ValidationError> errors = new ArrayList<>(appUserDto.validationErrors());
+        if (errors.stream().noneMatch(error -> error.getField().equals("phoneNumber"))) {
+            Optional<String> phoneNumber = phoneNumberService.find(appUserDto.getPhoneNumber(), countryCode);
+            if (phoneNumber.isPresent()) {
+                appUserDto.setPhoneNumber(phoneNumber.get());
+            } else {
+                errors.add(new ValidationError("phoneNumber", ErrorMessages.INVALID_PHONE_NUMBER));
+            }
+        }
+        if (!errors.isEmpty()) {
+            importRow.setError(errors.stream().map(ValidationError::getMessage).collect(Collectors.joining("; ")));
+        }
+    }
+
+    private Set<String> takenEmails(List<UserImportRow> chunk) {
+        List<String> emails = chunk.stream().filter(UserImportRow::isValid).map(importRow -> importRow.getAppUserDto().getEmail()).collect(Collectors.toList());
+        return emails.isEmpty() ? Set.of() : appUserRepository.findExistingEmails(emails);
+    }
+
+    /**
+     * Runs {@code work} on every valid row on the worker pool and waits for all of them. A row whose work throws
+     * fails on its own, the other rows of the chunk carry on.
+     */
+    @SneakyThrows(InterruptedException.class)
+    private void inParallel(List<UserImportRow> chunk, Consumer<UserImportRow> work) {
+        Map<UserImportRow, Future<?>> futures = new LinkedHashMap<>();
+        for (UserImportRow importRow : chunk) {
+            if (importRow.isValid()) {
+                futures.put(importRow, userImportWorkerExecutor.submit(() -> work.accept(importRow)));
+            }
+        }
+        for (Map.Entry<UserImportRow, Future<?>> entry : futures.entrySet()) {
+            try {
+                entry.getValue().get();
+            } catch (ExecutionException ex) {
+                UserImportRow importRow = entry.getKey();
+                LOG.log(Level.WARNING, "User import row " + importRow.getRow() + " failed", ex.getCause());
+                importRow.setError(ErrorMessages.USER_IMPORT_ROW_FAILED);
+            }
+        }
+    }
+
+    private List<AppUser> insert(Integer accountId, List<UserImportRow> importRows) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Account account = accountRepository.getById(accountId);
+            List<AppUser> appUsers = importRows.stream().map(importRow -> {
+                AppUser appUser = new AppUser(importRow.getAppUserDto());
+                appUser.setPassword(importRow.getPasswordHash());
+                appUser.setVerified(Boolean.FALSE);
+                appUser.setAccount(account);
+                AppContext.stamp(appUser);
+                return appUser;
+            }).collect(Collectors.toList());
+            return appUserRepository.saveAllAndFlush(appUsers);
+        });
+    }
+
+    private void save(UserImportJob job) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userImportRepository.save(job.getUserImport());
+            userImportErrorRepository.saveAll(job.drainErrors());
+        });
+    }
+
+    private void saved(UserImportJob job, List<AppUser> appUsers) {
+        job.rowsImported(appUsers.size());
+        applicationEventPublisher.publishEvent(new AppUserSavedEvent(appUsers));
+    }
+
+    private static Path spool(InputStream csv) {
+        try {
+            Path upload = Files.createTempFile("user-import-", ".csv");
+            long maxBytes = ApplicationConstants.USER_IMPORT_MAX_MB * 1024 * 1024;
+            long copied = 0;
+            byte[] buffer = new byte[8192];
+            try (OutputStream outputStream = Files.newOutputStream(upload)) {
+                int read;
+                while ((read = csv.read(buffer)) != -1) {
+                    copied += read;
+                    if (copied > maxBytes) {
+                        deleteQuietly(upload);
+                        throw new BadRequestException(String.format(ErrorMessages.IMPORT_FILE_TOO_LARGE, ApplicationConstants.USER_IMPORT_MAX_MB));
+                    }
+                    outputStream.write(buffer, 0, read);
+                }
+            }
+            return upload;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void deleteQuietly(Path upload) {
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException ex) {
+            LOG.log(Level.WARNING, "Could not delete " + upload, ex);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.mojagap.mojanode.service.user.interfaces;
 
+import com.mojagap.mojanode.controller.ActionResponse;
 import com.mojagap.mojanode.dto.user.AppUserDto;
+import com.mojagap.mojanode.dto.user.UserImportJobDto;
 import com.mojagap.mojanode.model.http.ExternalUser;
 
+import java.io.InputStream;
+
 public interface UserCommandHandler {
 
     AppUserDto createUser(AppUserDto appUserDto);
@@ -11,5 +15,7 @@ public interface UserCommandHandler {
 
     AppUserDto removeUser(Integer userId);
 
-    ExternalUser createExternalUser(ExternalUser externalUser);
+    ActionResponse createExternalUser(ExternalUser externalUser);
+
+    UserImportJobDto importUsers(InputStream csv);
 }
@@ -1,9 +1,13 @@
 package com.mojagap.mojanode.service.user.interfaces;
 
 import com.mojagap.mojanode.dto.user.AppUserDto;
+import com.mojagap.mojanode.dto.user.ExternalUserSyncDto;
+import com.mojagap.mojanode.dto.user.UserImportJobDto;
 import com.mojagap.mojanode.model.common.RecordHolder;
 import com.mojagap.mojanode.model.http.ExternalUser;
-import com.mojagap.mojanode.model.user.AppUser;
+import com.mojagap.mojanode.service.httpgateway.GatewayResult;
+import com.mojagap.mojanode.service.user.UserExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -12,7 +16,13 @@ public interface UserQueryHandler {
 
     RecordHolder<AppUserDto> getAppUsersByQueryParams(Map<String, String> queryParams);
 
+    StreamingResponseBody exportAppUsers(Map<String, String> queryParams, UserExportFormat format);
+
     ExternalUser getExternalUserById(Integer id);
 
-    List<AppUser> getExternalUsers();
+    List<GatewayResult<ExternalUser>> getExternalUsersByIds(List<Integer> ids);
+
+    ExternalUserSyncDto getExternalUsers();
+
+    UserImportJobDto getUserImportJob(String jobId);
 }
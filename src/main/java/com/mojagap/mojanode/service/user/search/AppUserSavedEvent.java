@@ -0,0 +1,13 @@
+package com.mojagap.mojanode.service.user.search;
+
+import com.mojagap.mojanode.model.user.AppUser;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class AppUserSavedEvent {
+    private final List<AppUser> appUsers;
+}
@@ -0,0 +1,108 @@
+package com.mojagap.mojanode.service.user.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Substring index over short documents. Each document is broken into its trigrams and a posting set of document
+ * ids is kept per trigram. A query of three characters or more intersects the postings of its trigrams, smallest
+ * first, and then checks the few remaining candidates against the documents, so results are exact. Shorter
+ * queries have no trigram to look up and scan the documents instead.
+ */
+public class TrigramIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<Integer, String> documents = new HashMap<>();
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Integer id, String document) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+            documents.put(id, document);
+            trigrams(document).forEach(trigram -> postings.computeIfAbsent(trigram, key -> new HashSet<>()).add(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Set<Integer> search(String fragment) {
+        lock.readLock().lock();
+        try {
+            if (fragment.length() < GRAM) {
+                return scan(documents.keySet(), fragment);
+            }
+            List<Set<Integer>> candidateSets = new ArrayList<>();
+            for (String trigram : trigrams(fragment)) {
+                Set<Integer> posting = postings.get(trigram);
+                if (posting == null) {
+                    return Collections.emptySet();
+                }
+                candidateSets.add(posting);
+            }
+            candidateSets.sort(Comparator.comparingInt(Set::size));
+            Set<Integer> candidates = new HashSet<>(candidateSets.get(0));
+            for (int index = 1; index < candidateSets.size() && !candidates.isEmpty(); index++) {
+                candidates.retainAll(candidateSets.get(index));
+            }
+            return scan(candidates, fragment);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Integer> scan(Collection<Integer> ids, String fragment) {
+        Set<Integer> matches = new HashSet<>();
+        for (Integer id : ids) {
+            if (documents.get(id).contains(fragment)) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    private void removeUnlocked(Integer id) {
+        String previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String trigram : trigrams(previous)) {
+            Set<Integer> posting = postings.get(trigram);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (int index = 0; index + GRAM <= text.length(); index++) {
+            trigrams.add(text.substring(index, index + GRAM));
+        }
+        return trigrams;
+    }
+}
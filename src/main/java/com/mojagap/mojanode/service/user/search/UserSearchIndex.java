@@ -0,0 +1,148 @@
+package com.mojagap.mojanode.service.user.search;
+
+import com.mojagap.mojanode.model.user.AppUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-memory trigram index of users' first name, last name, email, phone number and ID number, one per account,
+ * answering substring searches with the exact set of matching user ids. It is built at startup, updated from
+ * {@link AppUserSavedEvent}s after commit and refreshed periodically from {@code modified_on} to pick up writes
+ * made by other nodes. A user re-indexed under another account is dropped from the previous one, and users deleted
+ * from the table, which no {@code modified_on} reveals, are purged by a periodic sweep of the user ids.
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final Logger LOG = Logger.getLogger(UserSearchIndex.class.getName());
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final long REFRESH_OVERLAP_MS = TimeUnit.SECONDS.toMillis(5);
+    private static final String INDEXED_COLUMNS = "SELECT id, account_id, first_name, last_name, email, phone_number, id_number FROM app_user\n";
+
+    private final Map<Integer, TrigramIndex> accountIndexes = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> userAccounts = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private volatile long lastRefreshedAt;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @return the ids of the account's users with the fragment in one of the indexed fields, or empty while the
+     * index is still being built in which case the caller should fall back to the database
+     */
+    public Optional<Set<Integer>> search(Integer accountId, String fragment) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        TrigramIndex index = accountIndexes.get(accountId);
+        return Optional.of(index == null ? Set.of() : index.search(normalize(fragment)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        accountIndexes.clear();
+        userAccounts.clear();
+        jdbcTemplate.query(INDEXED_COLUMNS, (RowCallbackHandler) this::index);
+        lastRefreshedAt = startedAt;
+        ready = true;
+        LOG.log(Level.INFO, "User search index built for " + accountIndexes.size() + " accounts in " + (System.currentTimeMillis() - startedAt) + "ms");
+    }
+
+    @Scheduled(fixedDelayString = "${MOJA_NODE_USER_SEARCH_REFRESH_MS:60000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        MapSqlParameterSource parameters = new MapSqlParameterSource("since", new Timestamp(lastRefreshedAt - REFRESH_OVERLAP_MS));
+        jdbcTemplate.query(INDEXED_COLUMNS + "WHERE modified_on >= :since", parameters, (RowCallbackHandler) this::index);
+        lastRefreshedAt = startedAt;
+    }
+
+    /**
+     * Ids are read after the snapshot of indexed users is taken, and users are only indexed once committed, so a
+     * user saved during the sweep is never mistaken for a deleted one.
+     */
+    @Scheduled(fixedDelayString = "${MOJA_NODE_USER_SEARCH_PURGE_MS:3600000}")
+    public void purgeDeleted() {
+        if (!ready) {
+            return;
+        }
+        Set<Integer> indexedUserIds = new HashSet<>(userAccounts.keySet());
+        indexedUserIds.removeAll(jdbcTemplate.getJdbcTemplate().queryForList("SELECT id FROM app_user", Integer.class));
+        indexedUserIds.forEach(this::remove);
+        if (!indexedUserIds.isEmpty()) {
+            LOG.log(Level.INFO, "Purged " + indexedUserIds.size() + " deleted users from the user search index");
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppUserSaved(AppUserSavedEvent event) {
+        for (AppUser appUser : event.getAppUsers()) {
+            if (appUser.getId() != null && appUser.getAccount() != null) {
+                index(appUser.getAccount().getId(), appUser.getId(), appUser.getFirstName(), appUser.getLastName(),
+                        appUser.getEmail(), appUser.getPhoneNumber(), appUser.getIdNumber());
+            }
+        }
+    }
+
+    private void index(ResultSet resultSet) throws SQLException {
+        index(resultSet.getInt("account_id"), resultSet.getInt("id"), resultSet.getString("first_name"), resultSet.getString("last_name"),
+                resultSet.getString("email"), resultSet.getString("phone_number"), resultSet.getString("id_number"));
+    }
+
+    private void index(Integer accountId, Integer userId, String... fields) {
+        StringBuilder document = new StringBuilder();
+        for (String field : fields) {
+            if (field != null) {
+                document.append(normalize(field));
+            }
+            document.append(FIELD_SEPARATOR);
+        }
+        accountIndexes.computeIfAbsent(accountId, key -> new TrigramIndex()).put(userId, document.toString());
+        Integer previousAccountId = userAccounts.put(userId, accountId);
+        if (previousAccountId != null && !previousAccountId.equals(accountId)) {
+            removeFromAccount(previousAccountId, userId);
+        }
+    }
+
+    private void remove(Integer userId) {
+        Integer accountId = userAccounts.remove(userId);
+        if (accountId != null) {
+            removeFromAccount(accountId, userId);
+        }
+    }
+
+    private void removeFromAccount(Integer accountId, Integer userId) {
+        TrigramIndex index = accountIndexes.get(accountId);
+        if (index != null) {
+            index.remove(userId);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,144 @@
+package com.mojagap.mojanode.benchmark;
+
+import com.mojagap.mojanode.model.user.AppUser;
+import com.mojagap.mojanode.repository.user.AppUserRepository;
+import com.mojagap.mojanode.support.MigratedH2Database;
+import com.mojagap.mojanode.support.QueryCountingJpa;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Rows per second for a bulk {@code saveAllAndFlush} of users, with ids from the pooled table generator and JDBC
+ * batching against the AUTO_INCREMENT ids used before, which run every INSERT on its own. H2 runs in memory, so
+ * {@code roundTripMicros} adds a simulated network round trip to every statement execution and commit, as a
+ * database on another host would.
+ * <p>
+ * Run with {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath com.mojagap.mojanode.benchmark.BulkInsertBenchmark"}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=benchmark/logback.xml")
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"identity", "pooled"})
+    private String idGeneration;
+
+    @Param({"0", "250"})
+    private long roundTripMicros;
+
+    private QueryCountingJpa jpa;
+    private Integer adminId;
+    private int sequence;
+
+    @Setup
+    public void setup() {
+        String[] mappingResources = idGeneration.equals("identity") ? new String[]{"benchmark/identity-ids-orm.xml"} : new String[0];
+        DataSource dataSource = withRoundTrip(MigratedH2Database.create("bulk_insert_" + idGeneration + "_" + roundTripMicros), TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        jpa = QueryCountingJpa.create(dataSource,
+                Map.of("hibernate.generate_statistics", "false", "hibernate.cache.use_second_level_cache", "false"), mappingResources);
+        EntityManager entityManager = jpa.getEntityManagerFactory().createEntityManager();
+        adminId = new JpaRepositoryFactory(entityManager).getRepository(AppUserRepository.class).findOneByEmail("admin@mojagap.io").getId();
+        entityManager.close();
+    }
+
+    @TearDown
+    public void tearDown() {
+        jpa.getEntityManagerFactory().close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<AppUser> saveAllAndFlush() {
+        EntityManager entityManager = jpa.getEntityManagerFactory().createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            AppUser admin = entityManager.find(AppUser.class, adminId);
+            List<AppUser> appUsers = new ArrayList<>(ROWS);
+            for (int index = 0; index < ROWS; index++) {
+                appUsers.add(newAppUser(admin, sequence++));
+            }
+            List<AppUser> saved = new JpaRepositoryFactory(entityManager).getRepository(AppUserRepository.class).saveAllAndFlush(appUsers);
+            entityManager.getTransaction().commit();
+            return saved;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static AppUser newAppUser(AppUser admin, int index) {
+        AppUser appUser = new AppUser();
+        appUser.setFirstName("Bulk");
+        appUser.setLastName("User" + index);
+        appUser.setDateOfBirth(new Date());
+        appUser.setIdNumber("B" + index);
+        appUser.setAddress("Kampala");
+        appUser.setEmail("bulk" + index + "@mojagap.io");
+        appUser.setPhoneNumber("+256780000000");
+        appUser.setPassword("secret");
+        appUser.setAccount(admin.getAccount());
+        appUser.setRole(admin.getRole());
+        appUser.setCreatedBy(admin);
+        appUser.setModifiedBy(admin);
+        appUser.setCreatedOn(new Date());
+        appUser.setModifiedOn(new Date());
+        appUser.setRecordStatus(admin.getRecordStatus());
+        return appUser;
+    }
+
+    private static DataSource withRoundTrip(DataSource dataSource, long roundTripNanos) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return delayed(Connection.class, super.getConnection(), roundTripNanos);
+            }
+        };
+    }
+
+    /**
+     * Proxies a connection, and the statements it creates, so that every call that would reach the server waits
+     * for one round trip first.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T delayed(Class<T> type, T target, long roundTripNanos) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, arguments) -> {
+            String name = method.getName();
+            if (name.startsWith("execute") || name.equals("commit")) {
+                LockSupport.parkNanos(roundTripNanos);
+            }
+            try {
+                Object result = method.invoke(target, arguments);
+                return result instanceof PreparedStatement ? delayed(PreparedStatement.class, (PreparedStatement) result, roundTripNanos) : result;
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BulkInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
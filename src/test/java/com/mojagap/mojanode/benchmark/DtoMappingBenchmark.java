@@ -0,0 +1,119 @@
+package com.mojagap.mojanode.benchmark;
+
+import com.mojagap.mojanode.dto.company.CompanyDto;
+import com.mojagap.mojanode.dto.mapper.AppUserMapper;
+import com.mojagap.mojanode.dto.mapper.CompanyMapper;
+import com.mojagap.mojanode.dto.mapper.RoleMapper;
+import com.mojagap.mojanode.dto.role.PermissionDto;
+import com.mojagap.mojanode.dto.role.RoleDto;
+import com.mojagap.mojanode.dto.user.AppUserDto;
+import com.mojagap.mojanode.dto.user.UserSqlResultSet;
+import com.mojagap.mojanode.model.common.ActionTypeEnum;
+import com.mojagap.mojanode.model.common.AuditEntity;
+import com.mojagap.mojanode.model.common.EntityTypeEnum;
+import com.mojagap.mojanode.model.company.Company;
+import com.mojagap.mojanode.model.role.Permission;
+import com.mojagap.mojanode.model.role.Role;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-object cost of the generated mappers against the reflective {@link ModelMapper} they replaced.
+ * <p>
+ * Run with {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath com.mojagap.mojanode.benchmark.DtoMappingBenchmark"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private UserSqlResultSet userSqlResultSet;
+    private CompanyDto companyDto;
+    private Role role;
+
+    @Setup
+    public void setup() {
+        userSqlResultSet = new UserSqlResultSet();
+        userSqlResultSet.setId(42);
+        userSqlResultSet.setFirstName("Julius");
+        userSqlResultSet.setLastName("Petero");
+        userSqlResultSet.setDateOfBirth(new Date());
+        userSqlResultSet.setIdNumber("CM90012345");
+        userSqlResultSet.setAddress("Plot 12, Kampala Road");
+        userSqlResultSet.setEmail("juliuspetero@outlook.com");
+        userSqlResultSet.setPhoneNumber("+256780000000");
+        userSqlResultSet.setStatus("ACTIVE");
+        userSqlResultSet.setVerified(Boolean.TRUE);
+        userSqlResultSet.setCompanyId(7);
+        userSqlResultSet.setCompanyName("Mojagap Uganda Ltd");
+
+        companyDto = new CompanyDto(null, "Mojagap Uganda Ltd", "BUSINESS");
+        companyDto.setRegistrationDate(new Date());
+        companyDto.setRegistrationNumber("80020001234567");
+        companyDto.setAddress("Plot 12, Kampala Road");
+        companyDto.setEmail("admin@mojagap.io");
+        companyDto.setPhoneNumber("+256780000000");
+
+        List<Permission> permissions = new ArrayList<>();
+        for (int index = 0; index < 20; index++) {
+            Permission permission = new Permission();
+            permission.setId(index);
+            permission.setName("PERMISSION_" + index);
+            permission.setEntityType(EntityTypeEnum.USER);
+            permission.setActionType(ActionTypeEnum.CREATE);
+            permissions.add(permission);
+        }
+        role = new Role("Super Administrator", "All permissions", null, AuditEntity.RecordStatus.ACTIVE, permissions);
+    }
+
+    @Benchmark
+    public AppUserDto userRow_modelMapper() {
+        return modelMapper.map(userSqlResultSet, AppUserDto.class);
+    }
+
+    @Benchmark
+    public AppUserDto userRow_generated() {
+        return AppUserMapper.INSTANCE.toDto(userSqlResultSet);
+    }
+
+    @Benchmark
+    public Company company_modelMapper() {
+        return modelMapper.map(companyDto, Company.class);
+    }
+
+    @Benchmark
+    public Company company_generated() {
+        return CompanyMapper.INSTANCE.toEntity(companyDto);
+    }
+
+    @Benchmark
+    public RoleDto roleWithPermissions_modelMapper() {
+        RoleDto roleDto = modelMapper.map(role, RoleDto.class);
+        List<PermissionDto> permissionDtos = new ArrayList<>();
+        role.getPermissions().forEach(permission -> permissionDtos.add(modelMapper.map(permission, PermissionDto.class)));
+        roleDto.setPermissions(permissionDtos);
+        return roleDto;
+    }
+
+    @Benchmark
+    public RoleDto roleWithPermissions_generated() {
+        return RoleMapper.INSTANCE.toDto(role);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DtoMappingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,225 @@
+package com.mojagap.mojanode.benchmark;
+
+import com.mojagap.mojanode.MojaNodeApplication;
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import com.mojagap.mojanode.infrastructure.utility.EnvironmentVariables;
+import com.mojagap.mojanode.model.user.PlatformTypeEnum;
+import com.mojagap.mojanode.service.httpgateway.AdaptiveConcurrencyLimiter;
+import com.mojagap.mojanode.service.httpgateway.PartnerConcurrencyLimiters;
+import com.sun.net.httpserver.HttpServer;
+import lombok.SneakyThrows;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of {@code GET /v1/user/external/{id}} while the partner answers every call after a fixed latency, in
+ * the execution mode set with {@code MOJA_NODE_EXECUTION_MODE}. The node runs on an in-memory H2 database against a
+ * local partner stub whose adaptive limit is lifted, as the limit otherwise follows the load generator's own
+ * scheduling jitter, so that only the request threads, the connection pool and the partner latency bound the
+ * throughput.
+ * <p>
+ * Arguments: concurrent clients, partner latency in milliseconds, warm up and measured seconds and database
+ * connections. Every request takes a connection three times, to authorize, to log the partner call and to log the
+ * activity, so a pool much smaller than the clients caps both modes alike. Run both modes with
+ * {@code scripts/gateway-load-test.sh}.
+ */
+public class GatewayLoadTest {
+
+    private static final String EXTERNAL_USER = "{\"id\":%s,\"name\":\"Leanne Graham\",\"username\":\"Bret\"," +
+            "\"email\":\"leanne@april.biz\",\"phone\":\"+256772123456\",\"website\":\"hildegard.org\"}";
+
+    private static final String SIGN_UP = "{\"accountType\":\"COMPANY\",\"countryCode\":\"UG\"," +
+            "\"users\":[{\"firstName\":\"Load\",\"lastName\":\"Tester\",\"idNumber\":\"CM1990123456789\",\"idType\":\"NATIONAL_ID\"," +
+            "\"dateOfBirth\":\"12/Mar/1990\",\"address\":\"Plot 12, Kampala Road\",\"email\":\"load.tester@mojagap.com\"," +
+            "\"phoneNumber\":\"0772123456\",\"password\":\"Secret#2021\"}]," +
+            "\"companies\":[{\"companyType\":\"BUSINESS\",\"name\":\"Load Test Limited\",\"registrationDate\":\"01/Jan/2015\",\"registrationNumber\":\"80020001234567\"," +
+            "\"address\":\"Plot 12, Kampala Road\",\"email\":\"company@mojagap.com\",\"phoneNumber\":\"0772123457\"}]}";
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int partnerLatencyMs = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int warmUpSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int measuredSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        int connections = args.length > 4 ? Integer.parseInt(args[4]) : 50;
+
+        HttpServer partner = startPartner(partnerLatencyMs);
+        System.setProperty(EnvironmentVariables.MOJA_NODE_BANK_TRANSFER_BASE_URL, "http://localhost:" + partner.getAddress().getPort());
+
+        ConfigurableApplicationContext context = SpringApplication.run(MojaNodeApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:gateway-load-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                "--spring.datasource.username=sa", "--spring.datasource.password=", "--server.port=0",
+                "--server.tomcat.max-connections=" + (clients * 2), "--spring.datasource.hikari.maximum-pool-size=" + connections,
+                "--logging.level.root=WARN");
+        try {
+            unboundPartnerLimit(context, "localhost");
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+            String authentication = signUp(httpClient, baseUrl);
+
+            Load warmUp = run(httpClient, baseUrl, authentication, clients, warmUpSeconds);
+            Load measured = run(httpClient, baseUrl, authentication, clients, measuredSeconds);
+            System.out.printf("mode=%s java=%s clients=%d partner-latency=%dms connections=%d warm-up=%.0f req/s%n",
+                    ApplicationConstants.EXECUTION_MODE, Runtime.version(), clients, partnerLatencyMs, connections, warmUp.throughput());
+            System.out.printf("throughput=%.0f req/s  p50=%dms  p99=%dms  errors=%d%n",
+                    measured.throughput(), measured.percentile(0.50), measured.percentile(0.99), measured.errors);
+        } finally {
+            context.close();
+            partner.stop(0);
+        }
+        System.exit(0);
+    }
+
+    private static HttpServer startPartner(int latencyMs) throws Exception {
+        HttpServer partner = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        partner.createContext("/users/", exchange -> {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = String.format(EXTERNAL_USER, path.substring(path.lastIndexOf('/') + 1)).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        partner.setExecutor(Executors.newCachedThreadPool());
+        partner.start();
+        return partner;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void unboundPartnerLimit(ConfigurableApplicationContext context, String host) {
+        PartnerConcurrencyLimiters partnerConcurrencyLimiters = context.getBean(PartnerConcurrencyLimiters.class);
+        ((Map<String, AdaptiveConcurrencyLimiter>) ReflectionTestUtils.getField(partnerConcurrencyLimiters, "limiters"))
+                .put(host, new UnboundedLimiter());
+    }
+
+    private static String signUp(HttpClient httpClient, String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/v1/account"))
+                .header("Content-Type", "application/json")
+                .header(ApplicationConstants.PLATFORM_TYPE_HEADER_KEY, String.valueOf(PlatformTypeEnum.WEB_APP.getId()))
+                .POST(HttpRequest.BodyPublishers.ofString(SIGN_UP))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        return response.headers().firstValue(ApplicationConstants.AUTHENTICATION_HEADER_NAME)
+                .orElseThrow(() -> new IllegalStateException("Sign up failed with " + response.statusCode() + ": " + response.body()));
+    }
+
+    private static Load run(HttpClient httpClient, String baseUrl, String authentication, int clients, int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        long startedAt = System.nanoTime();
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int client = 0; client < clients; client++) {
+            int userId = client % 10 + 1;
+            results.add(executor.submit(() -> drive(httpClient, baseUrl + "/v1/user/external/" + userId, authentication, deadline, errors)));
+        }
+        for (Future<long[]> result : results) {
+            latencies.add(result.get());
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdownNow();
+        return new Load(latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray(), errors.get(), elapsedNanos);
+    }
+
+    @SneakyThrows
+    private static long[] drive(HttpClient httpClient, String url, String authentication, long deadline, AtomicLong errors) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header(ApplicationConstants.AUTHENTICATION_HEADER_NAME, authentication)
+                .header(ApplicationConstants.PLATFORM_TYPE_HEADER_KEY, String.valueOf(PlatformTypeEnum.WEB_APP.getId()))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long[] latencies = new long[1024];
+        int completed = 0;
+        while (System.nanoTime() < deadline) {
+            long startedAt = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                    continue;
+                }
+            } catch (IOException ex) {
+                errors.incrementAndGet();
+                continue;
+            }
+            if (completed == latencies.length) {
+                latencies = Arrays.copyOf(latencies, completed * 2);
+            }
+            latencies[completed++] = System.nanoTime() - startedAt;
+        }
+        return Arrays.copyOf(latencies, completed);
+    }
+
+    private static final class UnboundedLimiter extends AdaptiveConcurrencyLimiter {
+
+        private UnboundedLimiter() {
+            super(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public boolean tryAcquire(long timeout, TimeUnit unit) {
+            return true;
+        }
+
+        @Override
+        public void onSuccess(long rttNanos) {
+        }
+
+        @Override
+        public void onDropped() {
+        }
+
+        @Override
+        public void onIgnored() {
+        }
+    }
+
+    private static final class Load {
+        private final long[] latencies;
+        private final long errors;
+        private final long elapsedNanos;
+
+        private Load(long[] latencies, long errors, long elapsedNanos) {
+            this.latencies = latencies;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        private double throughput() {
+            return latencies.length / (elapsedNanos / 1e9);
+        }
+
+        private long percentile(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            return TimeUnit.NANOSECONDS.toMillis(latencies[(int) Math.min(latencies.length - 1, Math.floor(latencies.length * percentile))]);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.mojagap.mojanode.benchmark;
+
+import com.mojagap.mojanode.dto.user.AppUserDto;
+import com.mojagap.mojanode.infrastructure.PowerValidator;
+import com.mojagap.mojanode.infrastructure.exception.BadRequestException;
+import com.mojagap.mojanode.infrastructure.validation.ValidationError;
+import com.mojagap.mojanode.model.user.IdentificationEnum;
+import lombok.SneakyThrows;
+import org.apache.commons.lang3.EnumUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Per-DTO cost of validating an {@link AppUserDto} with its precompiled rules, fail-fast and collecting every
+ * error, against the checks as they were before, which compiled the email and password patterns on every call.
+ * <p>
+ * Run with {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath com.mojagap.mojanode.benchmark.ValidationBenchmark"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    private String dto;
+
+    private AppUserDto appUserDto;
+
+    @Setup
+    public void setup() {
+        appUserDto = new AppUserDto();
+        appUserDto.setFirstName("Julius");
+        appUserDto.setLastName("Petero");
+        appUserDto.setIdNumber("CM90012345");
+        appUserDto.setIdType("NATIONAL_ID");
+        appUserDto.setDateOfBirth(new Date());
+        appUserDto.setAddress("Plot 12, Kampala Road");
+        appUserDto.setEmail("juliuspetero@outlook.com");
+        appUserDto.setPhoneNumber("+256772123456");
+        appUserDto.setPassword("Secret#2021");
+        if (dto.equals("invalid")) {
+            appUserDto.setIdType("PASSPORT_NUMBER");
+            appUserDto.setEmail("juliuspetero@outlook");
+            appUserDto.setPassword("secret2021");
+        }
+    }
+
+    @Benchmark
+    public Object perCallCompiledPatterns() {
+        try {
+            legacyValidate(appUserDto);
+            return null;
+        } catch (BadRequestException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public Object precompiledFailFast() {
+        try {
+            appUserDto.isValid();
+            return null;
+        } catch (BadRequestException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public List<ValidationError> precompiledCollectErrors() {
+        return appUserDto.validationErrors();
+    }
+
+    @SneakyThrows
+    private static void legacyValidate(AppUserDto appUserDto) {
+        legacyLength(appUserDto.getFirstName(), 5, 255);
+        legacyLength(appUserDto.getLastName(), 5, 255);
+        legacyLength(appUserDto.getIdNumber(), 5, 255);
+        if (!EnumUtils.isValidEnum(IdentificationEnum.class, appUserDto.getIdType())) {
+            throw new BadRequestException("idType");
+        }
+        if (appUserDto.getDateOfBirth() == null) {
+            throw new BadRequestException("dateOfBirth");
+        }
+        legacyLength(appUserDto.getAddress(), 10, 255);
+        Pattern emailPattern = Pattern.compile("^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+        if (appUserDto.getEmail() == null || !emailPattern.matcher(appUserDto.getEmail()).matches()) {
+            throw new BadRequestException("email");
+        }
+        PowerValidator.validPhoneNumber(appUserDto.getPhoneNumber(), "phoneNumber");
+        Pattern passwordPattern = Pattern.compile("^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=])(?=\\S+$).{8,20}$");
+        if (appUserDto.getPassword() == null || !passwordPattern.matcher(appUserDto.getPassword()).matches()) {
+            throw new BadRequestException("password");
+        }
+    }
+
+    private static void legacyLength(String value, int minLength, int maxLength) {
+        if (value == null || (value.length() < minLength && value.length() > maxLength)) {
+            throw new BadRequestException("length");
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ValidationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,61 @@
+package com.mojagap.mojanode.dto.mapper;
+
+import com.mojagap.mojanode.dto.company.CompanyDto;
+import com.mojagap.mojanode.dto.role.RoleDto;
+import com.mojagap.mojanode.dto.user.AppUserDto;
+import com.mojagap.mojanode.dto.user.UserSqlResultSet;
+import com.mojagap.mojanode.model.common.ActionTypeEnum;
+import com.mojagap.mojanode.model.common.AuditEntity;
+import com.mojagap.mojanode.model.common.EntityTypeEnum;
+import com.mojagap.mojanode.model.company.Company;
+import com.mojagap.mojanode.model.company.CompanyType;
+import com.mojagap.mojanode.model.role.Permission;
+import com.mojagap.mojanode.model.role.Role;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+
+public class DtoMappersTest {
+
+    @Test
+    void testUserRow_MapsCompanyAndLeavesOutPassword() {
+        UserSqlResultSet userSqlResultSet = new UserSqlResultSet();
+        userSqlResultSet.setId(42);
+        userSqlResultSet.setFirstName("Julius");
+        userSqlResultSet.setPassword("$2a$10$hash");
+        userSqlResultSet.setCompanyId(7);
+        userSqlResultSet.setCompanyName("Mojagap Uganda Ltd");
+        AppUserDto appUserDto = AppUserMapper.INSTANCE.toDto(userSqlResultSet);
+        Assertions.assertEquals(42, appUserDto.getId());
+        Assertions.assertEquals("Julius", appUserDto.getFirstName());
+        Assertions.assertNull(appUserDto.getPassword());
+        Assertions.assertEquals(7, appUserDto.getCompany().getCompanyId());
+        Assertions.assertEquals("Mojagap Uganda Ltd", appUserDto.getCompany().getName());
+    }
+
+    @Test
+    void testCompanyDto_ConvertsTypeAndIgnoresClientId() {
+        CompanyDto companyDto = new CompanyDto(99, "Mojagap Uganda Ltd", "BUSINESS");
+        Company company = CompanyMapper.INSTANCE.toEntity(companyDto);
+        Assertions.assertNull(company.getId());
+        Assertions.assertEquals("Mojagap Uganda Ltd", company.getName());
+        Assertions.assertEquals(CompanyType.BUSINESS, company.getCompanyType());
+    }
+
+    @Test
+    void testRole_MapsStatusAndPermissions() {
+        Permission permission = new Permission();
+        permission.setId(1);
+        permission.setName("SUPER_PERMISSION");
+        permission.setEntityType(EntityTypeEnum.USER);
+        permission.setActionType(ActionTypeEnum.CREATE);
+        Role role = new Role("Super Administrator", "All permissions", null, AuditEntity.RecordStatus.ACTIVE, List.of(permission));
+        RoleDto roleDto = RoleMapper.INSTANCE.toDto(role);
+        Assertions.assertEquals("ACTIVE", roleDto.getStatus());
+        Assertions.assertEquals(1, roleDto.getPermissions().size());
+        Assertions.assertEquals("SUPER_PERMISSION", roleDto.getPermissions().get(0).getName());
+        Assertions.assertEquals(ActionTypeEnum.CREATE, roleDto.getPermissions().get(0).getActionType());
+    }
+}
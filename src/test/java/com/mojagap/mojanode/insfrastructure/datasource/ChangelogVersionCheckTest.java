@@ -0,0 +1,31 @@
+package com.mojagap.mojanode.insfrastructure.datasource;
+
+import com.mojagap.mojanode.infrastructure.datasource.ChangelogVersionCheck;
+import com.mojagap.mojanode.support.MigratedH2Database;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+
+public class ChangelogVersionCheckTest {
+
+    private static final String MASTER_CHANGE_LOG = "classpath:liquibase/liquibase-master.xml";
+
+    @Test
+    void testAfterPropertiesSet_PassesOnAMigratedSchema() {
+        DataSource dataSource = MigratedH2Database.create("changelog_current");
+        Assertions.assertDoesNotThrow(() -> new ChangelogVersionCheck(dataSource, new DefaultResourceLoader(), MASTER_CHANGE_LOG).afterPropertiesSet());
+    }
+
+    @Test
+    void testAfterPropertiesSet_RefusesToStartWhenAChangeSetIsPending() {
+        DataSource dataSource = MigratedH2Database.create("changelog_behind");
+        new JdbcTemplate(dataSource).update("DELETE FROM DATABASECHANGELOG WHERE ID = 'create-table-replica_heartbeat'");
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+                () -> new ChangelogVersionCheck(dataSource, new DefaultResourceLoader(), MASTER_CHANGE_LOG).afterPropertiesSet());
+        Assertions.assertTrue(exception.getMessage().contains("create-table-replica_heartbeat::"), exception.getMessage());
+    }
+}
@@ -0,0 +1,34 @@
+package com.mojagap.mojanode.insfrastructure.datasource;
+
+import com.mojagap.mojanode.infrastructure.datasource.NormalizePhoneNumbersChange;
+import com.mojagap.mojanode.support.MigratedH2Database;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+
+public class NormalizePhoneNumbersChangeTest {
+
+    @Test
+    void testExecute_RewritesStoredNumbersToE164InTheirAccountsRegion() throws Exception {
+        DataSource dataSource = MigratedH2Database.create("normalize_phone_numbers");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("UPDATE app_user SET phone_number = '0772 123456' WHERE email = 'admin@mojagap.io'");
+        jdbcTemplate.update("UPDATE account SET contact_phone_number = 'call the front desk' WHERE email = 'admin@mojagap.io'");
+
+        try (Connection connection = dataSource.getConnection()) {
+            Database database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            new NormalizePhoneNumbersChange().execute(database);
+            database.commit();
+        }
+
+        Assertions.assertEquals("+256772123456", jdbcTemplate.queryForObject("SELECT phone_number FROM app_user WHERE email = 'admin@mojagap.io'", String.class));
+        Assertions.assertEquals("call the front desk", jdbcTemplate.queryForObject("SELECT contact_phone_number FROM account WHERE email = 'admin@mojagap.io'", String.class));
+    }
+}
@@ -0,0 +1,93 @@
+package com.mojagap.mojanode.insfrastructure.datasource;
+
+import com.mojagap.mojanode.infrastructure.datasource.PooledIdGenerator;
+import com.mojagap.mojanode.model.common.ActionTypeEnum;
+import com.mojagap.mojanode.model.common.BaseEntity;
+import com.mojagap.mojanode.model.http.OutboxStatusEnum;
+import com.mojagap.mojanode.model.http.PartnerOutbox;
+import com.mojagap.mojanode.support.MigratedH2Database;
+import com.mojagap.mojanode.support.QueryCountingJpa;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+
+public class PooledIdGeneratorTest {
+
+    private static final String URL = "jdbc:h2:mem:pooled_id_generator;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private final HikariDataSource pool = pool("main");
+    private final HikariDataSource idGeneratorPool = pool("id-generator");
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        MigratedH2Database.create("pooled_id_generator");
+        entityManagerFactory = QueryCountingJpa.create(pool, Map.of(PooledIdGenerator.DATA_SOURCE, idGeneratorPool,
+                "hibernate.cache.use_second_level_cache", "false")).getEntityManagerFactory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.close();
+        pool.close();
+        idGeneratorPool.close();
+    }
+
+    @Test
+    void testGenerate_AllocatesBlocksOnItsOwnPoolWhileTheTransactionHoldsTheOnlyConnection() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(idGeneratorPool);
+        long nextVal = jdbcTemplate.queryForObject("SELECT next_val FROM id_sequence WHERE sequence_name = 'partner_outbox'", Long.class);
+        int allocationSize = Integer.parseInt(BaseEntity.ID_ALLOCATION_SIZE);
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+
+        Set<Integer> ids = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory)).execute(status -> IntStream.range(0, allocationSize + 1)
+                .mapToObj(index -> {
+                    PartnerOutbox partnerOutbox = partnerOutbox();
+                    entityManager.persist(partnerOutbox);
+                    return partnerOutbox.getId();
+                })
+                .collect(Collectors.toSet()));
+
+        Assertions.assertEquals(allocationSize + 1, ids.size());
+        Assertions.assertEquals(nextVal, ids.stream().mapToInt(Integer::intValue).min().orElseThrow());
+        Assertions.assertEquals(nextVal + 2L * allocationSize, jdbcTemplate.queryForObject("SELECT next_val FROM id_sequence WHERE sequence_name = 'partner_outbox'", Long.class));
+        Assertions.assertEquals(allocationSize + 1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM partner_outbox", Integer.class));
+    }
+
+    private static PartnerOutbox partnerOutbox() {
+        PartnerOutbox partnerOutbox = new PartnerOutbox();
+        partnerOutbox.setActionType(ActionTypeEnum.API_POST_REQUEST);
+        partnerOutbox.setRequestMethod("POST");
+        partnerOutbox.setRequestUrl("http://partner.test/users");
+        partnerOutbox.setStatus(OutboxStatusEnum.PENDING);
+        partnerOutbox.setAttempts(0);
+        partnerOutbox.setNextAttemptAt(new Date());
+        partnerOutbox.setCreatedOn(new Date());
+        return partnerOutbox;
+    }
+
+    private static HikariDataSource pool(String poolName) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(URL);
+        dataSource.setUsername("sa");
+        dataSource.setPoolName(poolName);
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setConnectionTimeout(250);
+        return dataSource;
+    }
+}
@@ -0,0 +1,147 @@
+package com.mojagap.mojanode.insfrastructure.datasource;
+
+import com.mojagap.mojanode.infrastructure.AppContext;
+import com.mojagap.mojanode.infrastructure.datasource.ReplicaLagMonitor;
+import com.mojagap.mojanode.infrastructure.datasource.ReplicaRoutingDataSource;
+import com.mojagap.mojanode.model.user.AppUser;
+import com.mojagap.mojanode.support.MigratedH2Database;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.Cookie;
+import javax.sql.DataSource;
+
+
+public class ReplicaRoutingDataSourceTest {
+
+    private static final long MAX_LAG_MS = 60_000;
+
+    private static DataSource primaryDataSource;
+    private static DataSource replicaDataSource;
+    private ReplicaLagMonitor replicaLagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeAll
+    static void migrate() {
+        primaryDataSource = MigratedH2Database.create("routing_primary");
+        replicaDataSource = MigratedH2Database.create("routing_replica");
+    }
+
+    @BeforeEach
+    void setUp() {
+        replicaLagMonitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, MAX_LAG_MS);
+        DataSource routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, MAX_LAG_MS).lazy();
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(routingDataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        loginAs(1);
+    }
+
+    @AfterEach
+    void logout() {
+        AppContext.setLoggedInUser(null);
+    }
+
+    @Test
+    void testReadOnlyTransaction_GoesToTheReplicaOnlyWhileItIsCaughtUp() {
+        Assertions.assertEquals("routing_primary", readOnlyTransaction.execute(status -> currentDatabase()), "No heartbeat seen yet");
+        beatAndReplicate();
+        Assertions.assertEquals("routing_replica", readOnlyTransaction.execute(status -> currentDatabase()));
+        Assertions.assertEquals("routing_primary", writeTransaction.execute(status -> currentDatabase()));
+        Assertions.assertEquals("routing_primary", currentDatabase());
+
+        new JdbcTemplate(replicaDataSource).update("UPDATE replica_heartbeat SET beat_at = ?", System.currentTimeMillis() - 2 * MAX_LAG_MS);
+        replicaLagMonitor.beat();
+        Assertions.assertEquals("routing_primary", readOnlyTransaction.execute(status -> currentDatabase()), "Replica lags too far behind");
+    }
+
+    @Test
+    void testReadYourWrites_KeepsTheWriterOnThePrimaryUntilTheReplicaHasTheCommit() {
+        beatAndReplicate();
+        writeTransaction.executeWithoutResult(status -> currentDatabase());
+        replicaLagMonitor.beat();
+        Assertions.assertEquals("routing_primary", readOnlyTransaction.execute(status -> currentDatabase()), "Writer reads its own commit");
+        loginAs(2);
+        Assertions.assertEquals("routing_replica", readOnlyTransaction.execute(status -> currentDatabase()), "Other users are not held back");
+
+        loginAs(1);
+        beatAndReplicate();
+        Assertions.assertEquals("routing_replica", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void testReadYourWrites_FollowsTheClientToAnotherNode() {
+        beatAndReplicate();
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), writeResponse));
+        try {
+            writeTransaction.executeWithoutResult(status -> currentDatabase());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        Cookie lastCommit = writeResponse.getCookie("MOJA_LAST_COMMIT");
+        Assertions.assertNotNull(lastCommit);
+
+        DataSource otherNode = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, MAX_LAG_MS).lazy();
+        TransactionTemplate otherNodeReadOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(otherNode));
+        otherNodeReadOnlyTransaction.setReadOnly(true);
+        JdbcTemplate otherNodeJdbcTemplate = new JdbcTemplate(otherNode);
+        MockHttpServletRequest readRequest = new MockHttpServletRequest();
+        readRequest.setCookies(lastCommit);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(readRequest, new MockHttpServletResponse()));
+        try {
+            replicaLagMonitor.beat();
+            Assertions.assertEquals("routing_primary", otherNodeReadOnlyTransaction.execute(status -> otherNodeJdbcTemplate.queryForObject("SELECT DATABASE()", String.class)));
+            beatAndReplicate();
+            Assertions.assertEquals("routing_replica", otherNodeReadOnlyTransaction.execute(status -> otherNodeJdbcTemplate.queryForObject("SELECT DATABASE()", String.class)));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void testUnreachableReplica_FallsBackToThePrimary() {
+        ReplicaLagMonitor unreachable = new ReplicaLagMonitor(primaryDataSource, new DriverManagerDataSource("jdbc:h2:mem:routing_missing;IFEXISTS=TRUE"), MAX_LAG_MS);
+        unreachable.beat();
+        Assertions.assertFalse(unreachable.isReplicaUsable());
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    /**
+     * Stands in for replication: copies the primary's heartbeat to the replica as soon as it is stamped. The
+     * heartbeat is taken in a later millisecond than any commit made before the call.
+     */
+    @SneakyThrows
+    private void beatAndReplicate() {
+        Thread.sleep(2);
+        replicaLagMonitor.beat();
+        Long beatAt = new JdbcTemplate(primaryDataSource).queryForObject("SELECT beat_at FROM replica_heartbeat", Long.class);
+        new JdbcTemplate(replicaDataSource).update("UPDATE replica_heartbeat SET beat_at = ?", beatAt);
+        replicaLagMonitor.beat();
+    }
+
+    private static void loginAs(Integer userId) {
+        AppUser appUser = new AppUser();
+        appUser.setId(userId);
+        AppContext.setLoggedInUser(appUser);
+    }
+}
@@ -0,0 +1,37 @@
+package com.mojagap.mojanode.insfrastructure.datasource;
+
+import liquibase.Liquibase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+
+public class RolePermissionPrimaryKeyMigrationTest {
+
+    @Test
+    void testUpdate_DeduplicatesGrantsBeforeAddingThePrimaryKey() throws Exception {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:role_permission_primary_key;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        try (Connection connection = dataSource.getConnection()) {
+            Liquibase liquibase = new Liquibase("liquibase/liquibase-master.xml", new ClassLoaderResourceAccessor(), new JdbcConnection(connection));
+            int changeSetsBefore120 = (int) liquibase.getDatabaseChangeLog().getChangeSets().stream()
+                    .takeWhile(changeSet -> !changeSet.getFilePath().endsWith("liquibase.1.2.0.xml"))
+                    .count();
+            liquibase.update(changeSetsBefore120, "");
+            jdbcTemplate.update("INSERT INTO role_permission (role_id, permission_id) SELECT role_id, permission_id FROM role_permission");
+            int grants = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT DISTINCT role_id, permission_id FROM role_permission) grants", Integer.class);
+
+            liquibase.update("");
+
+            Assertions.assertEquals(grants, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM role_permission", Integer.class));
+        }
+        Assertions.assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.table_constraints " +
+                "WHERE LOWER(table_name) = 'role_permission' AND constraint_type = 'PRIMARY KEY'", Integer.class));
+    }
+}
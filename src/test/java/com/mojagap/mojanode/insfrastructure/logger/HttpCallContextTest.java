@@ -0,0 +1,75 @@
+package com.mojagap.mojanode.insfrastructure.logger;
+
+import com.mojagap.mojanode.infrastructure.logger.HttpCallContext;
+import com.mojagap.mojanode.infrastructure.logger.HttpRequestInterceptor;
+import com.mojagap.mojanode.model.common.ActionTypeEnum;
+import com.mojagap.mojanode.model.http.HttpCallLog;
+import com.mojagap.mojanode.model.http.HttpResponseStatusEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+
+public class HttpCallContextTest {
+
+    @Test
+    void testIntercept_RecordsOneLogPerAttemptOfTheCall() throws Exception {
+        HttpCallContext httpCallContext = new HttpCallContext(ActionTypeEnum.API_POLL_REQUEST);
+
+        new HttpRequestInterceptor(httpCallContext).intercept(request("/users/1"), new byte[0], respondingWith("{\"id\":1}", HttpStatus.OK)).close();
+        new HttpRequestInterceptor(httpCallContext).intercept(request("/users/1"), new byte[0], respondingWith("busy", HttpStatus.SERVICE_UNAVAILABLE)).close();
+
+        List<HttpCallLog> httpCallLogs = httpCallContext.getHttpCallLogs();
+        Assertions.assertEquals(2, httpCallLogs.size());
+        Assertions.assertTrue(httpCallLogs.stream().allMatch(httpCallLog -> httpCallLog.getActionType() == ActionTypeEnum.API_POLL_REQUEST));
+        Assertions.assertEquals(List.of(HttpResponseStatusEnum.SUCCESS, HttpResponseStatusEnum.FAILED),
+                httpCallLogs.stream().map(HttpCallLog::getResponseStatus).collect(Collectors.toList()));
+        Assertions.assertEquals(List.of(200, 503), httpCallLogs.stream().map(HttpCallLog::getResponseStatusCode).collect(Collectors.toList()));
+        Assertions.assertEquals("{\"id\":1}", httpCallLogs.get(0).getResponseBody());
+        Assertions.assertEquals("http://partner.test/users/1", httpCallLogs.get(0).getRequestUrl());
+    }
+
+    @Test
+    void testRecordFailure_SetsTheStackTraceOnEveryLog() throws Exception {
+        HttpCallContext httpCallContext = new HttpCallContext(ActionTypeEnum.API_POLL_REQUEST);
+        new HttpRequestInterceptor(httpCallContext).intercept(request("/users/1"), new byte[0], respondingWith("one", HttpStatus.OK)).close();
+        new HttpRequestInterceptor(httpCallContext).intercept(request("/users/1"), new byte[0], respondingWith("two", HttpStatus.OK)).close();
+
+        httpCallContext.recordFailure(new IllegalStateException("Partner answered garbage"));
+
+        Assertions.assertTrue(httpCallContext.getHttpCallLogs().stream()
+                .allMatch(httpCallLog -> httpCallLog.getStackTrace().contains("Partner answered garbage")));
+    }
+
+    @Test
+    void testIntercept_StreamingLogsOnlyThePrefixTheCallerRead() throws Exception {
+        HttpCallContext httpCallContext = new HttpCallContext(ActionTypeEnum.API_POLL_REQUEST);
+
+        ClientHttpResponse response = new HttpRequestInterceptor(httpCallContext, 4)
+                .intercept(request("/users"), new byte[0], respondingWith("[1,2,3,4,5]", HttpStatus.OK));
+        Assertions.assertNull(httpCallContext.getHttpCallLogs().get(0).getResponseBody());
+        Assertions.assertEquals("[1,2,3,4,5]", StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8));
+        response.close();
+
+        Assertions.assertEquals("[1,2...[truncated]", httpCallContext.getHttpCallLogs().get(0).getResponseBody());
+    }
+
+    private static MockClientHttpRequest request(String path) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create("http://partner.test" + path));
+    }
+
+    private static ClientHttpRequestExecution respondingWith(String body, HttpStatus status) {
+        return (request, requestBody) -> new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+    }
+}
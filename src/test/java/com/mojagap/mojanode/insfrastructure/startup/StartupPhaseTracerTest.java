@@ -0,0 +1,45 @@
+package com.mojagap.mojanode.insfrastructure.startup;
+
+import com.mojagap.mojanode.infrastructure.startup.StartupPhaseTracer;
+import com.mojagap.mojanode.infrastructure.startup.StartupReport;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+
+public class StartupPhaseTracerTest {
+
+    @Test
+    void testToReport_NamesTheTracedPhasesAndRanksBeansByDuration() throws Exception {
+        BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(100);
+        StartupPhaseTracer startupPhaseTracer = new StartupPhaseTracer();
+        startupPhaseTracer.setApplicationStartup(applicationStartup);
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        startupPhaseTracer.postProcessBeforeInitialization(liquibase, "liquibase");
+        Thread.sleep(20);
+        startupPhaseTracer.postProcessAfterInitialization(liquibase, "liquibase");
+        applicationStartup.start("spring.beans.instantiate").tag("beanName", "quickBean").end();
+        StartupStep slowBean = applicationStartup.start("spring.beans.instantiate").tag("beanName", "slowBean");
+        Thread.sleep(20);
+        slowBean.end();
+        startupPhaseTracer.afterSingletonsInstantiated();
+
+        StartupReport report = ReflectionTestUtils.invokeMethod(StartupPhaseTracer.class, "toReport", applicationStartup.getBufferedTimeline(), List.of("fast-startup"));
+
+        Map<String, StartupReport.Phase> phases = report.getPhases().stream().collect(Collectors.toMap(StartupReport.Phase::getName, phase -> phase));
+        Assertions.assertTrue(phases.get(StartupPhaseTracer.LIQUIBASE_STEP).getDurationMs() >= 20);
+        Assertions.assertEquals("liquibase", phases.get(StartupPhaseTracer.LIQUIBASE_STEP).getTags().get("beanName"));
+        Assertions.assertTrue(Integer.parseInt(phases.get(StartupPhaseTracer.SECURITY_CSV_STEP).getTags().get("rules")) > 0);
+        Assertions.assertTrue(phases.containsKey(StartupPhaseTracer.COUNTRY_CODES_STEP));
+        Assertions.assertEquals(List.of("slowBean", "quickBean"), report.getSlowestBeans().stream().map(phase -> phase.getTags().get("beanName")).collect(Collectors.toList()));
+        Assertions.assertEquals(List.of("fast-startup"), report.getProfiles());
+    }
+}
@@ -0,0 +1,108 @@
+package com.mojagap.mojanode.insfrastructure.validation;
+
+import com.mojagap.mojanode.dto.account.AccountDto;
+import com.mojagap.mojanode.dto.user.AppUserDto;
+import com.mojagap.mojanode.infrastructure.ErrorMessages;
+import com.mojagap.mojanode.infrastructure.PowerValidator;
+import com.mojagap.mojanode.infrastructure.exception.BadRequestException;
+import com.mojagap.mojanode.infrastructure.validation.DtoValidator;
+import com.mojagap.mojanode.infrastructure.validation.ValidationError;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+
+public class DtoValidatorTest {
+
+    @Test
+    void testValidationErrors_CollectsEveryBrokenRuleInDeclarationOrder() {
+        AppUserDto appUserDto = appUser();
+        appUserDto.setIdType("PASSPORT_NUMBER");
+        appUserDto.setEmail("not-an-email");
+        appUserDto.setPassword("weak");
+
+        List<ValidationError> errors = appUserDto.validationErrors();
+
+        Assertions.assertEquals(List.of(
+                new ValidationError("idType", ErrorMessages.INVALID_ID_TYPE),
+                new ValidationError("email", ErrorMessages.INVALID_EMAIL_ADDRESS),
+                new ValidationError("password", ErrorMessages.INVALID_PASSWORD)), errors);
+        BadRequestException exception = Assertions.assertThrows(BadRequestException.class, appUserDto::isValid);
+        Assertions.assertEquals(ErrorMessages.INVALID_ID_TYPE, exception.getMessage());
+    }
+
+    @Test
+    void testValidationErrors_IsEmptyForAValidDto() {
+        Assertions.assertEquals(List.of(), appUser().validationErrors());
+        Assertions.assertDoesNotThrow(appUser()::isValid);
+    }
+
+    @Test
+    void testValidationErrors_ChecksEnumsAgainstTheirNames() {
+        AccountDto accountDto = new AccountDto(null, "COMPANY", "UG");
+        accountDto.setUsers(List.of(appUser()));
+        Assertions.assertEquals(List.of(), accountDto.validationErrors());
+
+        accountDto.setCountryCode("ug");
+        accountDto.setAccountType(null);
+        accountDto.setUsers(List.of());
+        Assertions.assertEquals(List.of("users", "countryCode", "accountType"),
+                accountDto.validationErrors().stream().map(ValidationError::getField).toList());
+    }
+
+    @Test
+    void testValidationErrors_RejectsStringsOutsideTheirLength() {
+        AppUserDto appUserDto = appUser();
+        appUserDto.setFirstName("");
+        appUserDto.setLastName("P".repeat(256));
+        appUserDto.setIdNumber("C");
+
+        Assertions.assertEquals(List.of(
+                new ValidationError("firstName", ErrorMessages.INVALID_FIRST_NAME),
+                new ValidationError("lastName", ErrorMessages.INVALID_LAST_NAME),
+                new ValidationError("idNumber", ErrorMessages.INVALID_ID_NUMBER_PROVIDED)), appUserDto.validationErrors());
+        Assertions.assertTrue(PowerValidator.isValidStringLength("Julius", 5, 255));
+        Assertions.assertTrue(PowerValidator.isValidStringLength("Peter", 5, 5));
+    }
+
+    @Test
+    void testValidationErrors_AcceptsShortNamesAndIdNumbers() {
+        AppUserDto appUserDto = appUser();
+        appUserDto.setFirstName("Ann");
+        appUserDto.setLastName("Li");
+        appUserDto.setIdNumber("A1");
+        Assertions.assertEquals(List.of(), appUserDto.validationErrors());
+
+        appUserDto.setFirstName("John");
+        appUserDto.setLastName("O");
+        Assertions.assertEquals(List.of(), appUserDto.validationErrors());
+    }
+
+    @Test
+    void testForType_NamesTheDtoTypeInItsErrors() {
+        DtoValidator.Builder<AppUserDto> builder = DtoValidator.forType(AppUserDto.class);
+        NullPointerException missingMessage = Assertions.assertThrows(NullPointerException.class,
+                () -> builder.notNull("email", AppUserDto::getEmail, null));
+        Assertions.assertEquals("Rule AppUserDto.email without a message", missingMessage.getMessage());
+
+        DtoValidator<AppUserDto> validator = builder.notNull("email", AppUserDto::getEmail, ErrorMessages.INVALID_EMAIL_ADDRESS).build();
+        NullPointerException missingDto = Assertions.assertThrows(NullPointerException.class, () -> validator.validate(null));
+        Assertions.assertEquals("No AppUserDto to validate", missingDto.getMessage());
+    }
+
+    private static AppUserDto appUser() {
+        AppUserDto appUserDto = new AppUserDto();
+        appUserDto.setFirstName("Julius");
+        appUserDto.setLastName("Petero");
+        appUserDto.setIdNumber("CM90012345");
+        appUserDto.setIdType("NATIONAL_ID");
+        appUserDto.setDateOfBirth(new Date());
+        appUserDto.setAddress("Plot 12, Kampala Road");
+        appUserDto.setEmail("juliuspetero@outlook.com");
+        appUserDto.setPhoneNumber("+256772123456");
+        appUserDto.setPassword("Secret#2021");
+        return appUserDto;
+    }
+}
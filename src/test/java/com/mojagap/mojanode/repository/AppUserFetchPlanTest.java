@@ -0,0 +1,119 @@
+package com.mojagap.mojanode.repository;
+
+import com.mojagap.mojanode.infrastructure.configuration.SecondLevelCacheMetrics;
+import com.mojagap.mojanode.model.role.Permission;
+import com.mojagap.mojanode.model.role.Role;
+import com.mojagap.mojanode.model.user.AppUser;
+import com.mojagap.mojanode.repository.role.PermissionRepository;
+import com.mojagap.mojanode.repository.user.AppUserRepository;
+import com.mojagap.mojanode.support.MigratedH2Database;
+import com.mojagap.mojanode.support.QueryCountingJpa;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.util.function.Consumer;
+
+
+public class AppUserFetchPlanTest {
+
+    private static QueryCountingJpa queryCountingJpa;
+    private EntityManager entityManager;
+    private AppUserRepository appUserRepository;
+
+    @BeforeAll
+    static void migrate() {
+        DataSource dataSource = MigratedH2Database.create("app_user_fetch_plan");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (int index = 1; index <= 3; index++) {
+            jdbcTemplate.update("INSERT INTO app_user(first_name, last_name, date_of_birth, id_number, address, email, phone_number, password, " +
+                            "account_id, role_id, created_by, modified_by, record_status) " +
+                            "SELECT 'Chain', ?, CURRENT_DATE, 'U000041', 'Kampala', ?, '+256780000001', 'secret', account_id, role_id, MAX(id), MAX(id), 'ACTIVE' " +
+                            "FROM app_user GROUP BY account_id, role_id",
+                    "User" + index, "chain" + index + "@mojagap.io");
+        }
+        queryCountingJpa = QueryCountingJpa.create(dataSource);
+    }
+
+    @BeforeEach
+    void openEntityManager() {
+        entityManager = queryCountingJpa.getEntityManagerFactory().createEntityManager();
+        appUserRepository = new JpaRepositoryFactory(entityManager).getRepository(AppUserRepository.class);
+    }
+
+    @AfterEach
+    void closeEntityManager() {
+        entityManager.close();
+    }
+
+    @Test
+    void testFindById_DoesNotFollowTheCreatedByChain() {
+        Integer userId = appUserRepository.findOneByEmail("chain3@mojagap.io").getId();
+        entityManager.clear();
+        long statements = queryCountingJpa.countStatements(() -> {
+            AppUser appUser = appUserRepository.findById(userId).orElseThrow();
+            Assertions.assertFalse(Hibernate.isInitialized(appUser.getCreatedBy()));
+            Assertions.assertFalse(Hibernate.isInitialized(appUser.getModifiedBy()));
+        });
+        Assertions.assertEquals(1, statements);
+    }
+
+    @Test
+    void testAuthorizationGraph_ServesRolePermissionsFromTheCacheOnceWarm() {
+        Integer userId = appUserRepository.findOneByEmail("admin@mojagap.io").getId();
+        Runnable authorize = () -> inNewEntityManager(AppUserRepository.class, repository -> {
+            AppUser appUser = repository.findWithAuthorizationById(userId).orElseThrow();
+            Assertions.assertEquals("BACK_OFFICE", appUser.getAccount().getAccountType().name());
+            Assertions.assertTrue(appUser.getRole().getPermissions().stream().anyMatch(permission -> permission.getName().equals("SUPER_PERMISSION")));
+        });
+        authorize.run();
+        Assertions.assertEquals(1, queryCountingJpa.countStatements(authorize));
+        Assertions.assertTrue(queryCountingJpa.getStatistics().getDomainDataRegionStatistics(Role.PERMISSIONS_CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void testSecondLevelCacheMetrics_PublishTheRegionHits() {
+        Integer userId = appUserRepository.findOneByEmail("admin@mojagap.io").getId();
+        for (int request = 0; request < 2; request++) {
+            inNewEntityManager(AppUserRepository.class, repository -> repository.findWithAuthorizationById(userId).orElseThrow().getRole().getPermissions().size());
+        }
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SecondLevelCacheMetrics secondLevelCacheMetrics = new SecondLevelCacheMetrics();
+        ReflectionTestUtils.setField(secondLevelCacheMetrics, "entityManagerFactory", queryCountingJpa.getEntityManagerFactory());
+        ReflectionTestUtils.setField(secondLevelCacheMetrics, "meterRegistry", meterRegistry);
+
+        secondLevelCacheMetrics.registerMetrics();
+
+        Assertions.assertTrue(meterRegistry.get("cache.gets").tags("cache", Role.PERMISSIONS_CACHE_REGION, "result", "hit").functionCounter().count() > 0);
+        Assertions.assertNotNull(meterRegistry.find("cache.gets").tags("cache", Permission.CACHE_REGION).functionCounter());
+    }
+
+    @Test
+    void testPermissionByName_IsServedFromTheQueryCache() {
+        Runnable findSuperPermission = () -> inNewEntityManager(PermissionRepository.class, repository ->
+                Assertions.assertEquals("SUPER_PERMISSION", repository.findOneByName("SUPER_PERMISSION").getName()));
+        findSuperPermission.run();
+        Assertions.assertEquals(0, queryCountingJpa.countStatements(findSuperPermission));
+    }
+
+    /**
+     * Cached entries are only visible to sessions that start after they were put, as each request's would.
+     */
+    private <R> void inNewEntityManager(Class<R> repositoryInterface, Consumer<R> work) {
+        EntityManager requestEntityManager = queryCountingJpa.getEntityManagerFactory().createEntityManager();
+        try {
+            work.accept(new JpaRepositoryFactory(requestEntityManager).getRepository(repositoryInterface));
+        } finally {
+            requestEntityManager.close();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.mojagap.mojanode.repository;
+
+import com.mojagap.mojanode.model.user.AppUser;
+import com.mojagap.mojanode.repository.user.AppUserRepository;
+import com.mojagap.mojanode.support.MigratedH2Database;
+import com.mojagap.mojanode.support.QueryCountingJpa;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+
+public class BatchInsertTest {
+
+    private static final int USERS = 120;
+
+    private static QueryCountingJpa queryCountingJpa;
+
+    @BeforeAll
+    static void migrate() {
+        queryCountingJpa = QueryCountingJpa.create(MigratedH2Database.create("batch_insert"), Map.of("hibernate.cache.use_second_level_cache", "false"));
+    }
+
+    @Test
+    void testSaveAll_AllocatesIdsInBlocksAndBatchesTheInserts() {
+        EntityManager entityManager = queryCountingJpa.getEntityManagerFactory().createEntityManager();
+        try {
+            AppUserRepository appUserRepository = new JpaRepositoryFactory(entityManager).getRepository(AppUserRepository.class);
+            AppUser admin = appUserRepository.findOneByEmail("admin@mojagap.io");
+            List<AppUser> appUsers = new ArrayList<>();
+            for (int index = 0; index < USERS; index++) {
+                appUsers.add(newAppUser(admin, index));
+            }
+            long statements = queryCountingJpa.countStatements(() -> {
+                entityManager.getTransaction().begin();
+                appUserRepository.saveAllAndFlush(appUsers);
+                entityManager.getTransaction().commit();
+            });
+            Assertions.assertTrue(appUsers.stream().allMatch(appUser -> appUser.getId() > admin.getId()));
+            Assertions.assertEquals(USERS, appUsers.stream().map(AppUser::getId).distinct().count());
+            Assertions.assertTrue(statements < 20, "Expected batched inserts but " + statements + " statements were prepared");
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static AppUser newAppUser(AppUser admin, int index) {
+        AppUser appUser = new AppUser();
+        appUser.setFirstName("Batch");
+        appUser.setLastName("User" + index);
+        appUser.setDateOfBirth(new Date());
+        appUser.setIdNumber("B" + index);
+        appUser.setAddress("Kampala");
+        appUser.setEmail("batch" + index + "@mojagap.io");
+        appUser.setPhoneNumber("+256780000000");
+        appUser.setPassword("secret");
+        appUser.setAccount(admin.getAccount());
+        appUser.setRole(admin.getRole());
+        appUser.setCreatedBy(admin);
+        appUser.setModifiedBy(admin);
+        appUser.setCreatedOn(new Date());
+        appUser.setModifiedOn(new Date());
+        appUser.setRecordStatus(admin.getRecordStatus());
+        return appUser;
+    }
+}
@@ -0,0 +1,72 @@
+package com.mojagap.mojanode.repository;
+
+import com.mojagap.mojanode.service.user.AppUserQueryBuilder;
+import com.mojagap.mojanode.service.user.AppUserQueryBuilder.AppUserSortKey;
+import com.mojagap.mojanode.service.user.AppUserQueryBuilder.SortOrder;
+import com.mojagap.mojanode.support.MigratedH2Database;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+
+public class SchemaIndexExplainTest {
+
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() {
+        jdbcTemplate = new NamedParameterJdbcTemplate(MigratedH2Database.create("schema_index_explain"));
+    }
+
+    @Test
+    void testUserListingFilters_UseAccountScopedCompositeIndexes() {
+        assertUserListingUses("idx_app_user_account_id_last_name", Map.of("lastName", "Pet"));
+        assertUserListingUses("idx_app_user_account_id_first_name", Map.of("firstName", "Jul"));
+        assertUserListingUses("idx_app_user_account_id_email", Map.of("email", "juliuspetero@"));
+        assertUserListingUses("idx_app_user_account_id_phone_number", Map.of("phoneNumber", "+256780000000"));
+        assertUserListingUses("idx_app_user_account_id_company_id", Map.of("organizationId", "3"));
+    }
+
+    @Test
+    void testUserListingWithoutIndexedFilters_UsesTheAccountForeignKeyIndex() {
+        assertUserListingUses("\"15062021_FK_user_account_id_INDEX_4\"", Map.of());
+        assertUserListingUses("\"15062021_FK_user_account_id_INDEX_4\"", Map.of("status", "ACTIVE", "verified", "true"));
+    }
+
+    @Test
+    void testUserCount_UsesTheIndexOfTheFilter() {
+        AppUserQueryBuilder queryBuilder = AppUserQueryBuilder.forAccount(1).filters(Map.of("firstName", "Jul"));
+        String plan = MigratedH2Database.explain(jdbcTemplate, queryBuilder.buildCount(), queryBuilder.getParameters());
+        Assertions.assertTrue(plan.contains("public.idx_app_user_account_id_first_name: account_id = ?1"), plan);
+    }
+
+    @Test
+    void testRolePermissions_AreReadThroughThePrimaryKey() {
+        String plan = MigratedH2Database.explain(jdbcTemplate, "SELECT permission.name FROM role_permission " +
+                "INNER JOIN permission ON permission.id = role_permission.permission_id WHERE role_permission.role_id = :roleId", new MapSqlParameterSource("roleId", 1));
+        Assertions.assertTrue(plan.matches("(?s).*PRIMARY_KEY_\\w+: role_id = \\?1.*"), plan);
+    }
+
+    @Test
+    void testTimeRangeScans_UseCreatedOnAndModifiedOnIndexes() {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("userId", 1).addValue("since", new Timestamp(0));
+        String plan = MigratedH2Database.explain(jdbcTemplate, "SELECT id FROM user_activity_log WHERE user_id = :userId AND created_on >= :since", parameters);
+        Assertions.assertTrue(plan.contains("idx_user_activity_log_user_id_created_on"), plan);
+        plan = MigratedH2Database.explain(jdbcTemplate, "SELECT id FROM http_call_log WHERE created_on < :since", parameters);
+        Assertions.assertTrue(plan.contains("idx_http_call_log_created_on"), plan);
+        plan = MigratedH2Database.explain(jdbcTemplate, "SELECT id FROM app_user WHERE modified_on >= :since", parameters);
+        Assertions.assertTrue(plan.contains("idx_app_user_modified_on"), plan);
+    }
+
+    private void assertUserListingUses(String indexName, Map<String, String> filters) {
+        AppUserQueryBuilder queryBuilder = AppUserQueryBuilder.forAccount(1).filters(filters)
+                .sort(AppUserSortKey.LAST_NAME, SortOrder.ASC).page(50, 0);
+        String plan = MigratedH2Database.explain(jdbcTemplate, queryBuilder.buildSelect(), queryBuilder.getParameters());
+        Assertions.assertTrue(plan.contains("public." + indexName + ": account_id = ?1"), plan);
+    }
+}
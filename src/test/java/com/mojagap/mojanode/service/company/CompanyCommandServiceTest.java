@@ -0,0 +1,223 @@
+package com.mojagap.mojanode.service.company;
+
+import com.mojagap.mojanode.dto.company.CompanyDto;
+import com.mojagap.mojanode.dto.company.CompanyOnboardingResultDto;
+import com.mojagap.mojanode.dto.user.AppUserDto;
+import com.mojagap.mojanode.infrastructure.AppContext;
+import com.mojagap.mojanode.infrastructure.ErrorMessages;
+import com.mojagap.mojanode.repository.account.AccountRepository;
+import com.mojagap.mojanode.repository.company.CompanyRepository;
+import com.mojagap.mojanode.repository.role.PermissionRepository;
+import com.mojagap.mojanode.repository.role.RoleRepository;
+import com.mojagap.mojanode.repository.user.AppUserRepository;
+import com.mojagap.mojanode.service.phone.PhoneNumberService;
+import com.mojagap.mojanode.service.user.search.AppUserSavedEvent;
+import com.mojagap.mojanode.support.MigratedH2Database;
+import com.mojagap.mojanode.support.QueryCountingJpa;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.support.PersistenceExceptionTranslationInterceptor;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+public class CompanyCommandServiceTest {
+
+    private static DataSource dataSource;
+    private static EntityManagerFactory entityManagerFactory;
+    private static ExecutorService workerExecutor;
+    private final List<Object> events = new ArrayList<>();
+    private CompanyCommandService companyCommandService;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = MigratedH2Database.create("company_onboarding");
+        entityManagerFactory = QueryCountingJpa.create(dataSource, Map.of("hibernate.cache.use_second_level_cache", "false")).getEntityManagerFactory();
+        workerExecutor = Executors.newFixedThreadPool(4);
+        new JdbcTemplate(dataSource).update("INSERT INTO company(name, registration_date, registration_number, company_type, account_id, address, email, phone_number, record_status) " +
+                "SELECT 'Existing Holdings', CURRENT_DATE, 'REG000', 'BUSINESS', account_id, 'Plot 9 Jinja Road', 'existing@company.io', '+256780000001', 'ACTIVE' " +
+                "FROM app_user WHERE email = 'admin@mojagap.io'");
+    }
+
+    @AfterAll
+    static void shutdown() {
+        workerExecutor.shutdownNow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        companyCommandService = new CompanyCommandService();
+        ReflectionTestUtils.setField(companyCommandService, "companyRepository", repository(entityManager, CompanyRepository.class));
+        ReflectionTestUtils.setField(companyCommandService, "appUserRepository", repository(entityManager, AppUserRepository.class));
+        ReflectionTestUtils.setField(companyCommandService, "accountRepository", repository(entityManager, AccountRepository.class));
+        ReflectionTestUtils.setField(companyCommandService, "roleRepository", repository(entityManager, RoleRepository.class));
+        ReflectionTestUtils.setField(companyCommandService, "permissionRepository", repository(entityManager, PermissionRepository.class));
+        ReflectionTestUtils.setField(companyCommandService, "passwordEncoder", new BCryptPasswordEncoder(4));
+        ReflectionTestUtils.setField(companyCommandService, "transactionManager", new JpaTransactionManager(entityManagerFactory));
+        ReflectionTestUtils.setField(companyCommandService, "applicationEventPublisher", (ApplicationEventPublisher) events::add);
+        ReflectionTestUtils.setField(companyCommandService, "passwordHashingExecutor", workerExecutor);
+        ReflectionTestUtils.setField(companyCommandService, "phoneNumberService", new PhoneNumberService());
+        EntityManager loginEntityManager = entityManagerFactory.createEntityManager();
+        AppContext.setLoggedInUser(new JpaRepositoryFactory(loginEntityManager).getRepository(AppUserRepository.class).findOneByEmail("admin@mojagap.io"));
+        loginEntityManager.close();
+    }
+
+    @AfterEach
+    void logout() {
+        AppContext.setLoggedInUser(null);
+    }
+
+    @Test
+    void testCreateCompanies_OnboardsValidCompaniesAndReportsEveryRejectedOne() {
+        List<CompanyDto> companyDtos = List.of(
+                company("Kampala Traders", "kampala@traders.io", user("owner@kampala.io"), user("clerk@kampala.io")),
+                company("Empty Company", "empty@company.io"),
+                company("KAMPALA TRADERS", "other@traders.io", user("owner@other.io")),
+                company("Admin Clash", "clash@company.io", user("admin@mojagap.io")),
+                company("Existing Holdings", "fresh@company.io", user("owner@existing.io")),
+                company("Gulu Millers", "gulu@millers.io", user("owner@gulu.io")));
+
+        List<CompanyOnboardingResultDto> results = companyCommandService.createCompanies(companyDtos);
+
+        Assertions.assertEquals(6, results.size());
+        Assertions.assertNull(results.get(0).getError());
+        Assertions.assertEquals(ErrorMessages.USER_REQUIRED_WHEN_CREATING_ACCOUNT, results.get(1).getError());
+        Assertions.assertEquals(ErrorMessages.DUPLICATE_COMPANY_IN_REQUEST, results.get(2).getError());
+        Assertions.assertEquals(ErrorMessages.EMAIL_ALREADY_REGISTERED, results.get(3).getError());
+        Assertions.assertEquals(ErrorMessages.COMPANY_REJECTED, results.get(4).getError());
+        Assertions.assertNull(results.get(5).getError());
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Integer accountId = AppContext.getLoggedInUser().getAccount().getId();
+        Map<String, Object> owner = jdbcTemplate.queryForMap("SELECT id, company_id, role_id, account_id, created_by, password FROM app_user WHERE email = 'owner@kampala.io'");
+        Assertions.assertEquals(results.get(0).getCompanyId(), ((Number) owner.get("company_id")).intValue());
+        Assertions.assertEquals(accountId, ((Number) owner.get("account_id")).intValue());
+        Assertions.assertEquals(owner.get("id"), owner.get("created_by"));
+        Assertions.assertTrue(new BCryptPasswordEncoder().matches("Secret#2021", (String) owner.get("password")));
+        Assertions.assertEquals(((Number) owner.get("role_id")).intValue(), jdbcTemplate.queryForObject("SELECT role_id FROM app_user WHERE email = 'clerk@kampala.io'", Integer.class));
+        Assertions.assertEquals("SUPER_PERMISSION", jdbcTemplate.queryForObject("SELECT permission.name FROM role_permission " +
+                "JOIN permission ON permission.id = role_permission.permission_id WHERE role_permission.role_id = ?", String.class, owner.get("role_id")));
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM app_user WHERE email = 'owner@existing.io'", Integer.class));
+        Assertions.assertEquals(results.get(5).getCompanyId(), jdbcTemplate.queryForObject("SELECT company_id FROM app_user WHERE email = 'owner@gulu.io'", Integer.class));
+        Assertions.assertEquals(2, events.stream().filter(event -> event instanceof CompanySavedEvent).count());
+        Assertions.assertEquals(3, events.stream().filter(event -> event instanceof AppUserSavedEvent).mapToInt(event -> ((AppUserSavedEvent) event).getAppUsers().size()).sum());
+    }
+
+    @Test
+    void testCreateCompanies_ReportsInvalidItemsWithoutClaimingTheirNamesOrEmails() {
+        AppUserDto noPassword = user("owner@lira.io");
+        noPassword.setPassword(null);
+        List<CompanyDto> companyDtos = List.of(
+                company("Lira Grain Stores", "lira@grain.io", noPassword),
+                company(null, "nameless@company.io", user("owner@nameless.io")),
+                company("Masaka Coffee", "masaka@coffee.io", user("owner@masaka.io"), user("OWNER@masaka.io")),
+                company("Masaka Coffee Two", "masaka2@coffee.io", user("owner@masaka.io")),
+                company("Lira Grain Stores", "lira@grain.io", user("owner@lira.io")));
+
+        List<CompanyOnboardingResultDto> results = companyCommandService.createCompanies(companyDtos);
+
+        Assertions.assertEquals(ErrorMessages.INVALID_PASSWORD, results.get(0).getError());
+        Assertions.assertEquals(ErrorMessages.INVALID_COMPANY_NAME, results.get(1).getError());
+        Assertions.assertEquals(ErrorMessages.EMAIL_ALREADY_REGISTERED, results.get(2).getError());
+        Assertions.assertNull(results.get(3).getError());
+        Assertions.assertNull(results.get(4).getError());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Assertions.assertEquals(results.get(3).getCompanyId(), jdbcTemplate.queryForObject("SELECT company_id FROM app_user WHERE email = 'owner@masaka.io'", Integer.class));
+        Assertions.assertEquals(results.get(4).getCompanyId(), jdbcTemplate.queryForObject("SELECT company_id FROM app_user WHERE email = 'owner@lira.io'", Integer.class));
+    }
+
+    @Test
+    void testCreateCompanies_FailsOnlyTheCompanyWhosePasswordHashingThrows() {
+        ReflectionTestUtils.setField(companyCommandService, "passwordEncoder", new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if (rawPassword.toString().startsWith("Broken")) {
+                    throw new IllegalStateException("Encoder failure");
+                }
+                return super.encode(rawPassword);
+            }
+        });
+        AppUserDto brokenOwner = user("owner@hoima.io");
+        brokenOwner.setPassword("Broken#2021");
+
+        List<CompanyOnboardingResultDto> results = companyCommandService.createCompanies(List.of(
+                company("Hoima Oil Supplies", "hoima@oil.io", brokenOwner),
+                company("Soroti Fruits", "soroti@fruits.io", user("owner@soroti.io"))));
+
+        Assertions.assertEquals(ErrorMessages.COMPANY_ONBOARDING_FAILED, results.get(0).getError());
+        Assertions.assertNull(results.get(0).getCompanyId());
+        Assertions.assertNull(results.get(1).getError());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM company WHERE name = 'Hoima Oil Supplies'", Integer.class));
+        Assertions.assertEquals(results.get(1).getCompanyId(), jdbcTemplate.queryForObject("SELECT company_id FROM app_user WHERE email = 'owner@soroti.io'", Integer.class));
+    }
+
+    @Test
+    void testCreateCompany_SavesTheCompanyWithItsUsersUnderTheLoggedInAccount() {
+        Integer companyId = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory)).execute(status ->
+                companyCommandService.createCompany(company("Mbarara Dairies", "mbarara@dairies.io", user("owner@mbarara.io"))).getResourceId());
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Assertions.assertEquals(AppContext.getLoggedInUser().getAccount().getId(), jdbcTemplate.queryForObject("SELECT account_id FROM company WHERE id = ?", Integer.class, companyId));
+        Assertions.assertEquals(companyId, jdbcTemplate.queryForObject("SELECT company_id FROM app_user WHERE email = 'owner@mbarara.io'", Integer.class));
+    }
+
+    private static CompanyDto company(String name, String email, AppUserDto... appUsers) {
+        CompanyDto companyDto = new CompanyDto();
+        companyDto.setName(name);
+        companyDto.setCompanyType("BUSINESS");
+        companyDto.setRegistrationDate(new Date());
+        companyDto.setRegistrationNumber("REG" + email.length());
+        companyDto.setAddress("Plot 1 Kampala Road");
+        companyDto.setEmail(email);
+        companyDto.setPhoneNumber("+256780000001");
+        companyDto.setAppUsers(List.of(appUsers));
+        return companyDto;
+    }
+
+    private static AppUserDto user(String email) {
+        AppUserDto appUserDto = new AppUserDto();
+        appUserDto.setFirstName("Onboarded");
+        appUserDto.setLastName("Owner");
+        appUserDto.setDateOfBirth(new Date());
+        appUserDto.setIdNumber("CM000" + email.length());
+        appUserDto.setIdType("NATIONAL_ID");
+        appUserDto.setAddress("Plot 2 Kampala Road");
+        appUserDto.setEmail(email);
+        appUserDto.setPhoneNumber("+256780000001");
+        appUserDto.setPassword("Secret#2021");
+        return appUserDto;
+    }
+
+    private static <R> R repository(EntityManager entityManager, Class<R> repositoryInterface) {
+        JpaRepositoryFactory repositoryFactory = new JpaRepositoryFactory(entityManager);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("persistenceExceptionTranslator", new HibernateJpaDialect());
+        repositoryFactory.addRepositoryProxyPostProcessor((factory, repositoryInformation) ->
+                factory.addAdvice(new PersistenceExceptionTranslationInterceptor(beanFactory)));
+        return repositoryFactory.getRepository(repositoryInterface);
+    }
+}
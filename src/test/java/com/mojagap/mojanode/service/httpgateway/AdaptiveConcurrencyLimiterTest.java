@@ -0,0 +1,90 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MIN_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void testOnSuccess_GrowsTheLimitWhileSaturatedWithoutQueueing() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 3);
+        acquire(limiter, 2);
+
+        limiter.onSuccess(MIN_RTT);
+        Assertions.assertEquals(3, limiter.getLimit());
+
+        acquire(limiter, 2);
+        limiter.onSuccess(MIN_RTT);
+        Assertions.assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void testOnSuccess_KeepsTheLimitWhenMostSlotsAreIdle() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 100);
+        acquire(limiter, 1);
+
+        limiter.onSuccess(MIN_RTT);
+
+        Assertions.assertEquals(10, limiter.getLimit());
+        Assertions.assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testOnSuccess_ShrinksTheLimitWhenRequestsQueueAtThePartner() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 100);
+        acquire(limiter, 1);
+        limiter.onSuccess(MIN_RTT);
+
+        acquire(limiter, 1);
+        limiter.onSuccess(MIN_RTT * 10);
+
+        Assertions.assertEquals(19, limiter.getLimit());
+    }
+
+    @Test
+    void testOnDropped_CutsTheLimitMultiplicativelyDownToOne() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 100);
+        acquire(limiter, 1);
+        limiter.onDropped();
+        Assertions.assertEquals(18, limiter.getLimit());
+
+        for (int drop = 0; drop < 50; drop++) {
+            acquire(limiter, 1);
+            limiter.onDropped();
+        }
+        Assertions.assertEquals(1, limiter.getLimit());
+        Assertions.assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testTryAcquire_WaitsForAReleasedSlot() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1);
+        acquire(limiter, 1);
+        Assertions.assertFalse(limiter.tryAcquire(10, TimeUnit.MILLISECONDS));
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            limiter.onIgnored();
+        });
+        releaser.start();
+
+        Assertions.assertTrue(limiter.tryAcquire(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, limiter.getLimit());
+        releaser.join();
+    }
+
+    private static void acquire(AdaptiveConcurrencyLimiter limiter, int slots) throws InterruptedException {
+        for (int slot = 0; slot < slots; slot++) {
+            Assertions.assertTrue(limiter.tryAcquire(0, TimeUnit.MILLISECONDS));
+        }
+    }
+}
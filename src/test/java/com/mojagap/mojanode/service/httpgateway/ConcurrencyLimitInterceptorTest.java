@@ -0,0 +1,103 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import com.mojagap.mojanode.infrastructure.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+
+public class ConcurrencyLimitInterceptorTest {
+
+    private static final String HOST = "partner.test";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        PartnerConcurrencyLimiters partnerConcurrencyLimiters = new PartnerConcurrencyLimiters();
+        ReflectionTestUtils.setField(partnerConcurrencyLimiters, "meterRegistry", meterRegistry);
+        limiter = partnerConcurrencyLimiters.getLimiter(HOST);
+        interceptor = new ConcurrencyLimitInterceptor(partnerConcurrencyLimiters);
+    }
+
+    @Test
+    void testIntercept_HoldsTheSlotUntilTheResponseIsClosed() throws IOException {
+        ClientHttpResponse response = intercept(respondingWith(HttpStatus.OK));
+        Assertions.assertEquals(1, limiter.getInFlight());
+
+        response.close();
+        response.close();
+
+        Assertions.assertEquals(0, limiter.getInFlight());
+        Assertions.assertEquals(ApplicationConstants.GATEWAY_LIMITER_INITIAL_LIMIT, limiter.getLimit());
+    }
+
+    @Test
+    void testIntercept_CountsOverloadResponsesAsDropped() throws IOException {
+        intercept(respondingWith(HttpStatus.SERVICE_UNAVAILABLE)).close();
+
+        Assertions.assertEquals(0, limiter.getInFlight());
+        Assertions.assertEquals((int) (ApplicationConstants.GATEWAY_LIMITER_INITIAL_LIMIT * 0.9), limiter.getLimit());
+    }
+
+    @Test
+    void testIntercept_ReleasesTheSlotAsDroppedOnIoErrors() {
+        Assertions.assertThrows(SocketTimeoutException.class, () -> intercept((request, body) -> {
+            throw new SocketTimeoutException("Read timed out");
+        }));
+
+        Assertions.assertEquals(0, limiter.getInFlight());
+        Assertions.assertEquals((int) (ApplicationConstants.GATEWAY_LIMITER_INITIAL_LIMIT * 0.9), limiter.getLimit());
+    }
+
+    @Test
+    void testIntercept_ReleasesTheSlotWithoutPenaltyWhenAbortedOrFailingInside() {
+        Assertions.assertThrows(AbortableRequestFactory.AbortedException.class, () -> intercept((request, body) -> {
+            throw new AbortableRequestFactory.AbortedException("Attempt aborted");
+        }));
+        Assertions.assertThrows(IllegalStateException.class, () -> intercept((request, body) -> {
+            throw new IllegalStateException("Inner interceptor failure");
+        }));
+
+        Assertions.assertEquals(0, limiter.getInFlight());
+        Assertions.assertEquals(ApplicationConstants.GATEWAY_LIMITER_INITIAL_LIMIT, limiter.getLimit());
+    }
+
+    @Test
+    void testIntercept_RejectsWithoutCallingThePartnerWhenTheLimitIsReached() throws InterruptedException {
+        for (int slot = 0; slot < limiter.getLimit(); slot++) {
+            Assertions.assertTrue(limiter.tryAcquire(0, TimeUnit.MILLISECONDS));
+        }
+
+        Assertions.assertThrows(ServiceUnavailableException.class, () -> intercept((request, body) -> {
+            throw new AssertionError("The partner must not be called");
+        }));
+
+        Assertions.assertEquals(1, meterRegistry.counter("gateway.limiter.rejected", "host", HOST).count());
+        Assertions.assertEquals(ApplicationConstants.GATEWAY_LIMITER_INITIAL_LIMIT, limiter.getInFlight());
+    }
+
+    private ClientHttpResponse intercept(ClientHttpRequestExecution execution) throws IOException {
+        return interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("http://" + HOST + "/users/42")), new byte[0], execution);
+    }
+
+    private static ClientHttpRequestExecution respondingWith(HttpStatus status) {
+        return (request, body) -> new MockClientHttpResponse(new byte[0], status);
+    }
+}
@@ -0,0 +1,130 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+
+public class FanOutExecutorTest {
+
+    private ExecutorService gatewayExecutor;
+    private FanOutExecutor fanOutExecutor;
+
+    @BeforeEach
+    void setUp() {
+        gatewayExecutor = Executors.newCachedThreadPool();
+        fanOutExecutor = new FanOutExecutor();
+        ReflectionTestUtils.setField(fanOutExecutor, "gatewayExecutor", gatewayExecutor);
+    }
+
+    @AfterEach
+    void shutdown() {
+        gatewayExecutor.shutdownNow();
+    }
+
+    @Test
+    void testExecute_CapsTheCallsInFlightPerPartner() {
+        List<GatewayRequest<String>> requests = IntStream.range(0, 12)
+                .mapToObj(index -> GatewayRequest.get("http://partner-" + index % 2 + ".test/users/" + index, String.class))
+                .collect(Collectors.toList());
+        Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> maxInFlight = new ConcurrentHashMap<>();
+
+        List<GatewayResult<String>> results = fanOutExecutor.execute(requests, 2, Duration.ofSeconds(5), (request, requestFactory) -> {
+            String host = PartnerEndpoint.from(request.getPath()).getHost();
+            int calls = inFlight.computeIfAbsent(host, key -> new AtomicInteger()).incrementAndGet();
+            maxInFlight.computeIfAbsent(host, key -> new AtomicInteger()).accumulateAndGet(calls, Math::max);
+            sleep(20);
+            inFlight.get(host).decrementAndGet();
+            return request.getPath();
+        });
+
+        Assertions.assertEquals(requests.stream().map(GatewayRequest::getPath).collect(Collectors.toList()),
+                results.stream().map(GatewayResult::getResponse).collect(Collectors.toList()));
+        Assertions.assertTrue(results.stream().allMatch(GatewayResult::isSuccess));
+        Assertions.assertTrue(maxInFlight.get("partner-0.test").get() <= 2);
+        Assertions.assertTrue(maxInFlight.get("partner-1.test").get() <= 2);
+    }
+
+    @Test
+    void testExecute_ReportsFailedAndTimedOutCallsInPlace() {
+        List<GatewayRequest<String>> requests = List.of(
+                GatewayRequest.get("http://partner.test/users/1", String.class),
+                GatewayRequest.get("http://partner.test/users/2", String.class),
+                GatewayRequest.get("http://partner.test/users/3", String.class));
+
+        List<GatewayResult<String>> results = fanOutExecutor.execute(requests, 3, Duration.ofMillis(200), (request, requestFactory) -> {
+            if (request.getPath().endsWith("/2")) {
+                throw new IllegalStateException("Partner failure");
+            }
+            if (request.getPath().endsWith("/3")) {
+                sleep(5000);
+            }
+            return "ok";
+        });
+
+        Assertions.assertEquals(List.of(GatewayResult.Status.SUCCESS, GatewayResult.Status.FAILED, GatewayResult.Status.TIMED_OUT),
+                results.stream().map(GatewayResult::getStatus).collect(Collectors.toList()));
+        Assertions.assertEquals("Partner failure", results.get(1).getErrorMessage());
+    }
+
+    @Test
+    void testExecute_AbortsTheBlockingReadOfATimedOutCall() throws Exception {
+        try (ServerSocket silentPartner = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            CompletableFuture<Socket> accepted = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return silentPartner.accept();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            URI uri = URI.create("http://127.0.0.1:" + silentPartner.getLocalPort() + "/users/1");
+            CompletableFuture<Throwable> callFailure = new CompletableFuture<>();
+
+            List<GatewayResult<String>> results = fanOutExecutor.execute(List.of(GatewayRequest.get(uri.toString(), String.class)), 1, Duration.ofMillis(200),
+                    (request, requestFactory) -> {
+                        try (ClientHttpResponse response = requestFactory.createRequest(uri, HttpMethod.GET).execute()) {
+                            return response.getStatusText();
+                        } catch (IOException ex) {
+                            callFailure.complete(ex);
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+
+            Assertions.assertEquals(GatewayResult.Status.TIMED_OUT, results.get(0).getStatus());
+            Assertions.assertTrue(callFailure.get(5, TimeUnit.SECONDS) instanceof AbortableRequestFactory.AbortedException);
+            accepted.get(5, TimeUnit.SECONDS).close();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import com.mojagap.mojanode.dto.gateway.PartnerLatencyDto;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+public class GatewayLatencyMetricsTest {
+
+    private static final PartnerEndpoint ENDPOINT = PartnerEndpoint.from("http://partner.test/users/42");
+
+    private final MockClock clock = new MockClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+    private GatewayLatencyMetrics gatewayLatencyMetrics;
+
+    @BeforeEach
+    void setUp() {
+        gatewayLatencyMetrics = new GatewayLatencyMetrics();
+        ReflectionTestUtils.setField(gatewayLatencyMetrics, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    void testGetPartnerLatencies_ReportsPercentilesPerEndpointStatusAndPhase() {
+        for (int millis = 1; millis <= 100; millis++) {
+            gatewayLatencyMetrics.record(ENDPOINT, "2xx", GatewayLatencyMetrics.PHASE_TOTAL, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        gatewayLatencyMetrics.record(ENDPOINT, "5xx", GatewayLatencyMetrics.PHASE_TOTAL, TimeUnit.MILLISECONDS.toNanos(7));
+
+        List<PartnerLatencyDto> partnerLatencies = gatewayLatencyMetrics.getPartnerLatencies();
+
+        Assertions.assertEquals(2, partnerLatencies.size());
+        PartnerLatencyDto ok = partnerLatencies.stream().filter(latency -> latency.getStatus().equals("2xx")).findFirst().orElseThrow();
+        Assertions.assertEquals("partner.test", ok.getHost());
+        Assertions.assertEquals("/users/{id}", ok.getPath());
+        Assertions.assertEquals(GatewayLatencyMetrics.PHASE_TOTAL, ok.getPhase());
+        Assertions.assertEquals(100, ok.getCount());
+        Assertions.assertEquals(100, ok.getMax(), 0.001);
+        Assertions.assertEquals(50, ok.getP50(), 5);
+        Assertions.assertEquals(90, ok.getP90(), 9);
+        Assertions.assertEquals(99, ok.getP99(), 10);
+    }
+
+    @Test
+    void testRecord_PercentilesOnlyReflectTheRecentWindow() {
+        gatewayLatencyMetrics.record(ENDPOINT, "2xx", GatewayLatencyMetrics.PHASE_TOTAL, TimeUnit.SECONDS.toNanos(2));
+        Assertions.assertEquals(2000, gatewayLatencyMetrics.getPartnerLatencies().get(0).getP50(), 100);
+
+        clock.add(Duration.ofMinutes(2));
+
+        PartnerLatencyDto expired = gatewayLatencyMetrics.getPartnerLatencies().get(0);
+        Assertions.assertEquals(0, expired.getP50(), 0.001);
+        Assertions.assertEquals(1, expired.getCount());
+    }
+
+    @Test
+    void testIntercept_RecordsTimeToFirstByteAndTotalOnClose() throws IOException {
+        LatencyRecordingInterceptor interceptor = new LatencyRecordingInterceptor(gatewayLatencyMetrics);
+
+        ClientHttpResponse response = interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("http://partner.test/users/42")), new byte[0],
+                (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.NOT_FOUND));
+        Assertions.assertEquals(1, timer("4xx", GatewayLatencyMetrics.PHASE_TTFB).count());
+        Assertions.assertNull(meterRegistry.find(GatewayLatencyMetrics.METER_NAME).tag("phase", GatewayLatencyMetrics.PHASE_TOTAL).timer());
+
+        response.close();
+        response.close();
+
+        Assertions.assertEquals(1, timer("4xx", GatewayLatencyMetrics.PHASE_TOTAL).count());
+    }
+
+    @Test
+    void testIntercept_RecordsIoErrorsAsTotalTime() {
+        LatencyRecordingInterceptor interceptor = new LatencyRecordingInterceptor(gatewayLatencyMetrics);
+
+        Assertions.assertThrows(ConnectException.class, () -> interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("http://partner.test/users/42")),
+                new byte[0], (request, body) -> {
+                    throw new ConnectException("Connection refused");
+                }));
+
+        Assertions.assertEquals(1, timer(GatewayLatencyMetrics.STATUS_IO_ERROR, GatewayLatencyMetrics.PHASE_TOTAL).count());
+        Assertions.assertNull(meterRegistry.find(GatewayLatencyMetrics.METER_NAME).tag("phase", GatewayLatencyMetrics.PHASE_TTFB).timer());
+    }
+
+    private Timer timer(String status, String phase) {
+        return meterRegistry.get(GatewayLatencyMetrics.METER_NAME).tags("host", ENDPOINT.getHost(), "path", ENDPOINT.getPathTemplate(), "status", status, "phase", phase).timer();
+    }
+}
@@ -0,0 +1,31 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+public class HedgeBudgetTest {
+
+    @Test
+    void testTryWithdraw_NeedsAWholeTokenOfDeposits() {
+        HedgeBudget hedgeBudget = new HedgeBudget(0.5, 10);
+
+        hedgeBudget.deposit();
+        Assertions.assertFalse(hedgeBudget.tryWithdraw());
+        hedgeBudget.deposit();
+        Assertions.assertTrue(hedgeBudget.tryWithdraw());
+        Assertions.assertFalse(hedgeBudget.tryWithdraw());
+    }
+
+    @Test
+    void testDeposit_IsCappedAtTheMaximumTokens() {
+        HedgeBudget hedgeBudget = new HedgeBudget(0.5, 2);
+        for (int deposit = 0; deposit < 100; deposit++) {
+            hedgeBudget.deposit();
+        }
+
+        Assertions.assertTrue(hedgeBudget.tryWithdraw());
+        Assertions.assertTrue(hedgeBudget.tryWithdraw());
+        Assertions.assertFalse(hedgeBudget.tryWithdraw());
+    }
+}
@@ -0,0 +1,146 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public class HedgedRequestExecutorTest {
+
+    private static final PartnerEndpoint ENDPOINT = PartnerEndpoint.from("http://partner.test/users/42");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private ExecutorService gatewayExecutor;
+    private HedgedRequestExecutor hedgedRequestExecutor;
+
+    @BeforeEach
+    void setUp() {
+        gatewayExecutor = Executors.newCachedThreadPool();
+        hedgedRequestExecutor = new HedgedRequestExecutor();
+        ReflectionTestUtils.setField(hedgedRequestExecutor, "gatewayExecutor", gatewayExecutor);
+        ReflectionTestUtils.setField(hedgedRequestExecutor, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(hedgedRequestExecutor, "hedgingEnabled", true);
+        LatencyTracker latencyTracker = (LatencyTracker) ReflectionTestUtils.getField(hedgedRequestExecutor, "latencyTracker");
+        for (int sample = 0; sample < 20; sample++) {
+            latencyTracker.record(ENDPOINT, 1);
+        }
+    }
+
+    @AfterEach
+    void shutdown() {
+        gatewayExecutor.shutdownNow();
+    }
+
+    @Test
+    void testExecute_HedgeWinsAndTheSlowPrimaryIsAborted() {
+        fillBudget();
+        AtomicBoolean primaryAborted = new AtomicBoolean();
+
+        String response = hedgedRequestExecutor.execute(ENDPOINT, requestFactory ->
+                attempts.incrementAndGet() == 1 ? blockUntilAborted(requestFactory, primaryAborted) : "hedge");
+
+        Assertions.assertEquals("hedge", response);
+        Assertions.assertEquals(2, attempts.get());
+        Assertions.assertTrue(primaryAborted.get());
+        Assertions.assertEquals(1, count("gateway.hedge.fired"));
+        Assertions.assertEquals(1, count("gateway.hedge.won"));
+    }
+
+    @Test
+    void testExecute_PrimaryWinsAndTheHedgeIsAborted() {
+        fillBudget();
+        AtomicBoolean hedgeAborted = new AtomicBoolean();
+
+        String response = hedgedRequestExecutor.execute(ENDPOINT, requestFactory ->
+                attempts.incrementAndGet() == 1 ? answerAfter(200, "primary") : blockUntilAborted(requestFactory, hedgeAborted));
+
+        Assertions.assertEquals("primary", response);
+        Assertions.assertEquals(2, attempts.get());
+        Assertions.assertTrue(hedgeAborted.get());
+        Assertions.assertEquals(1, count("gateway.hedge.fired"));
+        Assertions.assertEquals(0, count("gateway.hedge.won"));
+    }
+
+    @Test
+    void testExecute_DoesNotHedgeWithoutBudget() {
+        String response = hedgedRequestExecutor.execute(ENDPOINT, requestFactory -> {
+            attempts.incrementAndGet();
+            return answerAfter(100, "primary");
+        });
+
+        Assertions.assertEquals("primary", response);
+        Assertions.assertEquals(1, attempts.get());
+        Assertions.assertEquals(1, count("gateway.hedge.budget.exhausted"));
+        Assertions.assertEquals(0, count("gateway.hedge.fired"));
+    }
+
+    @Test
+    void testExecute_DoesNotHedgeAFastPrimary() {
+        fillBudget();
+
+        String response = hedgedRequestExecutor.execute(ENDPOINT, requestFactory -> {
+            attempts.incrementAndGet();
+            return "primary";
+        });
+
+        Assertions.assertEquals("primary", response);
+        Assertions.assertEquals(1, attempts.get());
+        Assertions.assertEquals(0, count("gateway.hedge.fired"));
+    }
+
+    private void fillBudget() {
+        HedgeBudget hedgeBudget = (HedgeBudget) ReflectionTestUtils.getField(hedgedRequestExecutor, "hedgeBudget");
+        for (int deposit = 0; deposit < 100; deposit++) {
+            hedgeBudget.deposit();
+        }
+    }
+
+    private double count(String name) {
+        return meterRegistry.counter(name, "host", ENDPOINT.getHost(), "path", ENDPOINT.getPathTemplate()).count();
+    }
+
+    private static String answerAfter(long millis, String response) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+        return response;
+    }
+
+    /**
+     * Stands in for a blocking read: keeps opening connections through the attempt's request factory until the
+     * factory is aborted.
+     */
+    private static String blockUntilAborted(ClientHttpRequestFactory requestFactory, AtomicBoolean aborted) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            try {
+                requestFactory.createRequest(URI.create("http://partner.test/users/42"), HttpMethod.GET);
+            } catch (AbortableRequestFactory.AbortedException ex) {
+                aborted.set(true);
+                throw new UncheckedIOException(ex);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            answerAfter(5, null);
+        }
+        return "never aborted";
+    }
+}
@@ -0,0 +1,69 @@
+package com.mojagap.mojanode.service.httpgateway;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+
+public class JsonArrayChunkReaderTest {
+
+    private final List<List<Integer>> chunks = new ArrayList<>();
+
+    @Test
+    void testRead_HandsOverFullChunksAndTheRemainder() throws IOException {
+        Assertions.assertEquals(7, read("[1,2,3,4,5,6,7]", 3));
+        Assertions.assertEquals(List.of(List.of(1, 2, 3), List.of(4, 5, 6), List.of(7)), chunks);
+
+        chunks.clear();
+        Assertions.assertEquals(6, read("[1,2,3,4,5,6]", 3));
+        Assertions.assertEquals(List.of(List.of(1, 2, 3), List.of(4, 5, 6)), chunks);
+    }
+
+    @Test
+    void testRead_ReadsObjectElements() throws IOException {
+        List<List<Map>> objectChunks = new ArrayList<>();
+        long count = JsonArrayChunkReader.read(stream("[{\"id\":1,\"tags\":[\"a\"]},{\"id\":2}]"), Map.class, 1, objectChunks::add);
+
+        Assertions.assertEquals(2, count);
+        Assertions.assertEquals(List.of(List.of(Map.of("id", 1, "tags", List.of("a"))), List.of(Map.of("id", 2))), objectChunks);
+    }
+
+    @Test
+    void testRead_ReturnsZeroWithoutChunksForAnEmptyArray() throws IOException {
+        Assertions.assertEquals(0, read(" [ ] ", 3));
+        Assertions.assertEquals(List.of(), chunks);
+    }
+
+    @Test
+    void testRead_RejectsABodyThatIsNotAnArray() {
+        Assertions.assertThrows(RestClientException.class, () -> read("{\"users\":[1,2]}", 3));
+        Assertions.assertThrows(RestClientException.class, () -> read("", 3));
+        Assertions.assertEquals(List.of(), chunks);
+    }
+
+    @Test
+    void testRead_FailsOnATruncatedStreamInsteadOfReturningACount() {
+        RestClientException truncated = Assertions.assertThrows(RestClientException.class, () -> read("[1,2,3,4", 3));
+        Assertions.assertTrue(truncated.getMessage().startsWith("Truncated or malformed partner JSON array after 4 elements"));
+        Assertions.assertThrows(RestClientException.class, () -> read("[1,2,3,4,", 3));
+        Assertions.assertThrows(RestClientException.class, () -> JsonArrayChunkReader.read(stream("[{\"id\":1},{\"id\":"), Map.class, 3, chunk -> {
+        }));
+        Assertions.assertThrows(RestClientException.class, () -> read("[1,2,}", 3));
+        Assertions.assertEquals(List.of(List.of(1, 2, 3), List.of(1, 2, 3)), chunks);
+    }
+
+    private long read(String body, int chunkSize) throws IOException {
+        return JsonArrayChunkReader.read(stream(body), Integer.class, chunkSize, chunks::add);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
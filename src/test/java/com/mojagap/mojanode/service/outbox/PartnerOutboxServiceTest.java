@@ -0,0 +1,293 @@
+package com.mojagap.mojanode.service.outbox;
+
+import com.mojagap.mojanode.infrastructure.AppContext;
+import com.mojagap.mojanode.infrastructure.ApplicationConstants;
+import com.mojagap.mojanode.infrastructure.exception.RecordNotFoundException;
+import com.mojagap.mojanode.model.common.ActionTypeEnum;
+import com.mojagap.mojanode.model.http.OutboxStatusEnum;
+import com.mojagap.mojanode.model.http.PartnerOutbox;
+import com.mojagap.mojanode.model.user.AppUser;
+import com.mojagap.mojanode.repository.http.PartnerOutboxRepository;
+import com.mojagap.mojanode.repository.user.AppUserRepository;
+import com.mojagap.mojanode.support.MigratedH2Database;
+import com.mojagap.mojanode.support.QueryCountingJpa;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.support.PersistenceExceptionTranslationInterceptor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+
+public class PartnerOutboxServiceTest {
+
+    private static DataSource dataSource;
+    private static EntityManagerFactory entityManagerFactory;
+    private final MutableClock clock = new MutableClock(Instant.parse("2021-06-15T08:00:00Z"));
+    private PartnerOutboxService partnerOutboxService;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = MigratedH2Database.create("partner_outbox");
+        entityManagerFactory = QueryCountingJpa.create(dataSource, Map.of("hibernate.cache.use_second_level_cache", "false")).getEntityManagerFactory();
+    }
+
+    @BeforeEach
+    void setUp() {
+        new JdbcTemplate(dataSource).update("DELETE FROM partner_outbox");
+        partnerOutboxService = new PartnerOutboxService();
+        ReflectionTestUtils.setField(partnerOutboxService, "partnerOutboxRepository",
+                repository(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory)));
+        ReflectionTestUtils.setField(partnerOutboxService, "clock", clock);
+    }
+
+    @Test
+    void testClaimDueMessages_LeasesMessagesUntilTheLeaseExpires() {
+        enqueue("http://partner.test/users");
+        enqueue("http://partner.test/users");
+
+        List<PartnerOutbox> claimed = claim(10);
+        Assertions.assertEquals(2, claimed.size());
+        long leaseEnd = clock.millis() + TimeUnit.SECONDS.toMillis(ApplicationConstants.OUTBOX_LEASE_SECONDS);
+        Assertions.assertTrue(claimed.stream().allMatch(partnerOutbox -> partnerOutbox.getLockedUntil().getTime() == leaseEnd));
+
+        clock.set(Instant.ofEpochMilli(leaseEnd));
+        Assertions.assertEquals(List.of(), claim(10));
+
+        clock.advance(Duration.ofMillis(1));
+        Assertions.assertEquals(ids(claimed), ids(claim(10)));
+    }
+
+    @Test
+    void testClaimDueMessages_ClaimsAtMostTheBatchOldestFirst() {
+        PartnerOutbox first = enqueue("http://partner.test/users/1");
+        clock.advance(Duration.ofSeconds(1));
+        PartnerOutbox second = enqueue("http://partner.test/users/2");
+        clock.advance(Duration.ofSeconds(1));
+        PartnerOutbox third = enqueue("http://partner.test/users/3");
+
+        Assertions.assertEquals(List.of(first.getId(), second.getId()), ids(claim(2)));
+        Assertions.assertEquals(List.of(third.getId()), ids(claim(2)));
+    }
+
+    @Test
+    void testMarkFailed_BacksOffExponentiallyUntilTheMessageIsDead() {
+        enqueue("http://partner.test/users");
+
+        for (int attempt = 1; attempt < ApplicationConstants.OUTBOX_MAX_ATTEMPTS; attempt++) {
+            PartnerOutbox partnerOutbox = claim(1).get(0);
+            markFailed(partnerOutbox, new ResourceAccessException("Read timed out"));
+
+            long delay = Math.min(ApplicationConstants.OUTBOX_BACKOFF_MAX_MS, ApplicationConstants.OUTBOX_BACKOFF_BASE_MS << (attempt - 1));
+            long backoff = partnerOutbox.getNextAttemptAt().getTime() - clock.millis();
+            Assertions.assertTrue(backoff >= delay / 2 && backoff <= delay, "Backoff " + backoff + "ms of attempt " + attempt);
+            Assertions.assertEquals(attempt, partnerOutbox.getAttempts());
+            Assertions.assertEquals(OutboxStatusEnum.PENDING, partnerOutbox.getStatus());
+            Assertions.assertNull(partnerOutbox.getLockedUntil());
+            Assertions.assertEquals(List.of(), claim(1));
+
+            clock.set(partnerOutbox.getNextAttemptAt().toInstant());
+        }
+        PartnerOutbox partnerOutbox = claim(1).get(0);
+        markFailed(partnerOutbox, new ResourceAccessException("Read timed out"));
+
+        Assertions.assertEquals(OutboxStatusEnum.DEAD, partnerOutbox.getStatus());
+        clock.advance(Duration.ofDays(1));
+        Assertions.assertEquals(List.of(), claim(1));
+    }
+
+    @Test
+    void testMarkFailed_GivesUpAtOnceOnClientErrorsButRetriesThrottling() {
+        enqueue("http://partner.test/users/1");
+        enqueue("http://partner.test/users/2");
+        List<PartnerOutbox> claimed = claim(2);
+
+        markFailed(claimed.get(0), new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+        markFailed(claimed.get(1), new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+
+        Assertions.assertEquals(OutboxStatusEnum.DEAD, claimed.get(0).getStatus());
+        Assertions.assertEquals(OutboxStatusEnum.PENDING, claimed.get(1).getStatus());
+        clock.advance(Duration.ofMillis(ApplicationConstants.OUTBOX_BACKOFF_BASE_MS));
+        Assertions.assertEquals(List.of(claimed.get(1).getId()), ids(claim(2)));
+    }
+
+    @Test
+    void testMarkDelivered_RecordsTheResponseAndIsNotClaimedAgain() {
+        enqueue("http://partner.test/users");
+        PartnerOutbox partnerOutbox = claim(1).get(0);
+        clock.advance(Duration.ofSeconds(3));
+
+        inTransaction(() -> {
+            partnerOutboxService.markDelivered(partnerOutbox, "{\"id\":42}");
+            return null;
+        });
+
+        PartnerOutbox delivered = inTransaction(() -> repository(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+                .findById(partnerOutbox.getId()).orElseThrow());
+        Assertions.assertEquals(OutboxStatusEnum.DELIVERED, delivered.getStatus());
+        Assertions.assertEquals(1, delivered.getAttempts());
+        Assertions.assertEquals("{\"id\":42}", delivered.getResponseBody());
+        Assertions.assertEquals(clock.millis(), delivered.getDeliveredOn().getTime());
+        Assertions.assertNull(delivered.getLockedUntil());
+        clock.advance(Duration.ofDays(1));
+        Assertions.assertEquals(List.of(), claim(1));
+    }
+
+    @Test
+    void testMarkDelivered_RejectsAWorkerWhoseLeaseWasTakenOver() {
+        enqueue("http://partner.test/users");
+        PartnerOutbox expired = claim(1).get(0);
+        clock.advance(Duration.ofSeconds(ApplicationConstants.OUTBOX_LEASE_SECONDS + 1));
+        PartnerOutbox current = claim(1).get(0);
+
+        markFailed(current, new ResourceAccessException("Read timed out"));
+        Assertions.assertThrows(OptimisticLockingFailureException.class, () -> inTransaction(() -> {
+            partnerOutboxService.markDelivered(expired, "{\"id\":42}");
+            return null;
+        }));
+
+        PartnerOutbox stored = inTransaction(() -> repository(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+                .findById(current.getId()).orElseThrow());
+        Assertions.assertEquals(OutboxStatusEnum.PENDING, stored.getStatus());
+        Assertions.assertEquals(1, stored.getAttempts());
+        Assertions.assertNull(stored.getResponseBody());
+    }
+
+    @Test
+    void testGetPartnerOutboxById_OnlyFindsMessagesOfTheLoggedInAccount() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        EntityManager loginEntityManager = entityManagerFactory.createEntityManager();
+        AppUser admin = new JpaRepositoryFactory(loginEntityManager).getRepository(AppUserRepository.class).findOneByEmail("admin@mojagap.io");
+        loginEntityManager.close();
+        try {
+            AppContext.setLoggedInUser(admin);
+            PartnerOutbox own = enqueue("http://partner.test/users/1");
+            AppContext.setLoggedInUser(null);
+            PartnerOutbox anonymous = enqueue("http://partner.test/users/2");
+            PartnerOutbox foreign = enqueue("http://partner.test/users/3");
+            jdbcTemplate.update("INSERT INTO account(id, name, address, country_code, email, contact_phone_number, account_type, record_status) " +
+                    "VALUES (9001, 'Foreign Account', 'Plot 3 Gulu Road', 'UG', 'foreign@account.io', '+256780000003', 'INDIVIDUAL', 'ACTIVE')");
+            jdbcTemplate.update("INSERT INTO app_user(id, first_name, last_name, date_of_birth, id_number, address, email, phone_number, password, account_id, record_status) " +
+                    "VALUES (9001, 'Foreign', 'User', CURRENT_DATE, 'U009001', 'Gulu', 'foreign@account.io', '+256780000003', 'secret', 9001, 'ACTIVE')");
+            jdbcTemplate.update("UPDATE partner_outbox SET created_by = 9001 WHERE id = ?", foreign.getId());
+
+            AppContext.setLoggedInUser(admin);
+            Assertions.assertEquals(own.getId(), partnerOutboxService.getPartnerOutboxById(own.getId()).getId());
+            Assertions.assertThrows(RecordNotFoundException.class, () -> partnerOutboxService.getPartnerOutboxById(anonymous.getId()));
+            Assertions.assertThrows(RecordNotFoundException.class, () -> partnerOutboxService.getPartnerOutboxById(foreign.getId()));
+        } finally {
+            AppContext.setLoggedInUser(null);
+        }
+    }
+
+    private PartnerOutbox enqueue(String requestUrl) {
+        return inTransaction(() -> partnerOutboxService.enqueue(ActionTypeEnum.API_POST_REQUEST, HttpMethod.POST, requestUrl, Map.of("firstName", "Julius")));
+    }
+
+    private List<PartnerOutbox> claim(int batchSize) {
+        return inTransaction(() -> partnerOutboxService.claimDueMessages(batchSize));
+    }
+
+    private void markFailed(PartnerOutbox partnerOutbox, Exception ex) {
+        inTransaction(() -> {
+            partnerOutboxService.markFailed(partnerOutbox, ex);
+            return null;
+        });
+    }
+
+    private static <R> R inTransaction(Supplier<R> work) {
+        return new TransactionTemplate(new JpaTransactionManager(entityManagerFactory)).execute(status -> work.get());
+    }
+
+    private static List<Integer> ids(List<PartnerOutbox> partnerOutboxes) {
+        return partnerOutboxes.stream().map(PartnerOutbox::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * The JPA repository, except that the claim query runs without {@code SKIP LOCKED} which H2 does not support.
+     */
+    private static PartnerOutboxRepository repository(EntityManager entityManager) {
+        JpaRepositoryFactory repositoryFactory = new JpaRepositoryFactory(entityManager);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("persistenceExceptionTranslator", new HibernateJpaDialect());
+        repositoryFactory.addRepositoryProxyPostProcessor((factory, repositoryInformation) ->
+                factory.addAdvice(new PersistenceExceptionTranslationInterceptor(beanFactory)));
+        PartnerOutboxRepository partnerOutboxRepository = repositoryFactory.getRepository(PartnerOutboxRepository.class);
+        return (PartnerOutboxRepository) Proxy.newProxyInstance(PartnerOutboxRepository.class.getClassLoader(), new Class<?>[]{PartnerOutboxRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findDueForDeliveryForUpdate")) {
+                        String sql = method.getAnnotation(Query.class).value().replace(" SKIP LOCKED", "");
+                        return entityManager.createNativeQuery(sql, PartnerOutbox.class)
+                                .setParameter("now", args[0])
+                                .setParameter("batchSize", args[1])
+                                .getResultList();
+                    }
+                    try {
+                        return method.invoke(partnerOutboxRepository, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
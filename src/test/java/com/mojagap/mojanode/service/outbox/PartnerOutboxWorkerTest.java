@@ -0,0 +1,151 @@
+package com.mojagap.mojanode.service.outbox;
+
+import com.mojagap.mojanode.model.http.PartnerOutbox;
+import com.mojagap.mojanode.service.httpgateway.RestTemplateService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+
+public class PartnerOutboxWorkerTest {
+
+    private final List<Integer> claimedBatchSizes = new CopyOnWriteArrayList<>();
+    private final Map<Integer, String> delivered = new ConcurrentHashMap<>();
+    private final Map<Integer, Exception> failed = new ConcurrentHashMap<>();
+    private final List<PartnerOutbox> dueMessages = new ArrayList<>();
+    private CountDownLatch outcomes;
+    private ThreadPoolExecutor outboxExecutor;
+    private PartnerOutboxWorker partnerOutboxWorker;
+
+    @BeforeEach
+    void setUp() {
+        outboxExecutor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        partnerOutboxWorker = new PartnerOutboxWorker();
+        ReflectionTestUtils.setField(partnerOutboxWorker, "outboxExecutor", outboxExecutor);
+        ReflectionTestUtils.setField(partnerOutboxWorker, "partnerOutboxService", new PartnerOutboxService() {
+            @Override
+            public List<PartnerOutbox> claimDueMessages(int batchSize) {
+                claimedBatchSizes.add(batchSize);
+                return new ArrayList<>(dueMessages.subList(0, Math.min(batchSize, dueMessages.size())));
+            }
+
+            @Override
+            public void markDelivered(PartnerOutbox partnerOutbox, String responseBody) {
+                if (partnerOutbox.getRequestUrl().endsWith("/taken-over")) {
+                    outcomes.countDown();
+                    throw new ObjectOptimisticLockingFailureException(PartnerOutbox.class, partnerOutbox.getId());
+                }
+                delivered.put(partnerOutbox.getId(), responseBody);
+                outcomes.countDown();
+            }
+
+            @Override
+            public void markFailed(PartnerOutbox partnerOutbox, Exception ex) {
+                failed.put(partnerOutbox.getId(), ex);
+                outcomes.countDown();
+            }
+        });
+        ReflectionTestUtils.setField(partnerOutboxWorker, "restTemplateService", new RestTemplateService() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <R> R doHttpRequest(HttpMethod httpMethod, String path, Object body, Class<R> responseType) {
+                if (path.endsWith("/down")) {
+                    throw new ResourceAccessException("Connection refused");
+                }
+                return (R) (httpMethod.name() + " " + path);
+            }
+        });
+    }
+
+    @AfterEach
+    void shutdown() {
+        outboxExecutor.shutdownNow();
+    }
+
+    @Test
+    void testDeliverDueMessages_MarksEachMessageDeliveredOrFailed() throws InterruptedException {
+        dueMessages.add(message(1, "http://partner.test/users"));
+        dueMessages.add(message(2, "http://partner.test/down"));
+        outcomes = new CountDownLatch(2);
+
+        partnerOutboxWorker.deliverDueMessages();
+
+        Assertions.assertTrue(outcomes.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(Map.of(1, "POST http://partner.test/users"), delivered);
+        Assertions.assertEquals(Set.of(2), failed.keySet());
+        Assertions.assertEquals("Connection refused", failed.get(2).getMessage());
+    }
+
+    @Test
+    void testDeliverDueMessages_LeavesAMessageWhoseLeaseWasTakenOverToItsNewOwner() throws InterruptedException {
+        dueMessages.add(message(1, "http://partner.test/taken-over"));
+        dueMessages.add(message(2, "http://partner.test/users"));
+        outcomes = new CountDownLatch(2);
+
+        partnerOutboxWorker.deliverDueMessages();
+
+        Assertions.assertTrue(outcomes.await(5, TimeUnit.SECONDS));
+        outboxExecutor.shutdown();
+        Assertions.assertTrue(outboxExecutor.awaitTermination(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(Set.of(2), delivered.keySet());
+        Assertions.assertEquals(Map.of(), failed);
+    }
+
+    @Test
+    void testDeliverDueMessages_OnlyClaimsAsManyMessagesAsThereAreIdleWorkers() throws InterruptedException {
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        outboxExecutor.execute(() -> {
+            busy.countDown();
+            awaitQuietly(release);
+        });
+        busy.await();
+        partnerOutboxWorker.deliverDueMessages();
+
+        outboxExecutor.execute(() -> awaitQuietly(release));
+        awaitActiveCount(2);
+        partnerOutboxWorker.deliverDueMessages();
+        release.countDown();
+
+        Assertions.assertEquals(List.of(1), claimedBatchSizes);
+    }
+
+    private void awaitActiveCount(int activeCount) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (outboxExecutor.getActiveCount() < activeCount && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static PartnerOutbox message(Integer id, String requestUrl) {
+        PartnerOutbox partnerOutbox = new PartnerOutbox();
+        partnerOutbox.setId(id);
+        partnerOutbox.setRequestMethod(HttpMethod.POST.name());
+        partnerOutbox.setRequestUrl(requestUrl);
+        return partnerOutbox;
+    }
+}
@@ -0,0 +1,30 @@
+package com.mojagap.mojanode.service.phone;
+
+import com.mojagap.mojanode.infrastructure.ErrorMessages;
+import com.mojagap.mojanode.infrastructure.exception.BadRequestException;
+import com.mojagap.mojanode.model.account.CountryCode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+
+public class PhoneNumberServiceTest {
+
+    private final PhoneNumberService phoneNumberService = new PhoneNumberService();
+
+    @Test
+    void testNormalize_ReadsNumbersWithoutACallingCodeAsNumbersOfTheRegion() {
+        Assertions.assertEquals("+256772123456", phoneNumberService.normalize("0772 123456", CountryCode.UG));
+        Assertions.assertEquals("+256772123456", phoneNumberService.normalize(" +256 772-123456 ", CountryCode.KE));
+        Assertions.assertEquals("+254712123456", phoneNumberService.normalize("0712 123456", CountryCode.KE));
+        Assertions.assertNull(phoneNumberService.normalize(null, CountryCode.UG));
+    }
+
+    @Test
+    void testNormalize_RejectsNumbersThatAreNotValidInTheRegion() {
+        BadRequestException exception = Assertions.assertThrows(BadRequestException.class, () -> phoneNumberService.normalize("+12000000000", CountryCode.UG));
+        Assertions.assertEquals(ErrorMessages.INVALID_PHONE_NUMBER, exception.getMessage());
+        Assertions.assertEquals(Optional.empty(), phoneNumberService.find("0772 12", CountryCode.UG));
+    }
+}
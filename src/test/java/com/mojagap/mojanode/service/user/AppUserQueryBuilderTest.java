@@ -0,0 +1,76 @@
+package com.mojagap.mojanode.service.user;
+
+import com.mojagap.mojanode.infrastructure.exception.BadRequestException;
+import com.mojagap.mojanode.model.common.PageCursor;
+import com.mojagap.mojanode.service.user.AppUserQueryBuilder.AppUserSortKey;
+import com.mojagap.mojanode.service.user.AppUserQueryBuilder.SortOrder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.util.Map;
+
+
+public class AppUserQueryBuilderTest {
+
+    @Test
+    void testBuildSelect_OnlyEmitsGivenFilters() {
+        AppUserQueryBuilder queryBuilder = AppUserQueryBuilder.forAccount(7).filters(Map.of("lastName", "Pet", "verified", "true"));
+        String sql = queryBuilder.buildSelect();
+        Assertions.assertTrue(sql.contains("WHERE appUser.account_id = :accountId\n" +
+                "  AND appUser.last_name LIKE :lastName\n" +
+                "  AND appUser.is_verified = :verified\n" +
+                "ORDER BY appUser.id ASC\n"));
+        Assertions.assertFalse(sql.contains("IS NULL"));
+        Assertions.assertFalse(sql.contains("LOWER("));
+        Assertions.assertFalse(sql.contains(":firstName"));
+        MapSqlParameterSource parameters = queryBuilder.getParameters();
+        Assertions.assertEquals("Pet%", parameters.getValue("lastName"));
+        Assertions.assertEquals(Boolean.TRUE, parameters.getValue("verified"));
+        Assertions.assertEquals(7, parameters.getValue("accountId"));
+    }
+
+    @Test
+    void testFilter_EscapesLikeWildcards() {
+        MapSqlParameterSource parameters = AppUserQueryBuilder.forAccount(1).filters(Map.of("email", "a_b%c")).getParameters();
+        Assertions.assertEquals("a\\_b\\%c%", parameters.getValue("email"));
+    }
+
+    @Test
+    void testBuildSelect_SortsByAllowedColumnWithIdTieBreaker() {
+        String sql = AppUserQueryBuilder.forAccount(1).sort(AppUserSortKey.fromValue("lastName"), SortOrder.DESC).page(10, 0).buildSelect();
+        Assertions.assertTrue(sql.contains("ORDER BY appUser.last_name DESC, appUser.id DESC\nLIMIT :limit OFFSET :offset\n"));
+        Assertions.assertThrows(BadRequestException.class, () -> AppUserSortKey.fromValue("password"));
+        Assertions.assertThrows(BadRequestException.class, () -> AppUserSortKey.fromValue("appUser.id; DROP TABLE app_user"));
+    }
+
+    @Test
+    void testAfter_EmitsKeysetPredicate() {
+        PageCursor pageCursor = new PageCursor("lastName", "ASC", "Smith", 42);
+        AppUserQueryBuilder queryBuilder = AppUserQueryBuilder.forAccount(1).sort(AppUserSortKey.LAST_NAME, SortOrder.ASC).after(pageCursor);
+        Assertions.assertTrue(queryBuilder.buildSelect().contains("  AND (appUser.last_name > :cursorValue OR\n" +
+                "       (appUser.last_name = :cursorValue AND appUser.id > :cursorId))\n"));
+        Assertions.assertEquals("Smith", queryBuilder.getParameters().getValue("cursorValue"));
+        Assertions.assertThrows(BadRequestException.class,
+                () -> AppUserQueryBuilder.forAccount(1).sort(AppUserSortKey.EMAIL, SortOrder.ASC).after(pageCursor));
+    }
+
+    @Test
+    void testBuildCount_OnlyJoinsWhatFiltersNeed() {
+        String sql = AppUserQueryBuilder.forAccount(1).filters(Map.of("lastName", "P")).buildCount();
+        Assertions.assertFalse(sql.contains("JOIN"));
+        sql = AppUserQueryBuilder.forAccount(1).filters(Map.of("organizationName", "Moja")).buildCount();
+        Assertions.assertTrue(sql.contains("LEFT OUTER JOIN company org"));
+        Assertions.assertFalse(sql.contains("createdBy"));
+    }
+
+    @Test
+    void testBuildExport_StreamsAllRowsWithoutPassword() {
+        String sql = AppUserQueryBuilder.forAccount(7).filters(Map.of("status", "ACTIVE")).page(50, 0).buildExport();
+        Assertions.assertTrue(sql.endsWith("WHERE appUser.account_id = :accountId\n" +
+                "  AND appUser.record_status = :status\n" +
+                "ORDER BY appUser.id ASC\n"));
+        Assertions.assertFalse(sql.contains("password"));
+        Assertions.assertFalse(sql.contains("LIMIT"));
+    }
+}
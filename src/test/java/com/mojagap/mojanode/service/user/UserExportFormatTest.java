@@ -0,0 +1,44 @@
+package com.mojagap.mojanode.service.user;
+
+import com.mojagap.mojanode.infrastructure.exception.BadRequestException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+
+public class UserExportFormatTest {
+
+    private static final String[] COLUMNS = {"id", "firstName", "verified"};
+
+    @Test
+    void testCsv_WritesHeaderAndQuotesOnlyWhenNeeded() throws IOException {
+        Assertions.assertEquals("id,firstName,verified\n1,Julius,true\n2,\"Kato, Peter\",\n",
+                export(UserExportFormat.CSV, new Object[]{1, "Julius", true}, new Object[]{2, "Kato, Peter", null}));
+    }
+
+    @Test
+    void testNdjson_WritesOneTypedObjectPerLine() throws IOException {
+        Assertions.assertEquals("{\"id\":1,\"firstName\":\"Julius\",\"verified\":true}\n{\"id\":2,\"firstName\":\"Kato\",\"verified\":null}\n",
+                export(UserExportFormat.NDJSON, new Object[]{1, "Julius", true}, new Object[]{2, "Kato", null}));
+    }
+
+    @Test
+    void testFromValue_DefaultsToCsvAndRejectsUnknownFormats() {
+        Assertions.assertEquals(UserExportFormat.CSV, UserExportFormat.fromValue(null));
+        Assertions.assertEquals(UserExportFormat.NDJSON, UserExportFormat.fromValue("NDJSON"));
+        Assertions.assertThrows(BadRequestException.class, () -> UserExportFormat.fromValue("xlsx"));
+    }
+
+    private String export(UserExportFormat format, Object[]... rows) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (UserExportFormat.RowWriter rowWriter = format.open(outputStream, COLUMNS)) {
+            for (Object[] row : rows) {
+                rowWriter.write(row);
+            }
+        }
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,67 @@
+package com.mojagap.mojanode.service.user;
+
+import com.mojagap.mojanode.dto.user.AppUserDto;
+import com.mojagap.mojanode.model.account.Account;
+import com.mojagap.mojanode.model.common.RecordHolder;
+import com.mojagap.mojanode.model.user.AppUser;
+import com.mojagap.mojanode.service.company.CompanySavedEvent;
+import com.mojagap.mojanode.service.user.search.AppUserSavedEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public class UserListingCacheTest {
+
+    private final UserListingCache userListingCache = new UserListingCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testGet_SharesOnePageBetweenEquivalentQueries() {
+        RecordHolder<AppUserDto> first = list(1, Map.of("lastName", "Petero", "limit", "20"));
+        Map<String, String> pollerParams = new HashMap<>(Map.of("lastName", " Petero ", "limit", "20", "_", "1634567890", "email", ""));
+        Assertions.assertSame(first, list(1, pollerParams));
+        Assertions.assertEquals(1, loads.get());
+
+        list(1, Map.of("lastName", "Petero", "limit", "50"));
+        list(2, Map.of("lastName", "Petero", "limit", "20"));
+        Assertions.assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testSavedUsersAndCompanies_InvalidateOnlyTheirAccount() {
+        list(1, Map.of());
+        list(2, Map.of());
+        long generation = userListingCache.generation(1);
+
+        userListingCache.onAppUserSaved(new AppUserSavedEvent(List.of(appUserOfAccount(1))));
+        Assertions.assertNotEquals(generation, userListingCache.generation(1));
+        list(1, Map.of());
+        list(2, Map.of());
+        Assertions.assertEquals(3, loads.get());
+
+        userListingCache.onCompanySaved(new CompanySavedEvent(2, null));
+        list(1, Map.of());
+        list(2, Map.of());
+        Assertions.assertEquals(4, loads.get());
+    }
+
+    private RecordHolder<AppUserDto> list(Integer accountId, Map<String, String> queryParams) {
+        return userListingCache.get(accountId, queryParams, () -> {
+            loads.incrementAndGet();
+            return new RecordHolder<>(null, List.of(new AppUserDto()));
+        });
+    }
+
+    private static AppUser appUserOfAccount(Integer accountId) {
+        Account account = new Account();
+        account.setId(accountId);
+        AppUser appUser = new AppUser();
+        appUser.setAccount(account);
+        return appUser;
+    }
+}
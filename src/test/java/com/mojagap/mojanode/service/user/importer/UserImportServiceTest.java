@@ -0,0 +1,197 @@
+package com.mojagap.mojanode.service.user.importer;
+
+import com.mojagap.mojanode.dto.user.UserImportJobDto;
+import com.mojagap.mojanode.infrastructure.AppContext;
+import com.mojagap.mojanode.infrastructure.ErrorMessages;
+import com.mojagap.mojanode.infrastructure.exception.RecordNotFoundException;
+import com.mojagap.mojanode.model.account.Account;
+import com.mojagap.mojanode.model.user.AppUser;
+import com.mojagap.mojanode.model.user.UserImportStatusEnum;
+import com.mojagap.mojanode.repository.account.AccountRepository;
+import com.mojagap.mojanode.repository.user.AppUserRepository;
+import com.mojagap.mojanode.repository.user.UserImportErrorRepository;
+import com.mojagap.mojanode.repository.user.UserImportRepository;
+import com.mojagap.mojanode.service.phone.PhoneNumberService;
+import com.mojagap.mojanode.service.user.search.AppUserSavedEvent;
+import com.mojagap.mojanode.support.MigratedH2Database;
+import com.mojagap.mojanode.support.QueryCountingJpa;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.support.PersistenceExceptionTranslationInterceptor;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+
+public class UserImportServiceTest {
+
+    private static final String HEADER = "firstName,lastName,dateOfBirth,idNumber,idType,address,email,phoneNumber,password\n";
+
+    private static DataSource dataSource;
+    private static EntityManagerFactory entityManagerFactory;
+    private static ExecutorService workerExecutor;
+    private final List<AppUserSavedEvent> events = new ArrayList<>();
+    private UserImportService userImportService;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = MigratedH2Database.create("user_import");
+        entityManagerFactory = QueryCountingJpa.create(dataSource, Map.of("hibernate.cache.use_second_level_cache", "false")).getEntityManagerFactory();
+        workerExecutor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterAll
+    static void shutdown() {
+        workerExecutor.shutdownNow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        userImportService = newUserImportService();
+        EntityManager loginEntityManager = entityManagerFactory.createEntityManager();
+        AppContext.setLoggedInUser(new JpaRepositoryFactory(loginEntityManager).getRepository(AppUserRepository.class).findOneByEmail("admin@mojagap.io"));
+        loginEntityManager.close();
+    }
+
+    @AfterEach
+    void logout() {
+        AppContext.setLoggedInUser(null);
+    }
+
+    @Test
+    void testRun_ImportsValidRowsAndReportsEveryRejectedRow() throws Exception {
+        Path upload = Files.createTempFile("user-import-test-", ".csv");
+        Files.writeString(upload, "\uFEFF" + HEADER
+                + "Grace,Namukasa,12/Mar/1990,CM9001,NATIONAL_ID,Plot 1 Kampala Road,grace@import.io,0772 123456,Secret#2021\n"
+                + "Brian,Okello,12/Mar/1990,CM9002,NATIONAL_ID,Plot 2 Kampala Road,not-an-email,+256772123458,Secret#2021\n"
+                + "Grace,Again,12/Mar/1990,CM9003,NATIONAL_ID,Plot 3 Kampala Road,GRACE@import.io,+256772123458,Secret#2021\n"
+                + "Admin,Clash,12/Mar/1990,CM9004,NATIONAL_ID,Plot 4 Kampala Road,admin@mojagap.io,+256772123458,Secret#2021\n"
+                + "Sarah,Akello,1990-03-12,CM9005,NATIONAL_ID,Plot 5 Kampala Road,sarah@import.io,+256772123458,Secret#2021\n"
+                + "Too,Short\n"
+                + "\n"
+                + "Peter,Mukasa,01/Jan/1985,CM9006,NATIONAL_ID,Plot 6 Kampala Road,peter@import.io,+256 772 123457,Secret#2021\n", StandardCharsets.UTF_8);
+        UserImportJob job = new UserImportJob(AppContext.getLoggedInUser().getAccount().getId(), AppContext.getLoggedInUser().getAccount().getCountryCode());
+
+        userImportService.run(job, upload);
+
+        UserImportJobDto result = userImportService.getJob(job.getId());
+        Assertions.assertEquals(UserImportStatusEnum.COMPLETED.name(), result.getStatus(), result.getFailureReason());
+        Assertions.assertEquals(7, result.getRowsRead());
+        Assertions.assertEquals(2, result.getRowsImported());
+        Assertions.assertEquals(5, result.getRowsFailed());
+        Map<Long, String> errors = result.getErrors().stream().collect(Collectors.toMap(UserImportJobDto.RowError::getRow, UserImportJobDto.RowError::getMessage));
+        Assertions.assertEquals(ErrorMessages.INVALID_EMAIL_ADDRESS, errors.get(2L));
+        Assertions.assertEquals(ErrorMessages.EMAIL_ALREADY_REGISTERED, errors.get(3L));
+        Assertions.assertEquals(ErrorMessages.EMAIL_ALREADY_REGISTERED, errors.get(4L));
+        Assertions.assertTrue(errors.get(5L).startsWith("Date of birth"));
+        Assertions.assertTrue(errors.get(6L).startsWith("Expected 9 columns"));
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Map<String, Object> grace = jdbcTemplate.queryForMap("SELECT account_id, password, phone_number FROM app_user WHERE email = 'grace@import.io'");
+        Assertions.assertEquals(AppContext.getLoggedInUser().getAccount().getId(), ((Number) grace.get("account_id")).intValue());
+        Assertions.assertTrue(new BCryptPasswordEncoder().matches("Secret#2021", (String) grace.get("password")));
+        Assertions.assertEquals("+256772123456", grace.get("phone_number"));
+        Assertions.assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM app_user WHERE email = 'peter@import.io'", Integer.class));
+        Assertions.assertEquals(2, events.stream().mapToInt(event -> event.getAppUsers().size()).sum());
+    }
+
+    @Test
+    void testRun_FailsOnlyTheRowWhoseWorkerThrows() throws Exception {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+        ReflectionTestUtils.setField(userImportService, "passwordEncoder", new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if (rawPassword.toString().equals("Broken#2021")) {
+                    throw new IllegalStateException("Encoder failure");
+                }
+                return passwordEncoder.encode(rawPassword);
+            }
+        });
+        Path upload = Files.createTempFile("user-import-test-", ".csv");
+        Files.writeString(upload, HEADER
+                + "Ruth,Nansubuga,12/Mar/1990,CM9101,NATIONAL_ID,Plot 1 Jinja Road,ruth@import.io,+256772123459,Broken#2021\n"
+                + "Moses,Kato,12/Mar/1990,CM9102,NATIONAL_ID,Plot 2 Jinja Road,moses@import.io,+256772123460,Secret#2021\n", StandardCharsets.UTF_8);
+        UserImportJob job = new UserImportJob(AppContext.getLoggedInUser().getAccount().getId(), AppContext.getLoggedInUser().getAccount().getCountryCode());
+
+        userImportService.run(job, upload);
+
+        UserImportJobDto result = userImportService.getJob(job.getId());
+        Assertions.assertEquals(UserImportStatusEnum.COMPLETED.name(), result.getStatus(), result.getFailureReason());
+        Assertions.assertEquals(1, result.getRowsImported());
+        Assertions.assertEquals(1, result.getRowsFailed());
+        UserImportJobDto.RowError rowError = result.getErrors().get(0);
+        Assertions.assertEquals(1L, rowError.getRow());
+        Assertions.assertEquals("ruth@import.io", rowError.getEmail());
+        Assertions.assertEquals(ErrorMessages.USER_IMPORT_ROW_FAILED, rowError.getMessage());
+    }
+
+    @Test
+    void testGetJob_ReportsAnImportRunByAnotherNodeToItsAccountOnly() throws Exception {
+        Path upload = Files.createTempFile("user-import-test-", ".csv");
+        Files.writeString(upload, HEADER
+                + "Joan,Achieng,12/Mar/1990,CM9201,NATIONAL_ID,Plot 1 Gulu Road,not-an-email,+256772123461,Secret#2021\n", StandardCharsets.UTF_8);
+        UserImportJob job = new UserImportJob(AppContext.getLoggedInUser().getAccount().getId(), AppContext.getLoggedInUser().getAccount().getCountryCode());
+
+        userImportService.run(job, upload);
+
+        UserImportJobDto result = newUserImportService().getJob(job.getId());
+        Assertions.assertEquals(UserImportStatusEnum.COMPLETED.name(), result.getStatus());
+        Assertions.assertEquals(1, result.getRowsFailed());
+        Assertions.assertEquals(List.of(new UserImportJobDto.RowError(1L, "not-an-email", ErrorMessages.INVALID_EMAIL_ADDRESS)), result.getErrors());
+        Assertions.assertNotNull(result.getFinishedOn());
+
+        Account otherAccount = new Account();
+        otherAccount.setId(AppContext.getLoggedInUser().getAccount().getId() + 1);
+        AppUser otherUser = new AppUser();
+        otherUser.setAccount(otherAccount);
+        AppContext.setLoggedInUser(otherUser);
+        Assertions.assertThrows(RecordNotFoundException.class, () -> userImportService.getJob(job.getId()));
+    }
+
+    private UserImportService newUserImportService() {
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        UserImportService userImportService = new UserImportService();
+        ReflectionTestUtils.setField(userImportService, "appUserRepository", repository(entityManager, AppUserRepository.class));
+        ReflectionTestUtils.setField(userImportService, "accountRepository", repository(entityManager, AccountRepository.class));
+        ReflectionTestUtils.setField(userImportService, "userImportRepository", repository(entityManager, UserImportRepository.class));
+        ReflectionTestUtils.setField(userImportService, "userImportErrorRepository", repository(entityManager, UserImportErrorRepository.class));
+        ReflectionTestUtils.setField(userImportService, "passwordEncoder", new BCryptPasswordEncoder(4));
+        ReflectionTestUtils.setField(userImportService, "transactionManager", new JpaTransactionManager(entityManagerFactory));
+        ReflectionTestUtils.setField(userImportService, "applicationEventPublisher", (ApplicationEventPublisher) event -> events.add((AppUserSavedEvent) event));
+        ReflectionTestUtils.setField(userImportService, "userImportWorkerExecutor", workerExecutor);
+        ReflectionTestUtils.setField(userImportService, "phoneNumberService", new PhoneNumberService());
+        return userImportService;
+    }
+
+    private static <R> R repository(EntityManager entityManager, Class<R> repositoryInterface) {
+        JpaRepositoryFactory repositoryFactory = new JpaRepositoryFactory(entityManager);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("persistenceExceptionTranslator", new HibernateJpaDialect());
+        repositoryFactory.addRepositoryProxyPostProcessor((factory, repositoryInformation) ->
+                factory.addAdvice(new PersistenceExceptionTranslationInterceptor(beanFactory)));
+        return repositoryFactory.getRepository(repositoryInterface);
+    }
+}
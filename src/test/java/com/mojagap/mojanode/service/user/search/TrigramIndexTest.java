@@ -0,0 +1,32 @@
+package com.mojagap.mojanode.service.user.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+
+public class TrigramIndexTest {
+
+    @Test
+    void testSearch_MatchesSubstringsAnywhere() {
+        TrigramIndex trigramIndex = new TrigramIndex();
+        trigramIndex.put(1, "julius\u0000petero\u0000juliuspetero@outlook.com");
+        trigramIndex.put(2, "peter\u0000kato\u0000kato@mojagap.com");
+        Assertions.assertEquals(Set.of(1, 2), trigramIndex.search("pete"));
+        Assertions.assertEquals(Set.of(1), trigramIndex.search("outlook"));
+        Assertions.assertEquals(Set.of(2), trigramIndex.search("at"));
+        Assertions.assertEquals(Set.of(), trigramIndex.search("zzz"));
+    }
+
+    @Test
+    void testPut_ReplacesPreviousDocument() {
+        TrigramIndex trigramIndex = new TrigramIndex();
+        trigramIndex.put(1, "julius");
+        trigramIndex.put(1, "petero");
+        Assertions.assertEquals(Set.of(), trigramIndex.search("jul"));
+        Assertions.assertEquals(Set.of(1), trigramIndex.search("ter"));
+        trigramIndex.remove(1);
+        Assertions.assertEquals(0, trigramIndex.size());
+    }
+}
@@ -0,0 +1,73 @@
+package com.mojagap.mojanode.service.user.search;
+
+import com.mojagap.mojanode.model.account.Account;
+import com.mojagap.mojanode.model.user.AppUser;
+import com.mojagap.mojanode.support.MigratedH2Database;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+
+public class UserSearchIndexTest {
+
+    private static DataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static Integer accountId;
+    private UserSearchIndex userSearchIndex;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = MigratedH2Database.create("user_search_index");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        accountId = jdbcTemplate.queryForObject("SELECT account_id FROM app_user WHERE email = 'admin@mojagap.io'", Integer.class);
+    }
+
+    @BeforeEach
+    void buildIndex() {
+        userSearchIndex = new UserSearchIndex();
+        ReflectionTestUtils.setField(userSearchIndex, "jdbcTemplate", new NamedParameterJdbcTemplate(dataSource));
+        userSearchIndex.rebuild();
+    }
+
+    @Test
+    void testOnAppUserSaved_DropsAUserMovedToAnotherAccount() {
+        Integer userId = jdbcTemplate.queryForObject("SELECT id FROM app_user WHERE email = 'admin@mojagap.io'", Integer.class);
+        Assertions.assertEquals(Optional.of(Set.of(userId)), userSearchIndex.search(accountId, "admin@mojagap"));
+
+        Account account = new Account();
+        account.setId(accountId + 1000);
+        AppUser appUser = new AppUser();
+        appUser.setId(userId);
+        appUser.setAccount(account);
+        appUser.setEmail("admin@mojagap.io");
+        userSearchIndex.onAppUserSaved(new AppUserSavedEvent(List.of(appUser)));
+
+        Assertions.assertEquals(Optional.of(Set.of()), userSearchIndex.search(accountId, "admin@mojagap"));
+        Assertions.assertEquals(Optional.of(Set.of(userId)), userSearchIndex.search(account.getId(), "admin@mojagap"));
+    }
+
+    @Test
+    void testPurgeDeleted_DropsUsersNoLongerInTheTable() {
+        jdbcTemplate.update("INSERT INTO app_user(first_name, last_name, date_of_birth, id_number, address, email, phone_number, password, " +
+                "account_id, role_id, created_by, modified_by, record_status) " +
+                "SELECT 'Gone', 'User', CURRENT_DATE, 'U000042', 'Kampala', 'gone@mojagap.io', '+256780000002', 'secret', account_id, role_id, id, id, 'ACTIVE' " +
+                "FROM app_user WHERE email = 'admin@mojagap.io'");
+        userSearchIndex.rebuild();
+        Integer userId = jdbcTemplate.queryForObject("SELECT id FROM app_user WHERE email = 'gone@mojagap.io'", Integer.class);
+        Assertions.assertEquals(Optional.of(Set.of(userId)), userSearchIndex.search(accountId, "gone@"));
+
+        jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+        userSearchIndex.purgeDeleted();
+
+        Assertions.assertEquals(Optional.of(Set.of()), userSearchIndex.search(accountId, "gone@"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.mojagap.mojanode.support;
+
+import liquibase.Liquibase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import lombok.SneakyThrows;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * In-memory H2 database in MySQL mode migrated with the application's Liquibase changelog, for tests that need
+ * the real schema and its indexes without a MySQL server.
+ */
+public final class MigratedH2Database {
+
+    private MigratedH2Database() {
+    }
+
+    @SneakyThrows
+    public static DataSource create(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Connection connection = dataSource.getConnection()) {
+            new Liquibase("liquibase/liquibase-master.xml", new ClassLoaderResourceAccessor(), new JdbcConnection(connection)).update("");
+        }
+        return dataSource;
+    }
+
+    public static String explain(NamedParameterJdbcTemplate jdbcTemplate, String sql, SqlParameterSource parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, parameters, String.class);
+    }
+}
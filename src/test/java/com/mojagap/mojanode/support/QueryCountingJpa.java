@@ -0,0 +1,79 @@
+package com.mojagap.mojanode.support;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.boot.orm.jpa.hibernate.SpringPhysicalNamingStrategy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JPA over a {@link MigratedH2Database} with Hibernate statistics switched on, so tests can assert how many SQL
+ * statements a fetch plan issues and fail when an eager association or an N+1 load creeps back in. The
+ * second-level cache and JDBC batching are configured as in application.properties.
+ */
+public final class QueryCountingJpa {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Statistics statistics;
+
+    private QueryCountingJpa(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public static QueryCountingJpa create(DataSource dataSource) {
+        return create(dataSource, Map.of());
+    }
+
+    /**
+     * @param overrides        Hibernate properties to set on top of the application's
+     * @param mappingResources orm.xml files whose mappings override the entities' annotations
+     */
+    public static QueryCountingJpa create(DataSource dataSource, Map<String, ?> overrides, String... mappingResources) {
+        Map<String, Object> properties = new HashMap<>(Map.ofEntries(
+                Map.entry("hibernate.dialect", "org.hibernate.dialect.H2Dialect"),
+                Map.entry("hibernate.generate_statistics", "true"),
+                Map.entry("hibernate.physical_naming_strategy", SpringPhysicalNamingStrategy.class.getName()),
+                Map.entry("hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName()),
+                Map.entry("hibernate.cache.use_second_level_cache", "true"),
+                Map.entry("hibernate.cache.use_query_cache", "true"),
+                Map.entry("hibernate.cache.region.factory_class", "jcache"),
+                Map.entry("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider"),
+                Map.entry("hibernate.javax.cache.uri", "ehcache.xml"),
+                Map.entry("hibernate.jdbc.batch_size", "50"),
+                Map.entry("hibernate.order_inserts", "true"),
+                Map.entry("hibernate.order_updates", "true")));
+        properties.putAll(overrides);
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.mojagap.mojanode.model");
+        factoryBean.setMappingResources(mappingResources);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.afterPropertiesSet();
+        return new QueryCountingJpa(factoryBean.getObject());
+    }
+
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    public EntityManagerFactory getEntityManagerFactory() {
+        return entityManagerFactory;
+    }
+
+    /**
+     * @return the number of JDBC statements prepared while {@code work} ran
+     */
+    public long countStatements(Runnable work) {
+        statistics.clear();
+        work.run();
+        return statistics.getPrepareStatementCount();
+    }
+}